@@ -18,7 +18,14 @@ package org.qubership.itool.cli;
 
 import com.google.common.reflect.ClassPath;
 import org.qubership.itool.context.FlowContext;
+import org.qubership.itool.modules.profiling.FlowProfiler;
+import org.qubership.itool.modules.profiling.FlowTracer;
+import org.qubership.itool.modules.progress.ProgressJournal;
+import org.qubership.itool.modules.snapshot.Snapshots;
 import org.qubership.itool.tasks.FlowTask;
+import org.qubership.itool.tasks.FlowTaskScheduler;
+import org.qubership.itool.tasks.parsing.AbstractInclusiveParseFileTask;
+import org.qubership.itool.tasks.parsing.FusedParseFileTask;
 
 import io.vertx.core.*;
 import io.vertx.core.json.JsonObject;
@@ -32,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
@@ -40,17 +48,26 @@ import java.util.stream.Collectors;
 
 import javax.annotation.Resource;
 
+import static org.qubership.itool.cli.config.FlowConstants.P_PARALLEL_TASKS;
+import static org.qubership.itool.cli.config.FlowConstants.P_PROFILER_DIR;
+import static org.qubership.itool.cli.config.FlowConstants.P_TRACE_FILE;
+
 
 public abstract class FlowMainVerticle extends AbstractVerticle {
 
     protected static final Logger LOG = LoggerFactory.getLogger(FlowMainVerticle.class);
 
+    /* Separates names of tasks fused into a single step, see {@link FusedParseFileTask} */
+    protected static final String FUSED_TASKS_SEPARATOR_REGEX = "\\s*\\+\\s*";
+
     protected Logger getLogger() {
         return LOG;
     }
 
     protected final AtomicReference<String> deploymentIdHolder = new AtomicReference<>();
     protected final Promise<?> flowPromise = Promise.promise();
+    // The flow promise is failed once pending progress is written
+    protected boolean terminated;
 
     @Resource
     protected FlowContext flowContext;
@@ -124,21 +141,32 @@ public abstract class FlowMainVerticle extends AbstractVerticle {
             startStep = flowSequence.get(0);
         } else {
             getLogger().info("========== Starting a flow from '{}': fiid={}", startStep, flowContext.getFlowInstanceId());
+            String step = findStep(flowSequence, startStep);
+            if (step == null) {
+                terminateFlow("Step '" + startStep + "' not found");
+                return;
+            }
+            // Progress of a fused step is saved under the name of its first task
+            String progressStep = step.split(FUSED_TASKS_SEPARATOR_REGEX)[0];
+            if (!progressStep.equals(startStep) && !step.equals(startStep)) {
+                getLogger().info("Task '{}' is a part of step '{}', starting from the beginning of the step", startStep, step);
+            }
+            startStep = step;
             JsonObject dump = null;
             try {
-                dump = JsonUtils.readJsonFile("progress/task." + startStep + ".json");
+                dump = restoreProgress(progressStep);
             } catch (IOException /* | DecodeException */ e) {
-                getLogger().error("Can't restore progress file for '" + startStep + "'", e);
+                getLogger().error("Can't restore progress file for '" + progressStep + "'", e);
                 terminateFlow(e);
             }
             if (dump != null) {
                 flowContext.restoreData(dump);
             } else {
-                terminateFlow("Can't restore progress file for '" + startStep + "'");
+                terminateFlow("Can't restore progress file for '" + progressStep + "'");
             }
         }
 
-        if (! flowPromise.future().failed()) {
+        if (! terminated) {
             deployAndRunTaskSequence(flowSequence, startStep);
         }
     }
@@ -147,18 +175,80 @@ public abstract class FlowMainVerticle extends AbstractVerticle {
         getLogger().info("========== Flow execution [fiid={}] completed in {}",
                 flowContext.getFlowInstanceId(),
                 Duration.ofNanos(System.nanoTime() - executionStart));
-        flowPromise.tryComplete();
+        saveProfile();
+        awaitProgress().onComplete(r -> flowPromise.tryComplete());
     }
 
     protected void terminateFlow(String message) {
         getLogger().info("========== Flow execution [fiid={}] failed: {}",
                 flowContext.getFlowInstanceId(), message);
-        flowPromise.tryFail(message);
+        terminated = true;
+        saveProfile();
+        awaitProgress().onComplete(r -> flowPromise.tryFail(message));
     }
 
     protected void terminateFlow(Throwable e) {
         getLogger().error("========== Flow execution [fiid=" + flowContext.getFlowInstanceId() + "] failed", e);
-        flowPromise.tryFail(e);
+        terminated = true;
+        saveProfile();
+        awaitProgress().onComplete(r -> flowPromise.tryFail(e));
+    }
+
+    /* Find the step of the flow sequence by its name, or by the name of any task fused into it */
+    protected static String findStep(List<String> flowSequence, String name) {
+        for (String step : flowSequence) {
+            if (step.equals(name) || Arrays.asList(step.split(FUSED_TASKS_SEPARATOR_REGEX)).contains(name)) {
+                return step;
+            }
+        }
+        return null;
+    }
+
+    protected JsonObject restoreProgress(String startStep) throws IOException {
+        ProgressJournal journal = flowContext.getResource(ProgressJournal.class);
+        if (journal != null && journal.isEnabled()) {
+            JsonObject dump = journal.restore(FlowTask.TASK_ADDRESS_PREFIX + startStep);
+            if (dump != null) {
+                return dump;
+            }
+            getLogger().info("Progress journal has no entry for '{}', looking for a full dump", startStep);
+        }
+        return Snapshots.read(Snapshots.find(Path.of(FlowTask.PROGRESS_PATH), FlowTask.TASK_ADDRESS_PREFIX + startStep));
+    }
+
+    /* Progress journal entries may still be written in background */
+    protected Future<Void> awaitProgress() {
+        ProgressJournal journal = flowContext.getResource(ProgressJournal.class);
+        if (journal == null || !journal.isEnabled()) {
+            return Future.succeededFuture();
+        }
+        return vertx.executeBlocking(promise -> {
+            journal.awaitWrites();
+            promise.complete();
+        });
+    }
+
+    protected void saveProfile() {
+        FlowTracer tracer = flowContext.getResource(FlowTracer.class);
+        if (tracer != null && tracer.isEnabled()) {
+            try {
+                tracer.writeTrace(Path.of(config().getString(P_TRACE_FILE, "output/profile/flow-trace.json")));
+            } catch (IOException e) {
+                getLogger().error("Failed to save flow trace", e);
+            }
+        }
+
+        FlowProfiler profiler = flowContext.getResource(FlowProfiler.class);
+        if (profiler == null || !profiler.isEnabled()) {
+            return;
+        }
+        try {
+            profiler.writeReport(Path.of(config().getString(P_PROFILER_DIR, "output/profile")));
+        } catch (IOException e) {
+            getLogger().error("Failed to save flow profile", e);
+        } finally {
+            profiler.close();
+        }
     }
 
 
@@ -187,14 +277,17 @@ public abstract class FlowMainVerticle extends AbstractVerticle {
      */
     protected void deployAndRunTaskSequence(List<String> flowSequence, String startStep) throws Exception {
 
-        Map<String, Class<? extends FlowTask>> taskClasses = getTaskClasses(flowSequence);
+        Map<String, Class<? extends FlowTask>> taskClasses = getTaskClasses(flowSequence.stream()
+                .flatMap(taskName -> Arrays.stream(taskName.split(FUSED_TASKS_SEPARATOR_REGEX)))
+                .collect(Collectors.toList()));
         List<FlowTask> taskInstances = new ArrayList<>();
 
         boolean skip = true;
         for (String taskName: flowSequence) {
-            // Skip everything before the first step
+            String[] fusedNames = taskName.split(FUSED_TASKS_SEPARATOR_REGEX);
+            // Skip everything before the first step. A fused step is started by the name of any of its tasks.
             if (skip) {
-                if (taskName.equals(startStep)) {
+                if (taskName.equals(startStep) || Arrays.asList(fusedNames).contains(startStep)) {
                     skip = false;
                 } else {
                     continue;
@@ -202,7 +295,11 @@ public abstract class FlowMainVerticle extends AbstractVerticle {
             }
 
             getLogger().debug("Creating task: {}", taskName);
-            taskInstances.add(instantiateTask(taskClasses.get(taskName)));
+            if (fusedNames.length > 1) {
+                taskInstances.add(instantiateFusedTask(fusedNames, taskClasses));
+            } else {
+                taskInstances.add(instantiateTask(taskClasses.get(taskName)));
+            }
         }
         if (skip) {
             terminateFlow("Step '" + startStep + "' not found");
@@ -210,11 +307,8 @@ public abstract class FlowMainVerticle extends AbstractVerticle {
         }
 
         // We are in some VertX thread where FlowMainVerticle.start() was invoked by VertX. Let's proceed right here.
-        Future<?> chainReaction = Future.succeededFuture();
-        for (FlowTask taskInstance: taskInstances) {
-            chainReaction = chainReaction.compose(r -> taskInstance.startInFlow());
-        }
-        chainReaction
+        boolean parallel = Boolean.parseBoolean(config().getString(P_PARALLEL_TASKS));
+        new FlowTaskScheduler(taskInstances, parallel).run()
             .onFailure(TERMINATOR)
             .onSuccess(r -> finishFlow());
     }
@@ -226,6 +320,21 @@ public abstract class FlowMainVerticle extends AbstractVerticle {
         return taskInstance;
     }
 
+    private FlowTask instantiateFusedTask(String[] taskNames, Map<String, Class<? extends FlowTask>> taskClasses)
+            throws Exception {
+        List<AbstractInclusiveParseFileTask> members = new ArrayList<>();
+        for (String taskName: taskNames) {
+            FlowTask member = instantiateTask(taskClasses.get(taskName));
+            if (! (member instanceof AbstractInclusiveParseFileTask)) {
+                throw new IllegalStateException("Task '" + taskName + "' can't be fused: only file parsing tasks are supported");
+            }
+            members.add((AbstractInclusiveParseFileTask) member);
+        }
+        FlowTask fusedTask = new FusedParseFileTask(members);
+        flowContext.initialize(fusedTask);
+        return fusedTask;
+    }
+
     protected Map<String, Class<? extends FlowTask>> getTaskClasses(Collection<String> taskNames)
             throws IOException, ClassNotFoundException {
 
@@ -28,13 +28,15 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.modules.graph.GraphDumpSupport;
 import org.qubership.itool.modules.graph.GraphImpl;
+import org.qubership.itool.modules.progress.ProgressJournal;
+import org.qubership.itool.modules.snapshot.Snapshots;
 import org.qubership.itool.utils.ConfigUtils;
 import org.qubership.itool.utils.FSUtils;
-import org.qubership.itool.utils.JsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -69,20 +71,27 @@ public class QueryVerticle extends FlowMainVerticle {
     }
 
     private void startFromStep(Vertx vertx, JsonObject config, WorkerExecutor executor, String step) {
-        Path progressPath = Path.of(
-            ConfigUtils.getConfigValue(SUPER_REPOSITORY_DIR_POINTER, config), //XXX to be removed?
-            ConfigUtils.getConfigValue(QUERY_PROGRESS_PATH_POINTER, config),
-            FlowTask.TASK_ADDRESS_PREFIX + step + ".json");
+        Path progressFolder = Path.of(ConfigUtils.getConfigValue(SUPER_REPOSITORY_DIR_POINTER, config), //XXX to be removed?
+                ConfigUtils.getConfigValue(QUERY_PROGRESS_PATH_POINTER, config));
+        Path dumpPath = Snapshots.find(progressFolder, FlowTask.TASK_ADDRESS_PREFIX + step);
+        // Full dumps are not written when progress is saved to the journal
+        Path progressPath = Files.isRegularFile(dumpPath)
+                ? dumpPath
+                : progressFolder.resolve(ProgressJournal.DIRECTORY_NAME);
 
         executor.executeBlocking(p -> {
                 JsonObject dump = null;
                 try {
-                    dump = JsonUtils.readJsonFile(progressPath.toString());
+                    dump = progressPath == dumpPath
+                            ? Snapshots.read(dumpPath)
+                            : ProgressJournal.read(progressPath, FlowTask.TASK_ADDRESS_PREFIX + step);
                 } catch (IOException /* | DecodeException */ e) {
                     p.fail(e);
+                    return;
                 }
                 if (dump == null) {
                     p.fail("Dump is empty or not found for step " + step);
+                    return;
                 }
 
                 Graph graph = GraphDumpSupport.restoreFromJson(dump);
@@ -110,24 +119,33 @@ public class QueryVerticle extends FlowMainVerticle {
         Path filePath = Path.of(file);
 
         executor.executeBlocking(p -> {
-                String content = null;
-                try {
-                    content = FSUtils.readFileAsIs(filePath.toString());
-                } catch (IOException e) {
-                    p.fail(e);
-                }
-                if (content == null) {
-                    p.fail("Empty data");
-                }
-
                 Graph graph;
-                if (content.startsWith("[")) {
-                    graph = new GraphImpl();
-                    loadFromJsonArray(file, graph, p, content);
+                if (Snapshots.isBinary(filePath)) {
+                    try {
+                        graph = GraphDumpSupport.restoreFromJson(Snapshots.read(filePath));
+                    } catch (IOException e) {
+                        p.fail(e);
+                        return;
+                    }
                 } else {
-                    graph = GraphDumpSupport.restoreFromJson(new JsonObject(content));
+                    String content = null;
+                    try {
+                        content = FSUtils.readFileAsIs(filePath.toString());
+                    } catch (IOException e) {
+                        p.fail(e);
+                    }
+                    if (content == null) {
+                        p.fail("Empty data");
+                    }
+
+                    if (content.startsWith("[")) {
+                        graph = new GraphImpl();
+                        loadFromJsonArray(file, graph, p, content);
+                    } else {
+                        graph = GraphDumpSupport.restoreFromJson(new JsonObject(content));
+                    }
+                    content = null; // Help GC
                 }
-                content = null; // Help GC
 
                 System.out.println("Inventory tool Gremlin CLI");
                 System.out.println("Graph restored from file: " + filePath.normalize());
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.cli.config;
+
+public interface FlowConstants {
+
+    //--- Config parameters
+
+    String P_PARALLEL_TASKS = "parallelTasks";
+    String P_CACHE_DIR = "cacheDir";
+    String P_FILE_INDEX = "fileIndex";
+    String P_FILE_INDEX_CACHE = "fileIndexCache";
+    String P_FILE_CONTENT_STORE = "fileContentStore";
+    String P_FILE_CONTENT_STORE_DIR = "fileContentStoreDir";
+    String P_PARSE_CACHE = "parseCache";
+    String P_DEPENDENCY_INDEX = "dependencyIndex";
+    String P_MAVEN_DUMP_CACHE = "mavenDumpCache";
+    String P_MAVEN_ENGINE = "mavenEngine";
+    String P_MAVEN_EXECUTABLE = "mavenExecutable";
+    String P_MAVEN_CONCURRENCY = "mavenConcurrency";
+    String P_MAVEN_MEMORY_BUDGET = "mavenMemoryBudget";
+    String P_MAVEN_JVM_MEMORY = "mavenJvmMemory";
+    String P_PROFILER = "profiler";
+    String P_PROFILER_DIR = "profilerDir";
+    String P_TRACE = "trace";
+    String P_TRACE_FILE = "traceFile";
+    String P_PROGRESS_JOURNAL = "progressJournal";
+    String P_PROGRESS_FILE_EXTENSION = "progressFileExtension";
+
+}
@@ -20,9 +20,10 @@ import io.vertx.core.json.JsonObject;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
-import org.qubership.itool.utils.JsonUtils;
+import org.qubership.itool.modules.snapshot.Snapshots;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,7 +58,7 @@ public class ObfuscationMainVerticle extends FlowMainVerticle {
 
         JsonObject dump = null;
         try {
-            dump = JsonUtils.readJsonFile(sourcePath);
+            dump = Snapshots.read(Path.of(sourcePath));
         } catch (IOException /*| DecodeException*/ e) {
             LOG.error("Can't load source graph: {}", sourcePath);
             throw e;
@@ -22,6 +22,7 @@ import io.vertx.ext.web.client.WebClient;
 
 import org.qubership.itool.modules.confluence.ConfluenceClient;
 import org.qubership.itool.modules.confluence.ConfluenceClientBuilder;
+import org.qubership.itool.modules.dependency.DependencyIndex;
 import org.qubership.itool.modules.diagram.DiagramService;
 import org.qubership.itool.modules.diagram.DiagramServiceImpl;
 import org.qubership.itool.modules.diagram.providers.DomainDiagramProvider;
@@ -29,6 +30,9 @@ import org.qubership.itool.modules.diagram.providers.GeneralDomainsDiagramProvid
 import org.qubership.itool.modules.diagram.providers.InfrastructureDiagramProvider;
 import org.qubership.itool.modules.diagram.providers.MicroserviceDiagramProvider;
 import org.qubership.itool.modules.diagram.providers.QueueDiagramProvider;
+import org.qubership.itool.modules.files.FileContentStore;
+import org.qubership.itool.modules.files.FileIndex;
+import org.qubership.itool.modules.files.FileIndexStore;
 import org.qubership.itool.modules.git.GitAdapter;
 import org.qubership.itool.modules.git.GitAdapterBuilder;
 import org.qubership.itool.modules.git.GitFileRetriever;
@@ -39,11 +43,16 @@ import org.qubership.itool.modules.graph.GraphClassifierBuilderImpl;
 import org.qubership.itool.modules.graph.GraphDumpSupport;
 import org.qubership.itool.modules.graph.GraphImpl;
 import org.qubership.itool.modules.graph.GraphService;
+import org.qubership.itool.modules.parsing.ParseResultCache;
+import org.qubership.itool.modules.profiling.FlowProfiler;
+import org.qubership.itool.modules.profiling.FlowTracer;
+import org.qubership.itool.modules.progress.ProgressJournal;
+import org.qubership.itool.modules.snapshot.Snapshots;
 import org.qubership.itool.modules.report.GraphReport;
 import org.qubership.itool.modules.report.GraphReportImpl;
 import org.qubership.itool.modules.template.TemplateService;
 import org.qubership.itool.modules.template.TemplateServiceImpl;
-import org.qubership.itool.utils.JsonUtils;
+import org.qubership.itool.tasks.FlowTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,8 +63,19 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.nio.file.Path;
 import java.util.*;
 
+import static org.qubership.itool.cli.config.FlowConstants.P_CACHE_DIR;
+import static org.qubership.itool.cli.config.FlowConstants.P_DEPENDENCY_INDEX;
+import static org.qubership.itool.cli.config.FlowConstants.P_FILE_CONTENT_STORE;
+import static org.qubership.itool.cli.config.FlowConstants.P_FILE_CONTENT_STORE_DIR;
+import static org.qubership.itool.cli.config.FlowConstants.P_PARSE_CACHE;
+import static org.qubership.itool.cli.config.FlowConstants.P_FILE_INDEX;
+import static org.qubership.itool.cli.config.FlowConstants.P_FILE_INDEX_CACHE;
+import static org.qubership.itool.cli.config.FlowConstants.P_PROFILER;
+import static org.qubership.itool.cli.config.FlowConstants.P_PROGRESS_JOURNAL;
+import static org.qubership.itool.cli.config.FlowConstants.P_TRACE;
 import static org.qubership.itool.modules.diagram.providers.DiagramProvider.*;
 
 public class FlowContextImpl implements FlowContext {
@@ -134,6 +154,12 @@ public class FlowContextImpl implements FlowContext {
         GitAdapter gitAdapter = GitAdapterBuilder.create(vertx, report, config);
         ConfluenceClient confluenceClient = ConfluenceClientBuilder.create(vertx, client, config);
         GitFileRetriever gitFileRetriever = GitFileRetrieverBuilder.create(gitAdapter, config, vertx, report);
+        FileIndexStore fileIndexStore = Boolean.parseBoolean(config.getString(P_FILE_INDEX_CACHE))
+                ? new FileIndexStore(Path.of(config.getString(P_CACHE_DIR, "cache"), "files"))
+                : null;
+        FileIndex fileIndex = new FileIndex(!"false".equals(config.getString(P_FILE_INDEX)), fileIndexStore);
+        ProgressJournal progressJournal = new ProgressJournal(Boolean.parseBoolean(config.getString(P_PROGRESS_JOURNAL)),
+                Path.of(FlowTask.PROGRESS_PATH, ProgressJournal.DIRECTORY_NAME), graph);
 
         this.resources.put(FlowContext.class, this);
         this.resources.put(Vertx.class, vertx);
@@ -145,6 +171,18 @@ public class FlowContextImpl implements FlowContext {
         this.resources.put(TemplateService.class, this.templateService);
         this.resources.put(GitAdapter.class, gitAdapter);
         this.resources.put(GitFileRetriever.class, gitFileRetriever);
+        this.resources.put(FileIndex.class, fileIndex);
+        this.resources.put(FileContentStore.class, new FileContentStore(
+                Boolean.parseBoolean(config.getString(P_FILE_CONTENT_STORE)),
+                Path.of(config.getString(P_FILE_CONTENT_STORE_DIR, "output/content"))));
+        this.resources.put(ParseResultCache.class, new ParseResultCache(
+                Boolean.parseBoolean(config.getString(P_PARSE_CACHE)),
+                Path.of(config.getString(P_CACHE_DIR, "cache"), "parsed")));
+        this.resources.put(FlowProfiler.class, new FlowProfiler(Boolean.parseBoolean(config.getString(P_PROFILER))));
+        this.resources.put(FlowTracer.class, new FlowTracer(Boolean.parseBoolean(config.getString(P_TRACE))));
+        this.resources.put(ProgressJournal.class, progressJournal);
+        this.resources.put(DependencyIndex.class,
+                new DependencyIndex(!"false".equals(config.getString(P_DEPENDENCY_INDEX)), this.graph));
 
         if (graphService != null) {
             resources.put(GraphService.class, graphService);
@@ -218,14 +256,12 @@ public class FlowContextImpl implements FlowContext {
 
     @Override
     public void dumpDataToFile(File folder, String file) {
-        JsonObject dump = GraphDumpSupport.dumpToJson(graph, false);
-
         if (folder != null && !folder.exists()) {
             folder.mkdirs();
         }
         File progressFile = new File(folder, file);
         try {
-            JsonUtils.saveJson(progressFile.toPath(), dump, true);
+            Snapshots.write(progressFile.toPath(), graph, true);
         } catch (IOException e) {
             LOG.error("Exception when saving progress file " + progressFile, e);
         }
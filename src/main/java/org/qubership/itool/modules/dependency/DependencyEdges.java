@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.dependency;
+
+import io.vertx.core.json.JsonObject;
+
+import org.qubership.itool.modules.graph.Graph;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+
+/**
+ * Dependency edges of the dependency tree of a single component.
+ *
+ * <p>Trees of different modules of a component repeat the same subtrees, such as starters or
+ * BOM-managed libraries. An edge is added once for every source, target and set of attributes,
+ * as traversals do not depend on parallel edges. Every edge keeps its {@value #F_COMPONENT}
+ * attribute, so traversals selecting edges with {@code has("component", componentId)} see
+ * the same tree as before, and so do graphs merged from older results.
+ *
+ * <p>Not thread-safe: one instance is used for the tree of one component.
+ */
+public class DependencyEdges {
+
+    /** Id of the component whose dependency tree contains the edge */
+    public static final String F_COMPONENT = "component";
+
+    private final Graph graph;
+    private final String componentId;
+    // Added edges by source, target and attributes
+    private final Set<String> added = new HashSet<>();
+    private long repeated;
+
+    public DependencyEdges(Graph graph, String componentId) {
+        this.graph = graph;
+        this.componentId = componentId;
+    }
+
+    /**
+     * Add an edge to the dependency tree of the component, unless it is already there.
+     *
+     * @param attributes Attributes of the edge, except for its component. Not modified
+     */
+    public void add(JsonObject source, JsonObject target, JsonObject attributes) {
+        String key = source.getString(F_ID) + '\n' + target.getString(F_ID) + '\n' + attributes.encode();
+        if (added.add(key)) {
+            graph.addEdge(source, target, attributes.copy().put(F_COMPONENT, componentId));
+        } else {
+            repeated++;
+        }
+    }
+
+    /** Number of edges added to the graph */
+    public long getAddedCount() {
+        return added.size();
+    }
+
+    /** Number of parallel edges saved by skipping an edge repeated in the tree */
+    public long getRepeatedCount() {
+        return repeated;
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.modules.dependency;
+
+import io.vertx.core.json.JsonObject;
+
+import org.qubership.itool.modules.graph.Graph;
+
+import java.util.*;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+
+/**
+ * Compact copy of "module" and "dependency" edges of the graph for reachability queries.
+ *
+ * <p>Vertices are interned to dense ints. Dependency edges of non-test scope, including edges
+ * without scope as matched by {@code has("scope", neq("test"))}, are kept as sparse CSR adjacency:
+ * one per dependency tree of every component, and one for all trees together. Walks are breadth-first
+ * over a {@link BitSet}, so no objects are allocated per step.
+ *
+ * <p>This is a snapshot: it does not follow later changes of the graph.
+ */
+final class DependencyGraph {
+
+    private static final int[] EMPTY = new int[0];
+
+    // Interned vertices: index is the dense id
+    private final JsonObject[] vertices;
+    // Dense ids of modules by component id, in the order of "module" edges
+    private final Map<String, int[]> modules;
+    // Dependency edges by component id
+    private final Map<String, Adjacency> trees;
+    // Dependency edges of all components
+    private final Adjacency allTrees;
+
+    private DependencyGraph(JsonObject[] vertices, Map<String, int[]> modules,
+            Map<String, Adjacency> trees, Adjacency allTrees) {
+        this.vertices = vertices;
+        this.modules = modules;
+        this.trees = trees;
+        this.allTrees = allTrees;
+    }
+
+    /**
+     * Read module and dependency edges from the graph.
+     */
+    static DependencyGraph build(Graph graph) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<JsonObject> vertices = new ArrayList<>();
+
+        Map<String, IntList> modules = new HashMap<>();
+        List<Map<String, JsonObject>> moduleEdges = graph.traversal().V().as("C")
+                .out("module").as("M")
+                .<JsonObject>select("C", "M").toList();
+        for (Map<String, JsonObject> edge : moduleEdges) {
+            modules.computeIfAbsent(edge.get("C").getString(F_ID), k -> new IntList())
+                    .add(intern(edge.get("M"), ids, vertices));
+        }
+
+        Map<String, AdjacencyBuilder> trees = new HashMap<>();
+        AdjacencyBuilder allTrees = new AdjacencyBuilder();
+        List<Map<String, JsonObject>> dependencyEdges = graph.traversal().V().as("S")
+                .outE("dependency").as("E")
+                .inV().as("T")
+                .<JsonObject>select("S", "E", "T").toList();
+        for (Map<String, JsonObject> edge : dependencyEdges) {
+            JsonObject attributes = edge.get("E");
+            if ("test".equals(attributes.getString("scope"))) {
+                continue;
+            }
+            int source = intern(edge.get("S"), ids, vertices);
+            int target = intern(edge.get("T"), ids, vertices);
+            allTrees.add(source, target);
+            String component = attributes.getString("component");
+            if (component != null) {
+                trees.computeIfAbsent(component, k -> new AdjacencyBuilder()).add(source, target);
+            }
+        }
+
+        Map<String, int[]> moduleIds = new HashMap<>();
+        modules.forEach((component, list) -> moduleIds.put(component, list.toArray()));
+        Map<String, Adjacency> treeAdjacency = new HashMap<>();
+        trees.forEach((component, builder) -> treeAdjacency.put(component, builder.build()));
+        return new DependencyGraph(vertices.toArray(new JsonObject[0]), moduleIds, treeAdjacency, allTrees.build());
+    }
+
+    private static int intern(JsonObject vertex, Map<String, Integer> ids, List<JsonObject> vertices) {
+        return ids.computeIfAbsent(vertex.getString(F_ID), id -> {
+            vertices.add(vertex);
+            return vertices.size() - 1;
+        });
+    }
+
+    int size() {
+        return vertices.length;
+    }
+
+    /**
+     * Artifacts the modules of a component depend on directly.
+     */
+    int[] direct(String componentId) {
+        int[] componentModules = modules.get(componentId);
+        if (componentModules == null) {
+            return EMPTY;
+        }
+        return next(componentModules, componentId, true);
+    }
+
+    /**
+     * Artifacts one step away from the given ones, without repetitions.
+     *
+     * @param ownTree Whether to follow the dependency tree of the component only, or of any component
+     */
+    int[] next(int[] from, String componentId, boolean ownTree) {
+        Adjacency adjacency = ownTree ? trees.get(componentId) : allTrees;
+        if (adjacency == null || from.length == 0) {
+            return EMPTY;
+        }
+        BitSet seen = new BitSet(vertices.length);
+        IntList result = new IntList();
+        for (int vertex : from) {
+            adjacency.collect(vertex, seen, result);
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Artifacts reachable from the given ones in one or more steps over the dependency tree
+     * of the component, without repetitions, in the order of distance.
+     * A starting artifact is included only if it is reachable from another one.
+     */
+    int[] closure(int[] from, String componentId) {
+        Adjacency adjacency = trees.get(componentId);
+        if (adjacency == null || from.length == 0) {
+            return EMPTY;
+        }
+        BitSet seen = new BitSet(vertices.length);
+        IntList result = new IntList();
+        int frontierStart = 0;
+        for (int vertex : from) {
+            adjacency.collect(vertex, seen, result);
+        }
+        while (frontierStart < result.size()) {
+            int frontierEnd = result.size();
+            for (int i = frontierStart; i < frontierEnd; i++) {
+                adjacency.collect(result.get(i), seen, result);
+            }
+            frontierStart = frontierEnd;
+        }
+        return result.toArray();
+    }
+
+    List<JsonObject> toVertices(int[] dense) {
+        List<JsonObject> result = new ArrayList<>(dense.length);
+        for (int vertex : dense) {
+            result.add(vertices[vertex]);
+        }
+        return result;
+    }
+
+
+    /* Sparse CSR: targets of sources[i] are targets[offsets[i] .. offsets[i+1]) */
+    private static final class Adjacency {
+        private final int[] sources;
+        private final int[] offsets;
+        private final int[] targets;
+
+        Adjacency(int[] sources, int[] offsets, int[] targets) {
+            this.sources = sources;
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        /* Append unseen targets of the vertex to the result */
+        void collect(int vertex, BitSet seen, IntList result) {
+            int row = Arrays.binarySearch(sources, vertex);
+            if (row < 0) {
+                return;
+            }
+            for (int i = offsets[row], end = offsets[row + 1]; i < end; i++) {
+                int target = targets[i];
+                if (!seen.get(target)) {
+                    seen.set(target);
+                    result.add(target);
+                }
+            }
+        }
+    }
+
+    private static final class AdjacencyBuilder {
+        private final IntList sources = new IntList();
+        private final IntList targets = new IntList();
+
+        void add(int source, int target) {
+            sources.add(source);
+            targets.add(target);
+        }
+
+        /* Group edges by source, keeping the order of edges of every source */
+        Adjacency build() {
+            int count = sources.size();
+            // Source in high bits, edge number in low bits: sorting keeps the order within every source
+            long[] order = new long[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = (long) sources.get(i) << 32 | i;
+            }
+            Arrays.sort(order);
+
+            IntList rowSources = new IntList();
+            IntList rowOffsets = new IntList();
+            int[] rowTargets = new int[count];
+            for (int i = 0; i < count; i++) {
+                int source = (int) (order[i] >>> 32);
+                if (rowSources.size() == 0 || rowSources.get(rowSources.size() - 1) != source) {
+                    rowSources.add(source);
+                    rowOffsets.add(i);
+                }
+                rowTargets[i] = targets.get((int) order[i]);
+            }
+            rowOffsets.add(count);
+            return new Adjacency(rowSources.toArray(), rowOffsets.toArray(), rowTargets);
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.modules.dependency;
+
+import io.vertx.core.json.JsonObject;
+
+import org.qubership.itool.modules.graph.Graph;
+import org.qubership.itool.modules.gremlin2.graph.GraphTraversal;
+import org.qubership.itool.modules.profiling.TraversalEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.qubership.itool.modules.gremlin2.P.neq;
+import static org.qubership.itool.modules.gremlin2.graph.__.outE;
+
+/**
+ * Shared index of maven dependencies of components, built once per flow.
+ *
+ * <p>Dependencies of a component are artifact vertices reachable from its modules over "dependency"
+ * edges of non-test scope that belong to the dependency tree of that component. On the first request,
+ * module and dependency edges of the whole graph are copied to a {@link DependencyGraph}, and every
+ * set is computed there on the first request for a component. The same unmodifiable list is returned
+ * to all tasks later.
+ *
+ * <p>The index is dropped by {@link #checkGraph()} at the start of every task when the number
+ * of vertices or edges in the graph has changed since the previous task. Tasks rewriting dependency
+ * edges without adding or removing anything shall call {@link #invalidate()}.
+ *
+ * <p>When disabled, every request is served with graph traversals.
+ */
+public class DependencyIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DependencyIndex.class);
+
+    private final boolean enabled;
+    private final Graph graph;
+    private DependencyGraph dependencyGraph;
+    // Indexed dependencies by component id
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private long vertexCount = -1;
+    private long edgeCount = -1;
+
+    /**
+     * @param enabled Whether dependencies are indexed. If not, they are computed by graph traversals on every request
+     * @param graph Graph of the flow
+     */
+    public DependencyIndex(boolean enabled, Graph graph) {
+        this.enabled = enabled;
+        this.graph = graph;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drop the index if the graph has grown or shrunk since the previous check.
+     */
+    public synchronized void checkGraph() {
+        long vertices = graph.getVertexCount();
+        long edges = graph.getEdgeCount();
+        if (vertices != vertexCount || edges != edgeCount) {
+            if (dependencyGraph != null) {
+                LOG.debug("Graph changed, dropping dependencies of {} components", entries.size());
+            }
+            invalidate();
+            vertexCount = vertices;
+            edgeCount = edges;
+        }
+    }
+
+    /**
+     * Drop the index.
+     */
+    public synchronized void invalidate() {
+        dependencyGraph = null;
+        entries.clear();
+    }
+
+    /**
+     * Artifacts the modules of a component depend on directly.
+     */
+    public List<JsonObject> getDirectDependencies(String componentId) {
+        if (!enabled) {
+            return directTraversal(componentId).toList();
+        }
+        return getEntry(componentId).getDirect();
+    }
+
+    /**
+     * Artifacts reachable from direct dependencies of a component over its dependency tree.
+     * An artifact that is also a direct dependency is listed when it is reachable from
+     * another direct dependency.
+     */
+    public List<JsonObject> getTransitiveDependencies(String componentId) {
+        if (!enabled) {
+            return closureTraversal(directTraversal(componentId)
+                    .outE("dependency")
+                    .has("scope", neq("test"))
+                    .has("component", componentId)
+                    .inV().dedup(), componentId).toList();
+        }
+        return getEntry(componentId).getTransitive();
+    }
+
+    /**
+     * Same as {@link #getTransitiveDependencies(String)}, except for the first step from direct
+     * dependencies, which follows dependency edges of any component. Preserves the selection
+     * used for library and infrastructure edges, and for CSV export.
+     */
+    public List<JsonObject> getLooseTransitiveDependencies(String componentId) {
+        if (!enabled) {
+            return closureTraversal(directTraversal(componentId)
+                    .outE("dependency")
+                    .has("scope", neq("test"))
+                    .inV().dedup(), componentId).toList();
+        }
+        return getEntry(componentId).getLooseTransitive();
+    }
+
+    /**
+     * All artifacts reachable from direct dependencies of a component over its dependency tree,
+     * in the order of distance from direct dependencies.
+     */
+    public List<JsonObject> getReachableDependencies(String componentId) {
+        if (!enabled) {
+            return closureTraversal(directTraversal(componentId), componentId).toList();
+        }
+        return getEntry(componentId).getReachable();
+    }
+
+    private Entry getEntry(String componentId) {
+        DependencyGraph current = getDependencyGraph();
+        return entries.computeIfAbsent(componentId, id -> new Entry(id, current));
+    }
+
+    private synchronized DependencyGraph getDependencyGraph() {
+        if (dependencyGraph == null) {
+            long start = System.nanoTime();
+            dependencyGraph = DependencyGraph.build(graph);
+            LOG.debug("Dependency graph of {} vertices built in {} ms",
+                    dependencyGraph.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+        return dependencyGraph;
+    }
+
+    private GraphTraversal<JsonObject, JsonObject> directTraversal(String componentId) {
+        TraversalEvent.emit("V", componentId);
+        return graph.traversal().V(componentId).out("module")
+                .outE("dependency")
+                .has("scope", neq("test"))
+                .has("component", componentId)
+                .inV().dedup();
+    }
+
+    private static GraphTraversal<JsonObject, JsonObject> closureTraversal(
+            GraphTraversal<JsonObject, JsonObject> from, String componentId) {
+        return from
+                .repeat(
+                    outE("dependency")
+                        .has("scope", neq("test"))
+                        .has("component", componentId)
+                        .inV().dedup()
+                ).emit().dedup();
+    }
+
+    private static class Entry {
+        private final String componentId;
+        private final DependencyGraph dependencyGraph;
+        private int[] direct;
+        private List<JsonObject> directList;
+        private List<JsonObject> transitive;
+        private List<JsonObject> looseTransitive;
+        private List<JsonObject> reachable;
+
+        Entry(String componentId, DependencyGraph dependencyGraph) {
+            this.componentId = componentId;
+            this.dependencyGraph = dependencyGraph;
+        }
+
+        private int[] direct() {
+            if (direct == null) {
+                direct = dependencyGraph.direct(componentId);
+            }
+            return direct;
+        }
+
+        synchronized List<JsonObject> getDirect() {
+            if (directList == null) {
+                directList = toList(direct());
+            }
+            return directList;
+        }
+
+        synchronized List<JsonObject> getTransitive() {
+            if (transitive == null) {
+                int[] next = dependencyGraph.next(direct(), componentId, true);
+                transitive = toList(dependencyGraph.closure(next, componentId));
+            }
+            return transitive;
+        }
+
+        synchronized List<JsonObject> getLooseTransitive() {
+            if (looseTransitive == null) {
+                int[] next = dependencyGraph.next(direct(), componentId, false);
+                looseTransitive = toList(dependencyGraph.closure(next, componentId));
+            }
+            return looseTransitive;
+        }
+
+        synchronized List<JsonObject> getReachable() {
+            if (reachable == null) {
+                reachable = toList(dependencyGraph.closure(direct(), componentId));
+            }
+            return reachable;
+        }
+
+        private List<JsonObject> toList(int[] dense) {
+            return Collections.unmodifiableList(dependencyGraph.toVertices(dense));
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.modules.files;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Content of a file being parsed. Read from disk on the first request, at most once,
+ * and shared between all tasks parsing the same file.
+ */
+public class FileContent {
+
+    private final Path path;
+    private byte[] bytes;
+    private String text;
+
+    public FileContent(String fileName) {
+        this.path = Path.of(fileName);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized byte[] getBytes() throws IOException {
+        if (bytes == null) {
+            bytes = Files.readAllBytes(path);
+        }
+        return bytes;
+    }
+
+    /* Same as {@link #getBytes()}, but returns null if the file does not exist, like FSUtils.readFileSafe() */
+    public byte[] getBytesSafe() throws IOException {
+        try {
+            return getBytes();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /* Size of the content if it was read, otherwise size of the file on disk */
+    public synchronized long size() {
+        return bytes != null ? bytes.length : path.toFile().length();
+    }
+
+    /* Content decoded as UTF-8. Malformed input is replaced, not rejected. */
+    public synchronized String getText() throws IOException {
+        if (text == null) {
+            text = new String(getBytes(), StandardCharsets.UTF_8);
+        }
+        return text;
+    }
+
+    /* Same as {@link #getText()}, but returns null if the file does not exist, like FSUtils.readFileSafe() */
+    public String getTextSafe() throws IOException {
+        try {
+            return getText();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+}
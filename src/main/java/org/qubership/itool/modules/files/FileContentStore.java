@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.files;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Keeps contents of "file" elements of the graph.
+ *
+ * <p>When disabled, raw content and parsed data are stored in the file vertex itself, as "content"
+ * and "structured" properties. When enabled, they are stored on disk as blob files named by SHA-256
+ * of their data, and the vertex keeps only the hashes as "contentRef" and "structuredRef". Identical
+ * files of different components are stored once. Blobs are memory-mapped and decoded on every request,
+ * and they are kept between runs, so graphs restored from progress files can still read them.
+ *
+ * <p>Consumers shall read file contents with {@link #getContent(JsonObject)} and
+ * {@link #getStructured(JsonObject)}, which work for both kinds of vertices.
+ */
+public class FileContentStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileContentStore.class);
+
+    public static final String F_CONTENT = "content";
+    public static final String F_STRUCTURED = "structured";
+    public static final String F_CONTENT_REF = "contentRef";
+    public static final String F_STRUCTURED_REF = "structuredRef";
+
+    private final boolean enabled;
+    private final Path storeDir;
+
+    public FileContentStore(boolean enabled, Path storeDir) {
+        this.enabled = enabled;
+        this.storeDir = storeDir;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Store content of a file element.
+     *
+     * @param vertex File vertex
+     * @param content Raw content
+     * @param structured Parsed content: {@link JsonObject}, {@link io.vertx.core.json.JsonArray},
+     *                   or {@code null} if the file was not parsed
+     * @throws IOException If the blob cannot be written
+     */
+    public void store(JsonObject vertex, String content, Object structured) throws IOException {
+        if (!enabled) {
+            vertex.put(F_CONTENT, content);
+            if (structured != null) {
+                vertex.put(F_STRUCTURED, structured);
+            }
+            return;
+        }
+        vertex.put(F_CONTENT_REF, put(content));
+        if (structured != null) {
+            vertex.put(F_STRUCTURED_REF, put(Json.encode(structured)));
+        }
+    }
+
+    /**
+     * Get raw content of a file element.
+     *
+     * @param vertex File vertex
+     * @return Content, or {@code null} if it is not stored
+     */
+    public String getContent(JsonObject vertex) {
+        String content = vertex.getString(F_CONTENT);
+        if (content != null) {
+            return content;
+        }
+        String ref = vertex.getString(F_CONTENT_REF);
+        return ref != null ? get(ref) : null;
+    }
+
+    /**
+     * Get parsed content of a file element.
+     *
+     * @param vertex File vertex
+     * @return Either {@link JsonObject} or {@link io.vertx.core.json.JsonArray}, or {@code null}
+     *         if the file was not parsed
+     */
+    public Object getStructured(JsonObject vertex) {
+        Object structured = vertex.getValue(F_STRUCTURED);
+        if (structured != null) {
+            return structured;
+        }
+        String ref = vertex.getString(F_STRUCTURED_REF);
+        return ref != null ? Json.CODEC.fromString(get(ref), Object.class) : null;
+    }
+
+    /* Store data, unless it is already stored. Returns its hash. */
+    String put(String data) throws IOException {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        String hash = DigestUtils.sha256Hex(bytes);
+        Path blob = getBlobFile(hash);
+        if (Files.isRegularFile(blob)) {
+            return hash;
+        }
+        Files.createDirectories(blob.getParent());
+        // Concurrent writers of the same blob write the same data
+        Path tmpFile = Files.createTempFile(blob.getParent(), hash, ".tmp");
+        Files.write(tmpFile, bytes);
+        Files.move(tmpFile, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOG.trace("Stored blob {} of {} bytes", hash, bytes.length);
+        return hash;
+    }
+
+    String get(String hash) {
+        Path blob = getBlobFile(hash);
+        try (FileChannel channel = FileChannel.open(blob, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read stored file content " + blob, e);
+        }
+    }
+
+    protected Path getBlobFile(String hash) {
+        return storeDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+}
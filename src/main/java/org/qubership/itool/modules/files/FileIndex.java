@@ -0,0 +1,382 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.modules.files;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared listing of component directories, built once per flow.
+ *
+ * <p>A directory tree is read from disk on the first request only. Later walks over the same tree
+ * or any of its subdirectories replay the recorded listing to a {@link FileVisitor} in the same order
+ * and with the same events {@link Files#walkFileTree(Path, FileVisitor)} would produce. As with
+ * walkFileTree, symbolic links are not followed. Exclusions are up to the visitor, so one listing
+ * serves all tasks.
+ *
+ * <p>The listing is not refreshed automatically. Tasks modifying component directories
+ * (checking out sources, running builds, copying files) shall call {@link #invalidate(Path)}.
+ *
+ * <p>If a {@link FileIndexStore} is provided, listings are kept between runs. Only directories
+ * with changed modification time are read again; the check takes one stat per directory.
+ * Attributes of files in other directories are those of the previous run: they are passed
+ * to visitors as recorded, and read again by {@link #getRegularFileAttributes(Path)}, which
+ * tasks use for files they open.
+ */
+public class FileIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileIndex.class);
+
+    private final boolean enabled;
+    private final FileIndexStore store;
+    // Indexed trees by absolute normalized path of their root
+    private final ConcurrentMap<Path, IndexedTree> trees = new ConcurrentHashMap<>();
+
+    public FileIndex(boolean enabled) {
+        this(enabled, null);
+    }
+
+    /**
+     * @param enabled Whether listings are recorded. If not, walks are delegated to {@link Files}
+     * @param store Storage to keep listings between runs, nullable
+     */
+    public FileIndex(boolean enabled, FileIndexStore store) {
+        this.enabled = enabled;
+        this.store = store;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Walk a file tree. Drop-in replacement for {@link Files#walkFileTree(Path, FileVisitor)}.
+     *
+     * @param start Starting directory
+     * @param visitor File visitor
+     * @throws IOException If thrown by visitor
+     */
+    public void walkFileTree(Path start, FileVisitor<? super Path> visitor) throws IOException {
+        FileTreeNode node = enabled ? getListing(start) : null;
+        if (node == null) {
+            Files.walkFileTree(start, visitor);
+            return;
+        }
+        replay(start, node, visitor);
+    }
+
+    /**
+     * Check whether a file exists and is a regular file, following symbolic links
+     * like {@link java.io.File#isFile()}.
+     *
+     * @param file File path
+     * @return {@code true} if the file is a regular file
+     */
+    public boolean isRegularFile(Path file) {
+        return getRegularFileAttributes(file) != null;
+    }
+
+    /**
+     * Get attributes of a regular file, following symbolic links like {@link java.io.File#isFile()}.
+     *
+     * @param file File path
+     * @return Attributes, or {@code null} if the file is not a regular file
+     */
+    public BasicFileAttributes getRegularFileAttributes(Path file) {
+        Path parent = file.toAbsolutePath().normalize().getParent();
+        FileTreeNode node = enabled && parent != null ? getListing(parent) : null;
+        if (node != null) {
+            int index = node.indexOf(file.getFileName().toString());
+            if (index < 0 || node.failure(index) != null) {
+                return null;
+            }
+            IndexedFileAttributes attrs = node.entries[index];
+            if (!attrs.isSymbolicLink()) {
+                if (!attrs.isRegularFile()) {
+                    return null;
+                }
+                if (!node.restored) {
+                    return attrs;
+                }
+                // Contents may have changed since the previous run, read the attributes again
+            }
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return attrs.isRegularFile() ? attrs : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Forget listings containing the given directory, or contained in it.
+     *
+     * @param dir Directory that was modified
+     */
+    public void invalidate(Path dir) {
+        Path absPath = dir.toAbsolutePath().normalize();
+        trees.keySet().removeIf(root -> root.startsWith(absPath) || absPath.startsWith(root));
+    }
+
+    public void invalidateAll() {
+        trees.clear();
+    }
+
+
+    //------------------------------------------------------
+    // Building listings
+
+    /* Get listing of a directory, reading it from disk if it is not indexed yet.
+     * Returns null if the path is not a readable directory. */
+    FileTreeNode getListing(Path dir) {
+        Path absPath = dir.toAbsolutePath().normalize();
+
+        // Descend from a tree already indexed, if any
+        for (Path root = absPath; root != null; root = root.getParent()) {
+            IndexedTree tree = trees.get(root);
+            if (tree != null) {
+                FileTreeNode node = tree.getRoot();
+                if (node != null) {
+                    return descend(node, root.relativize(absPath));
+                }
+            }
+        }
+
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(absPath, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null;
+        }
+        if (!attrs.isDirectory()) {
+            return null;
+        }
+        return trees.computeIfAbsent(absPath, IndexedTree::new).getRoot();
+    }
+
+    private static FileTreeNode descend(FileTreeNode node, Path relativePath) {
+        for (Path name : relativePath) {
+            if (name.toString().isEmpty()) {
+                continue;
+            }
+            int index = node.indexOf(name.toString());
+            if (index < 0) {
+                return null;
+            }
+            node = node.subdir(index);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node.openFailure == null ? node : null;
+    }
+
+    /* Read listing of a directory recursively. Directories already indexed as separate trees are reused.
+     * Listing of previous run is reused for directories with unchanged modification time. */
+    FileTreeNode scan(Path absPath, IndexedFileAttributes attributes, FileTreeNode previous) {
+        if (previous != null && previous.attributes.lastModifiedMillis() == attributes.lastModifiedMillis()) {
+            FileTreeNode result = revalidate(absPath, attributes, previous);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        List<IndexedFileAttributes> entries = new ArrayList<>();
+        List<FileTreeNode> subdirs = new ArrayList<>();
+        List<IOException> failures = new ArrayList<>();
+        boolean hasSubdirs = false;
+        boolean hasFailures = false;
+        IOException iterationFailure = null;
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(absPath)) {
+            for (Path child : stream) {
+                names.add(child.getFileName().toString());
+                try {
+                    IndexedFileAttributes attrs = IndexedFileAttributes.of(
+                            Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS));
+                    entries.add(attrs);
+                    failures.add(null);
+                    if (attrs.isDirectory()) {
+                        IndexedTree tree = trees.get(child);
+                        FileTreeNode subdir = tree != null ? tree.getRoot() : null;
+                        if (subdir == null) {
+                            int prevIndex = previous == null ? -1 : previous.indexOf(names.get(names.size() - 1));
+                            subdir = scan(child, attrs, prevIndex < 0 ? null : previous.subdir(prevIndex));
+                        }
+                        subdirs.add(subdir);
+                        hasSubdirs = true;
+                    } else {
+                        subdirs.add(null);
+                    }
+                } catch (IOException e) {
+                    entries.add(null);
+                    subdirs.add(null);
+                    failures.add(e);
+                    hasFailures = true;
+                }
+            }
+        } catch (DirectoryIteratorException e) {
+            iterationFailure = e.getCause();
+        } catch (IOException e) {
+            return new FileTreeNode(attributes, new String[0], new IndexedFileAttributes[0],
+                    FileTreeNode.NO_SUBDIRS, null, e, null);
+        }
+
+        return new FileTreeNode(attributes,
+                names.toArray(new String[0]),
+                entries.toArray(new IndexedFileAttributes[0]),
+                hasSubdirs ? subdirs.toArray(new FileTreeNode[0]) : FileTreeNode.NO_SUBDIRS,
+                hasFailures ? failures.toArray(new IOException[0]) : null,
+                null, iterationFailure);
+    }
+
+    /* Reuse membership of a directory that was not modified, and attributes of its files.
+     * Only subdirectories are checked, since their contents may change without changing modification
+     * time of this directory. Returns null if the directory shall be read again. */
+    private FileTreeNode revalidate(Path absPath, IndexedFileAttributes attributes, FileTreeNode previous) {
+        if (previous.failures != null || previous.iterationFailure != null) {
+            return null;
+        }
+        if (previous.subdirs.length == 0) {
+            return new FileTreeNode(attributes, previous.names, previous.entries, FileTreeNode.NO_SUBDIRS,
+                    null, null, null, true);
+        }
+        IndexedFileAttributes[] entries = previous.entries.clone();
+        FileTreeNode[] subdirs = new FileTreeNode[previous.subdirs.length];
+        for (int i = 0; i < entries.length; i++) {
+            FileTreeNode previousSubdir = previous.subdir(i);
+            if (previousSubdir == null) {
+                continue;
+            }
+            Path child = absPath.resolve(previous.names[i]);
+            IndexedTree tree = trees.get(child);
+            FileTreeNode subdir = tree != null ? tree.getRoot() : null;
+            if (subdir != null) {
+                entries[i] = subdir.attributes;
+                subdirs[i] = subdir;
+                continue;
+            }
+            IndexedFileAttributes attrs;
+            try {
+                attrs = IndexedFileAttributes.of(
+                        Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS));
+            } catch (IOException e) {
+                return null;
+            }
+            if (!attrs.isDirectory()) {
+                return null;
+            }
+            entries[i] = attrs;
+            subdirs[i] = scan(child, attrs, previousSubdir);
+        }
+        return new FileTreeNode(attributes, previous.names, entries, subdirs, null, null, null, true);
+    }
+
+    /* A tree indexed under its own root. Built lazily, at most once. */
+    private class IndexedTree {
+        private final Path absPath;
+        private volatile FileTreeNode root;
+
+        IndexedTree(Path absPath) {
+            this.absPath = absPath;
+        }
+
+        FileTreeNode getRoot() {
+            FileTreeNode result = root;
+            if (result == null) {
+                synchronized (this) {
+                    result = root;
+                    if (result == null) {
+                        result = build();
+                        root = result;
+                    }
+                }
+            }
+            return result.openFailure == null ? result : null;
+        }
+
+        private FileTreeNode build() {
+            long startTime = System.nanoTime();
+            IndexedFileAttributes attrs;
+            try {
+                attrs = IndexedFileAttributes.of(
+                        Files.readAttributes(absPath, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS));
+            } catch (IOException e) {
+                return new FileTreeNode(null, new String[0], new IndexedFileAttributes[0],
+                        FileTreeNode.NO_SUBDIRS, null, e, null);
+            }
+            FileTreeNode previous = store != null ? store.load(absPath) : null;
+            FileTreeNode result = scan(absPath, attrs, previous);
+            LOG.debug("Directory {} indexed in {} ms{}", absPath, (System.nanoTime() - startTime) / 1_000_000,
+                    previous != null ? " using stored listing" : "");
+            if (store != null) {
+                store.save(absPath, result);
+            }
+            return result;
+        }
+    }
+
+
+    //------------------------------------------------------
+    // Replaying listings
+
+    /* Replay events of walkFileTree() for a directory. Returns the result as seen by the walk over its parent. */
+    private static FileVisitResult replay(Path dir, FileTreeNode node, FileVisitor<? super Path> visitor)
+            throws IOException {
+        if (node.openFailure != null) {
+            return visitor.visitFileFailed(dir, node.openFailure);
+        }
+        FileVisitResult result = visitor.preVisitDirectory(dir, node.attributes);
+        if (result != FileVisitResult.CONTINUE) {
+            return result;
+        }
+
+        for (int i = 0; i < node.names.length; i++) {
+            Path child = dir.resolve(node.names[i]);
+            IOException failure = node.failure(i);
+            FileTreeNode subdir = node.subdir(i);
+            if (failure != null) {
+                result = visitor.visitFileFailed(child, failure);
+            } else if (subdir != null) {
+                result = replay(child, subdir, visitor);
+            } else {
+                result = visitor.visitFile(child, node.entries[i]);
+            }
+            if (result == FileVisitResult.TERMINATE) {
+                return result;
+            }
+            if (result == FileVisitResult.SKIP_SIBLINGS) {
+                break;
+            }
+        }
+
+        result = visitor.postVisitDirectory(dir, node.iterationFailure);
+        return result == FileVisitResult.SKIP_SIBLINGS ? FileVisitResult.CONTINUE : result;
+    }
+
+}
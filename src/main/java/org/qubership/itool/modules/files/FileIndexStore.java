@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.modules.files;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps listings of {@link FileIndex} on disk between runs.
+ *
+ * <p>Every indexed tree is stored in a separate file. A stored listing is used whatever revision
+ * is checked out: {@link FileIndex} re-reads only directories whose modification time has changed,
+ * which includes directories where a checkout has added or removed files.
+ * Listings with read failures are not stored.
+ */
+public class FileIndexStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileIndexStore.class);
+
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path cacheDir;
+
+    public FileIndexStore(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Load stored listing of a tree.
+     *
+     * @param absPath Absolute normalized path of the tree root
+     * @return Stored listing, or {@code null} if it is missing
+     */
+    FileTreeNode load(Path absPath) {
+        Path file = getCacheFile(absPath);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != FORMAT_VERSION || !absPath.toString().equals(in.readUTF())) {
+                return null;
+            }
+            return readNode(in, readAttributes(in));
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to load stored listing of {} from {}: {}", absPath, file, e.toString());
+            return null;
+        }
+    }
+
+    void save(Path absPath, FileTreeNode node) {
+        if (!isComplete(node)) {
+            return;
+        }
+        Path file = getCacheFile(absPath);
+        try {
+            Files.createDirectories(cacheDir);
+            Path tmpFile = Files.createTempFile(cacheDir, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tmpFile))))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(absPath.toString());
+                writeAttributes(out, node.attributes);
+                writeNode(out, node);
+            }
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Failed to store listing of {} to {}: {}", absPath, file, e.toString());
+        }
+    }
+
+    protected Path getCacheFile(Path absPath) {
+        return cacheDir.resolve(DigestUtils.md5Hex(absPath.toString().getBytes(StandardCharsets.UTF_8)) + ".idx");
+    }
+
+    private static boolean isComplete(FileTreeNode node) {
+        if (node.openFailure != null || node.iterationFailure != null || node.failures != null) {
+            return false;
+        }
+        for (FileTreeNode subdir : node.subdirs) {
+            if (subdir != null && !isComplete(subdir)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeNode(DataOutputStream out, FileTreeNode node) throws IOException {
+        out.writeInt(node.names.length);
+        for (int i = 0; i < node.names.length; i++) {
+            out.writeUTF(node.names[i]);
+            writeAttributes(out, node.entries[i]);
+            FileTreeNode subdir = node.subdir(i);
+            if (subdir != null) {
+                writeNode(out, subdir);
+            }
+        }
+    }
+
+    private static FileTreeNode readNode(DataInputStream in, IndexedFileAttributes attributes) throws IOException {
+        int count = in.readInt();
+        String[] names = new String[count];
+        IndexedFileAttributes[] entries = new IndexedFileAttributes[count];
+        FileTreeNode[] subdirs = null;
+        for (int i = 0; i < count; i++) {
+            names[i] = in.readUTF();
+            entries[i] = readAttributes(in);
+            if (entries[i].isDirectory()) {
+                if (subdirs == null) {
+                    subdirs = new FileTreeNode[count];
+                }
+                subdirs[i] = readNode(in, entries[i]);
+            }
+        }
+        return new FileTreeNode(attributes, names, entries,
+                subdirs == null ? FileTreeNode.NO_SUBDIRS : subdirs, null, null, null);
+    }
+
+    private static void writeAttributes(DataOutputStream out, IndexedFileAttributes attrs) throws IOException {
+        out.writeByte(attrs.kind());
+        out.writeLong(attrs.size());
+        out.writeLong(attrs.lastModifiedMillis());
+    }
+
+    private static IndexedFileAttributes readAttributes(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        long size = in.readLong();
+        long lastModified = in.readLong();
+        return new IndexedFileAttributes(kind, size, lastModified);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.modules.files;
+
+import java.io.IOException;
+
+/**
+ * Recorded listing of a single directory, with listings of its subdirectories.
+ * Entries are kept in the order they were returned by the file system.
+ */
+class FileTreeNode {
+
+    static final FileTreeNode[] NO_SUBDIRS = new FileTreeNode[0];
+
+    final IndexedFileAttributes attributes;
+    final String[] names;
+    // Attributes of entries, null for entries that could not be read
+    final IndexedFileAttributes[] entries;
+    // Listings of subdirectories by entry index, or NO_SUBDIRS if there are none
+    final FileTreeNode[] subdirs;
+    // Failures by entry index, or null if there were none
+    final IOException[] failures;
+    // Failure to open the directory itself
+    final IOException openFailure;
+    // Failure during iteration over the directory
+    final IOException iterationFailure;
+    // Whether attributes of files were recorded in a previous run and not read again
+    final boolean restored;
+
+    FileTreeNode(IndexedFileAttributes attributes, String[] names, IndexedFileAttributes[] entries,
+                 FileTreeNode[] subdirs, IOException[] failures, IOException openFailure, IOException iterationFailure) {
+        this(attributes, names, entries, subdirs, failures, openFailure, iterationFailure, false);
+    }
+
+    FileTreeNode(IndexedFileAttributes attributes, String[] names, IndexedFileAttributes[] entries,
+                 FileTreeNode[] subdirs, IOException[] failures, IOException openFailure, IOException iterationFailure,
+                 boolean restored) {
+        this.attributes = attributes;
+        this.names = names;
+        this.entries = entries;
+        this.subdirs = subdirs;
+        this.failures = failures;
+        this.openFailure = openFailure;
+        this.iterationFailure = iterationFailure;
+        this.restored = restored;
+    }
+
+    int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    FileTreeNode subdir(int index) {
+        return subdirs.length == 0 ? null : subdirs[index];
+    }
+
+    IOException failure(int index) {
+        return failures == null ? null : failures[index];
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.files;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Attributes of a file as recorded in {@link FileIndex}. Symbolic links are not followed.
+ */
+public class IndexedFileAttributes implements BasicFileAttributes {
+
+    public static final byte REGULAR_FILE = 0;
+    public static final byte DIRECTORY = 1;
+    public static final byte SYMBOLIC_LINK = 2;
+    public static final byte OTHER = 3;
+
+    private final byte kind;
+    private final long size;
+    private final long lastModified;
+
+    public IndexedFileAttributes(byte kind, long size, long lastModified) {
+        this.kind = kind;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    public static IndexedFileAttributes of(BasicFileAttributes attrs) {
+        byte kind = attrs.isSymbolicLink() ? SYMBOLIC_LINK
+                : attrs.isDirectory() ? DIRECTORY
+                : attrs.isRegularFile() ? REGULAR_FILE
+                : OTHER;
+        return new IndexedFileAttributes(kind, attrs.size(), attrs.lastModifiedTime().toMillis());
+    }
+
+    public byte kind() {
+        return kind;
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified;
+    }
+
+    @Override
+    public FileTime lastModifiedTime() {
+        return FileTime.fromMillis(lastModified);
+    }
+
+    @Override
+    public FileTime lastAccessTime() {
+        return lastModifiedTime();
+    }
+
+    @Override
+    public FileTime creationTime() {
+        return lastModifiedTime();
+    }
+
+    @Override
+    public boolean isRegularFile() {
+        return kind == REGULAR_FILE;
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return kind == DIRECTORY;
+    }
+
+    @Override
+    public boolean isSymbolicLink() {
+        return kind == SYMBOLIC_LINK;
+    }
+
+    @Override
+    public boolean isOther() {
+        return kind == OTHER;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public Object fileKey() {
+        return null;
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.parsing;
+
+import io.vertx.core.json.Json;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps results of parsing config files into JSON models, by hash of the content, the kind of parser
+ * and {@link #PARSER_VERSION}.
+ *
+ * <p>Results are stored on disk in their JSON form and shared between runs. Within a run, the most
+ * recently used results are also kept in memory in the same form, up to a limit on their total size,
+ * so that identical files of different components are neither parsed nor read again.
+ *
+ * <p>Every call returns a new copy of the model decoded from JSON, whether the result was known or
+ * has just been parsed, as it would be after a dump of the graph is loaded: scalars that JSON does not
+ * distinguish (e.g. sizes of integers, YAML timestamps) may have other types than the parser returns,
+ * but they are the same in the first and in later runs. Callers may modify the returned model.
+ * Failures of parsing are not kept.
+ */
+public class ParseResultCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParseResultCache.class);
+
+    /** Increment when parsers or post-processing of their results change */
+    public static final int PARSER_VERSION = 1;
+
+    @FunctionalInterface
+    public interface Parser {
+        /**
+         * @return {@link io.vertx.core.json.JsonObject}, {@link io.vertx.core.json.JsonArray},
+         *         or another JSON-encodable value
+         */
+        Object parse(String content) throws Exception;
+    }
+
+    /** Limit on total length of encoded results kept in memory, in chars */
+    public static final long DEFAULT_MAX_MEMORY_CHARS = 32L * 1024 * 1024;
+
+    private final boolean enabled;
+    private final Path cacheDir;
+    private final long maxMemoryChars;
+
+    // Encoded results by key, in access order. Guarded by itself.
+    private final Map<String, String> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryChars;
+
+    public ParseResultCache(boolean enabled, Path cacheDir) {
+        this(enabled, cacheDir, DEFAULT_MAX_MEMORY_CHARS);
+    }
+
+    ParseResultCache(boolean enabled, Path cacheDir, long maxMemoryChars) {
+        this.enabled = enabled;
+        this.cacheDir = cacheDir;
+        this.maxMemoryChars = maxMemoryChars;
+    }
+
+    /**
+     * Get the result of parsing the content, parse it if it is not known yet.
+     *
+     * @param kind Kind of parser, results of different kinds are kept separately
+     * @param content Content to parse
+     * @param parser Parser to use if the result is not known
+     * @return Parsed model
+     * @throws Exception If thrown by the parser
+     */
+    public Object parse(String kind, String content, Parser parser) throws Exception {
+        if (!enabled) {
+            return parser.parse(content);
+        }
+        String key = getKey(kind, content);
+        String encoded = getFromMemory(key);
+        if (encoded == null) {
+            encoded = load(key);
+            if (encoded == null) {
+                encoded = Json.encode(parser.parse(content));
+                save(key, encoded);
+            }
+            putToMemory(key, encoded);
+        }
+        return Json.CODEC.fromString(encoded, Object.class);
+    }
+
+    private static String getKey(String kind, String content) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        digest.update((kind + '\0' + PARSER_VERSION + '\0').getBytes(StandardCharsets.UTF_8));
+        digest.update(content.getBytes(StandardCharsets.UTF_8));
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private String getFromMemory(String key) {
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    private void putToMemory(String key, String encoded) {
+        if (encoded.length() > maxMemoryChars) {
+            return;
+        }
+        synchronized (memory) {
+            String previous = memory.put(key, encoded);
+            if (previous != null) {
+                memoryChars -= previous.length();
+            }
+            memoryChars += encoded.length();
+            // Least recently used results go first
+            Iterator<String> it = memory.values().iterator();
+            while (memoryChars > maxMemoryChars && it.hasNext()) {
+                memoryChars -= it.next().length();
+                it.remove();
+            }
+        }
+    }
+
+    private String load(String key) {
+        Path file = getCacheFile(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warn("Failed to load parse result from {}: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    private void save(String key, String encoded) {
+        Path file = getCacheFile(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmpFile = Files.createTempFile(file.getParent(), key, ".tmp");
+            Files.writeString(tmpFile, encoded, StandardCharsets.UTF_8);
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Failed to store parse result to {}: {}", file, e.toString());
+        }
+    }
+
+    protected Path getCacheFile(String key) {
+        return cacheDir.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning the parsing of all matching files of a component by a parsing task.
+ */
+@Name(ComponentParseEvent.NAME)
+@Label("Component Parse")
+@Category({ "Inventory Tool", "Parsing" })
+@Description("Parsing of component files by a task")
+public class ComponentParseEvent extends Event {
+
+    public static final String NAME = "org.qubership.itool.ComponentParse";
+
+    @Label("Task")
+    String task;
+
+    @Label("Component")
+    String component;
+
+    @Label("Files")
+    int files;
+
+    public ComponentParseEvent(String task, String component) {
+        this.task = task;
+        this.component = component;
+    }
+
+    public void setFiles(int files) {
+        this.files = files;
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning the parsing of a single file by a parsing task.
+ */
+@Name(FileParseEvent.NAME)
+@Label("File Parse")
+@Category({ "Inventory Tool", "Parsing" })
+@Description("Parsing of a single file by a task")
+public class FileParseEvent extends Event {
+
+    public static final String NAME = "org.qubership.itool.FileParse";
+
+    @Label("Task")
+    String task;
+
+    @Label("Component")
+    String component;
+
+    @Label("File")
+    String file;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    public FileParseEvent(String task, String component, String file) {
+        this.task = task;
+        this.component = component;
+        this.file = file;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.modules.profiling;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.qubership.itool.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records wall time, CPU time, allocated bytes, GC pauses and heap usage of every task in a flow.
+ *
+ * <p>CPU time and allocations are summed over all JVM threads between start and completion
+ * of a task, since tasks spread their work across worker pools. Figures of tasks that ran
+ * concurrently with other ones overlap and are marked as such. GC pauses are attributed
+ * to all tasks running at the moment. Only stop-the-world collections count as pauses:
+ * cycles of concurrent collectors (G1 concurrent marking, ZGC and Shenandoah cycles) mostly run
+ * along with the application, their own pauses are reported separately by the JVM.
+ */
+public class FlowProfiler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FlowProfiler.class);
+
+    public static final String JSON_REPORT = "flow-profile.json";
+    public static final String HTML_REPORT = "flow-profile.html";
+
+    /** Profiler that records nothing */
+    public static final FlowProfiler DISABLED = new FlowProfiler(false);
+
+    private final boolean enabled;
+    private final long flowStartMillis = System.currentTimeMillis();
+    private final long flowStartNanos = System.nanoTime();
+    private final List<TaskProfile> profiles = new CopyOnWriteArrayList<>();
+    private final Set<TaskProfile> running = ConcurrentHashMap.newKeySet();
+    private final LongAdder gcPauseNanos = new LongAdder();
+    private final LongAdder gcCount = new LongAdder();
+    private final Map<NotificationEmitter, NotificationListener> gcListeners = new HashMap<>();
+
+    private ThreadMXBean threadBean;
+    private com.sun.management.ThreadMXBean hotspotThreadBean;
+    private MemoryMXBean memoryBean;
+
+    public FlowProfiler(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            return;
+        }
+        memoryBean = ManagementFactory.getMemoryMXBean();
+        threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean.isThreadCpuTimeSupported()) {
+            threadBean.setThreadCpuTimeEnabled(true);
+        }
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            hotspotThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (hotspotThreadBean.isThreadAllocatedMemorySupported()) {
+                hotspotThreadBean.setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+        registerGcListeners();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start profiling a task run.
+     *
+     * @param taskAddress Task address
+     * @return Profile to pass to {@link #taskFinished(TaskProfile)}, or {@code null} if profiling is disabled
+     */
+    public TaskProfile taskStarted(String taskAddress) {
+        if (!enabled) {
+            return null;
+        }
+        long[] threadIds = threadBean.getAllThreadIds();
+        TaskProfile profile = new TaskProfile(taskAddress, getHeapUsed(),
+                threadIds, getCpuTimes(threadIds), getAllocatedBytes(threadIds));
+        for (TaskProfile other : running) {
+            other.setConcurrent();
+            profile.setConcurrent();
+        }
+        running.add(profile);
+        profiles.add(profile);
+        return profile;
+    }
+
+    public void taskFinished(TaskProfile profile) {
+        if (profile == null || !running.remove(profile)) {
+            return;
+        }
+        long[] threadIds = threadBean.getAllThreadIds();
+        profile.finish(getHeapUsed(), threadIds, getCpuTimes(threadIds), getAllocatedBytes(threadIds));
+    }
+
+    public List<TaskProfile> getProfiles() {
+        return profiles;
+    }
+
+    public void close() {
+        gcListeners.forEach((emitter, listener) -> {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                // Ignore
+            }
+        });
+        gcListeners.clear();
+    }
+
+
+    //------------------------------------------------------
+    // Sampling
+
+    private long getHeapUsed() {
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+
+    private long[] getCpuTimes(long[] threadIds) {
+        if (!threadBean.isThreadCpuTimeEnabled()) {
+            return null;
+        }
+        if (hotspotThreadBean != null) {
+            return hotspotThreadBean.getThreadCpuTime(threadIds);
+        }
+        long[] result = new long[threadIds.length];
+        for (int i = 0; i < threadIds.length; i++) {
+            result[i] = threadBean.getThreadCpuTime(threadIds[i]);
+        }
+        return result;
+    }
+
+    private long[] getAllocatedBytes(long[] threadIds) {
+        if (hotspotThreadBean == null || !hotspotThreadBean.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+        return hotspotThreadBean.getThreadAllocatedBytes(threadIds);
+    }
+
+    private void registerGcListeners() {
+        NotificationListener listener = this::handleGcNotification;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gcBean instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) gcBean;
+                emitter.addNotificationListener(listener, null, null);
+                gcListeners.put(emitter, listener);
+            }
+        }
+    }
+
+    private void handleGcNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        gcFinished(info.getGcName(), info.getGcInfo().getDuration() * 1_000_000);
+    }
+
+    /* Attribute a finished collection to the flow and all running tasks, if it paused the application */
+    void gcFinished(String gcName, long durationNanos) {
+        if (!isPause(gcName)) {
+            return;
+        }
+        gcPauseNanos.add(durationNanos);
+        gcCount.increment();
+        for (TaskProfile profile : running) {
+            profile.gcPause(durationNanos);
+        }
+    }
+
+    /* Collectors reporting concurrent cycles: "G1 Concurrent GC", "ZGC Cycles", "Shenandoah Cycles",
+     * "ConcurrentMarkSweep". Pauses of ZGC and Shenandoah are reported by their "... Pauses" beans. */
+    static boolean isPause(String gcName) {
+        return !gcName.contains("Concurrent") && !gcName.endsWith("Cycles");
+    }
+
+
+    //------------------------------------------------------
+    // Reports
+
+    public JsonObject toJson() {
+        JsonArray tasks = new JsonArray();
+        profiles.stream()
+                .filter(TaskProfile::isFinished)
+                .forEach(profile -> tasks.add(profile.toJson()));
+        return new JsonObject()
+                .put("startTime", flowStartMillis)
+                .put("wallTimeMs", (System.nanoTime() - flowStartNanos) / 1_000_000)
+                .put("gcCount", gcCount.sum())
+                .put("gcPauseMs", gcPauseNanos.sum() / 1_000_000)
+                .put("maxHeap", memoryBean.getHeapMemoryUsage().getMax())
+                .put("tasks", tasks);
+    }
+
+    /**
+     * Write JSON and HTML reports.
+     *
+     * @param folder Target folder
+     * @throws IOException On write failure
+     */
+    public void writeReport(Path folder) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        JsonObject report = toJson();
+        Files.createDirectories(folder);
+        JsonUtils.saveJson(folder.resolve(JSON_REPORT), report, true);
+        Files.writeString(folder.resolve(HTML_REPORT), toHtml(report), JsonUtils.UTF_8);
+        LOG.info("Flow profile saved to {}", folder.resolve(HTML_REPORT));
+    }
+
+    static String toHtml(JsonObject report) {
+        JsonArray tasks = report.getJsonArray("tasks");
+        long maxWallTime = 1;
+        for (Object o : tasks) {
+            maxWallTime = Math.max(maxWallTime, ((JsonObject) o).getLong("wallTimeMs"));
+        }
+
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n<title>Flow profile</title>\n")
+                .append("<style>\n")
+                .append("body { font-family: sans-serif; font-size: 13px; }\n")
+                .append("table { border-collapse: collapse; }\n")
+                .append("th, td { border: 1px solid #ccc; padding: 2px 6px; text-align: right; }\n")
+                .append("td.name { text-align: left; }\n")
+                .append(".bar { background: #4a90d9; height: 10px; }\n")
+                .append("tr.concurrent td.name { font-style: italic; }\n")
+                .append("</style>\n</head>\n<body>\n")
+                .append("<h1>Flow profile</h1>\n<p>Total time: ").append(report.getLong("wallTimeMs"))
+                .append(" ms, GC pauses: ").append(report.getLong("gcPauseMs"))
+                .append(" ms in ").append(report.getLong("gcCount"))
+                .append(" collections, max heap: ").append(toMegabytes(report.getLong("maxHeap")))
+                .append(" MB</p>\n<p>Tasks in italic ran concurrently with other tasks, their figures overlap.</p>\n")
+                .append("<table>\n<tr><th>Task</th><th>Wall, ms</th><th></th><th>CPU, ms</th><th>Allocated, MB</th>")
+                .append("<th>GC pauses, ms</th><th>GC count</th><th>Max GC pause, ms</th>")
+                .append("<th>Heap before, MB</th><th>Heap after, MB</th></tr>\n");
+        for (Object o : tasks) {
+            JsonObject task = (JsonObject) o;
+            long wallTime = task.getLong("wallTimeMs");
+            html.append(task.getBoolean("concurrent") ? "<tr class=\"concurrent\">" : "<tr>")
+                    .append("<td class=\"name\">").append(StringEscapeUtils.escapeHtml4(task.getString("task"))).append("</td>")
+                    .append("<td>").append(wallTime).append("</td>")
+                    .append("<td style=\"width: 200px; text-align: left\"><div class=\"bar\" style=\"width: ")
+                    .append(wallTime * 100 / maxWallTime).append("%\"></div></td>")
+                    .append("<td>").append(task.getLong("cpuTimeMs")).append("</td>")
+                    .append("<td>").append(toMegabytes(task.getLong("allocatedBytes"))).append("</td>")
+                    .append("<td>").append(task.getLong("gcPauseMs")).append("</td>")
+                    .append("<td>").append(task.getLong("gcCount")).append("</td>")
+                    .append("<td>").append(task.getLong("maxGcPauseMs")).append("</td>")
+                    .append("<td>").append(toMegabytes(task.getLong("heapBefore"))).append("</td>")
+                    .append("<td>").append(toMegabytes(task.getLong("heapAfter"))).append("</td>")
+                    .append("</tr>\n");
+        }
+        html.append("</table>\n</body>\n</html>\n");
+        return html.toString();
+    }
+
+    private static long toMegabytes(long bytes) {
+        return bytes < 0 ? bytes : bytes / (1024 * 1024);
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.modules.profiling;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import org.qubership.itool.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects a timeline of a flow run in Chrome trace event format, viewable in Perfetto UI
+ * or chrome://tracing.
+ *
+ * <p>Tasks and per-component processing are recorded as async spans. Blocking code run
+ * on worker pools is recorded as a span on the worker thread, plus a "queue" span covering
+ * the time it waited for a free worker.
+ */
+public class FlowTracer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FlowTracer.class);
+
+    public static final String CATEGORY_TASK = "task";
+    public static final String CATEGORY_COMPONENT = "component";
+    public static final String CATEGORY_QUEUE = "queue";
+
+    private static final int PID = 1;
+
+    /** Tracer that records nothing */
+    public static final FlowTracer DISABLED = new FlowTracer(false);
+
+    private final boolean enabled;
+    private final long originNanos = System.nanoTime();
+    private final AtomicLong nextId = new AtomicLong();
+    private final Queue<JsonObject> events = new ConcurrentLinkedQueue<>();
+    private final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+
+    public FlowTracer(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /* Current timestamp, in microseconds since creation of the tracer */
+    public long now() {
+        return (System.nanoTime() - originNanos) / 1000;
+    }
+
+    /**
+     * Record a span that is not bound to a single thread.
+     *
+     * @param category Event category
+     * @param name Span name
+     * @param startMicros Start timestamp, see {@link #now()}
+     * @param args Additional data, nullable
+     */
+    public void asyncSpan(String category, String name, long startMicros, JsonObject args) {
+        asyncSpan(category, name, startMicros, now(), args);
+    }
+
+    public void asyncSpan(String category, String name, long startMicros, long endMicros, JsonObject args) {
+        if (!enabled) {
+            return;
+        }
+        long id = nextId.incrementAndGet();
+        JsonObject begin = event("b", category, name, startMicros).put("id", id);
+        if (args != null) {
+            begin.put("args", args);
+        }
+        events.add(begin);
+        events.add(event("e", category, name, endMicros).put("id", id));
+    }
+
+    /**
+     * Record a span of the current thread that ends now.
+     *
+     * @param category Event category
+     * @param name Span name
+     * @param startMicros Start timestamp, see {@link #now()}
+     * @param args Additional data, nullable
+     */
+    public void span(String category, String name, long startMicros, JsonObject args) {
+        if (!enabled) {
+            return;
+        }
+        JsonObject event = event("X", category, name, startMicros).put("dur", now() - startMicros);
+        if (args != null) {
+            event.put("args", args);
+        }
+        events.add(event);
+    }
+
+    /**
+     * Wrap blocking code submitted to a worker pool, recording time spent in the queue and at work.
+     *
+     * @param pool Name of the worker pool
+     * @param name Span name, e.g. component id
+     * @param args Additional data, nullable
+     * @param handler Blocking code
+     * @return Wrapped blocking code, or the same one if tracing is disabled
+     */
+    public <T> Handler<Promise<T>> traceBlocking(String pool, String name, JsonObject args, Handler<Promise<T>> handler) {
+        if (!enabled) {
+            return handler;
+        }
+        long submitted = now();
+        return promise -> {
+            long started = now();
+            asyncSpan(CATEGORY_QUEUE, name, submitted, started, new JsonObject().put("pool", pool));
+            try {
+                handler.handle(promise);
+            } finally {
+                span(pool, name, started, args);
+            }
+        };
+    }
+
+    /**
+     * Record an async span lasting until all given futures complete.
+     *
+     * @param category Event category
+     * @param name Span name
+     * @param startMicros Start timestamp, see {@link #now()}
+     * @param futures Futures to wait for
+     */
+    @SuppressWarnings("rawtypes")
+    public void traceFutures(String category, String name, long startMicros, List<Future> futures) {
+        if (!enabled) {
+            return;
+        }
+        CompositeFuture.join(futures)
+                .onComplete(ar -> asyncSpan(category, name, startMicros, null));
+    }
+
+    private JsonObject event(String phase, String category, String name, long timestamp) {
+        Thread thread = Thread.currentThread();
+        threadNames.putIfAbsent(thread.getId(), thread.getName());
+        return new JsonObject()
+                .put("ph", phase)
+                .put("cat", category)
+                .put("name", name)
+                .put("ts", timestamp)
+                .put("pid", PID)
+                .put("tid", thread.getId());
+    }
+
+    public void writeTrace(Path file) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        JsonArray traceEvents = new JsonArray();
+        threadNames.forEach((tid, threadName) -> traceEvents.add(new JsonObject()
+                .put("ph", "M")
+                .put("name", "thread_name")
+                .put("pid", PID)
+                .put("tid", tid)
+                .put("args", new JsonObject().put("name", threadName))));
+        events.forEach(traceEvents::add);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JsonUtils.saveJson(file, new JsonObject()
+                .put("traceEvents", traceEvents)
+                .put("displayTimeUnit", "ms"), false);
+        LOG.info("Flow trace saved to {}", file);
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning a flow task run, from its start to its completion.
+ */
+@Name(TaskEvent.NAME)
+@Label("Flow Task")
+@Category({ "Inventory Tool", "Flow" })
+@Description("Flow task run")
+public class TaskEvent extends Event {
+
+    public static final String NAME = "org.qubership.itool.FlowTask";
+
+    @Label("Task")
+    String task;
+
+    @Label("Concurrent")
+    @Description("The task may run concurrently with other tasks")
+    boolean concurrent;
+
+    public TaskEvent(String task, boolean concurrent) {
+        this.task = task;
+        this.concurrent = concurrent;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.modules.profiling;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resource usage of a single task run, see {@link FlowProfiler}.
+ */
+public class TaskProfile {
+
+    private final String taskAddress;
+    private final long startMillis;
+    private final long startNanos;
+    private final long heapBefore;
+    private final long[] threadIds;
+    private final long[] cpuBefore;
+    private final long[] allocatedBefore;
+
+    private final LongAdder gcPauseNanos = new LongAdder();
+    private final LongAdder gcCount = new LongAdder();
+    private final AtomicLong maxGcPauseNanos = new AtomicLong();
+    private volatile boolean concurrent;
+
+    private long wallNanos = -1;
+    private long cpuNanos;
+    private long allocatedBytes;
+    private long heapAfter;
+
+    TaskProfile(String taskAddress, long heapBefore, long[] threadIds, long[] cpuBefore, long[] allocatedBefore) {
+        this.taskAddress = taskAddress;
+        this.startMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.heapBefore = heapBefore;
+        this.threadIds = threadIds;
+        this.cpuBefore = cpuBefore;
+        this.allocatedBefore = allocatedBefore;
+    }
+
+    public String getTaskAddress() {
+        return taskAddress;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    void gcPause(long durationNanos) {
+        gcPauseNanos.add(durationNanos);
+        gcCount.increment();
+        maxGcPauseNanos.accumulateAndGet(durationNanos, Math::max);
+    }
+
+    void setConcurrent() {
+        concurrent = true;
+    }
+
+    /* Sums up counters of all threads alive at finish. Threads started after the task count in full,
+     * usage of threads terminated meanwhile is lost. Counters of -1 are not supported by JVM. */
+    void finish(long heapAfter, long[] threadIdsAfter, long[] cpuAfter, long[] allocatedAfter) {
+        this.wallNanos = System.nanoTime() - startNanos;
+        this.heapAfter = heapAfter;
+
+        Map<Long, Integer> indexBefore = new HashMap<>();
+        for (int i = 0; i < threadIds.length; i++) {
+            indexBefore.put(threadIds[i], i);
+        }
+        this.cpuNanos = sumDeltas(indexBefore, cpuBefore, threadIdsAfter, cpuAfter);
+        this.allocatedBytes = sumDeltas(indexBefore, allocatedBefore, threadIdsAfter, allocatedAfter);
+    }
+
+    private static long sumDeltas(Map<Long, Integer> indexBefore, long[] before, long[] threadIdsAfter, long[] after) {
+        if (before == null || after == null) {
+            return -1;
+        }
+        long sum = 0;
+        for (int i = 0; i < threadIdsAfter.length; i++) {
+            Integer idx = indexBefore.get(threadIdsAfter[i]);
+            long valueBefore = idx == null ? 0 : before[idx];
+            if (valueBefore >= 0 && after[i] >= valueBefore) {
+                sum += after[i] - valueBefore;
+            }
+        }
+        return sum;
+    }
+
+    public boolean isFinished() {
+        return wallNanos >= 0;
+    }
+
+    public JsonObject toJson() {
+        return new JsonObject()
+                .put("task", taskAddress)
+                .put("startTime", startMillis)
+                .put("wallTimeMs", wallNanos / 1_000_000)
+                .put("cpuTimeMs", cpuNanos < 0 ? cpuNanos : cpuNanos / 1_000_000)
+                .put("allocatedBytes", allocatedBytes)
+                .put("gcCount", gcCount.sum())
+                .put("gcPauseMs", gcPauseNanos.sum() / 1_000_000)
+                .put("maxGcPauseMs", maxGcPauseNanos.get() / 1_000_000)
+                .put("heapBefore", heapBefore)
+                .put("heapAfter", heapAfter)
+                .put("concurrent", concurrent);
+    }
+
+}
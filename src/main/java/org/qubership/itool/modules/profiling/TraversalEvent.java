@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event recorded when a task builds a graph traversal from vertices or edges. Traversals are lazy,
+ * so the event marks where a traversal is built, not how long it runs.
+ *
+ * <p>It fires on the hottest path of the graph API, so it is disabled by default, and recorded without
+ * stack traces when enabled. Enable it in a JFR settings file, with {@code stackTrace = true} to find
+ * the callers:
+ * <pre>
+ * &lt;event name="org.qubership.itool.Traversal"&gt;
+ *   &lt;setting name="enabled"&gt;true&lt;/setting&gt;
+ *   &lt;setting name="stackTrace"&gt;true&lt;/setting&gt;
+ * &lt;/event&gt;
+ * </pre>
+ */
+@Name(TraversalEvent.NAME)
+@Label("Graph Traversal")
+@Category({ "Inventory Tool", "Graph" })
+@Description("Gremlin traversal built from vertices or edges")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("0 ms")
+public class TraversalEvent extends Event {
+
+    public static final String NAME = "org.qubership.itool.Traversal";
+
+    @Label("Start Step")
+    String step;
+
+    @Label("Ids")
+    String ids;
+
+    public static void emit(String step, String... ids) {
+        TraversalEvent event = new TraversalEvent();
+        if (event.isEnabled()) {
+            event.step = step;
+            event.ids = String.join(",", ids);
+            event.commit();
+        }
+    }
+
+}
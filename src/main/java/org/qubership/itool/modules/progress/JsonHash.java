@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.progress;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 64-bit content hash of JSON values. Unlike {@link JsonObject#hashCode()}, entries are mixed
+ * before they are combined, so swapping values between keys or elements changes the hash.
+ * Integral numbers hash equally regardless of their boxed type, as JSON does not keep it.
+ */
+final class JsonHash {
+
+    private static final long NULL_HASH = 0x6A09E667F3BCC908L;
+    private static final long TRUE_HASH = 0xBB67AE8584CAA73BL;
+    private static final long FALSE_HASH = 0x3C6EF372FE94F82BL;
+    private static final long MAP_SEED = 0xA54FF53A5F1D36F1L;
+    private static final long LIST_SEED = 0x510E527FADE682D1L;
+    private static final long FLOAT_TAG = 0x9B05688C2B3E6C1FL;
+    private static final long OTHER_TAG = 0x1F83D9ABFB41BD6BL;
+
+    private JsonHash() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static long hash(Object value) {
+        if (value == null) {
+            return NULL_HASH;
+        }
+        if (value instanceof JsonObject) {
+            value = ((JsonObject) value).getMap();
+        } else if (value instanceof JsonArray) {
+            value = ((JsonArray) value).getList();
+        }
+
+        if (value instanceof CharSequence) {
+            return hashString((CharSequence) value);
+        }
+        if (value instanceof Map) {
+            // Order-independent: maps with the same entries are equal
+            long h = MAP_SEED;
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+                h += mix(hash(entry.getKey()) * 31 + hash(entry.getValue()));
+            }
+            return mix(h);
+        }
+        if (value instanceof List) {
+            long h = LIST_SEED;
+            for (Object element : (List<Object>) value) {
+                h = mix(h * 31 + hash(element));
+            }
+            return h;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? TRUE_HASH : FALSE_HASH;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return mix(Double.doubleToLongBits(((Number) value).doubleValue()) ^ FLOAT_TAG);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return mix(((Number) value).longValue());
+        }
+        return hashString(value.toString()) ^ OTHER_TAG;
+    }
+
+    /* FNV-1a over UTF-16 chars, finalized with mix() */
+    private static long hashString(CharSequence s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    /* SplitMix64 finalizer */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -0,0 +1,597 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.progress;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import org.qubership.itool.modules.graph.Graph;
+import org.qubership.itool.modules.snapshot.GraphDumpWriter;
+import org.qubership.itool.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.V_ROOT;
+import static org.qubership.itool.modules.snapshot.GraphDumpWriter.F_EDGE;
+import static org.qubership.itool.modules.snapshot.GraphDumpWriter.F_EDGE_LIST;
+import static org.qubership.itool.modules.snapshot.GraphDumpWriter.F_GRAPH;
+import static org.qubership.itool.modules.snapshot.GraphDumpWriter.F_SOURCE;
+import static org.qubership.itool.modules.snapshot.GraphDumpWriter.F_TARGET;
+import static org.qubership.itool.modules.snapshot.GraphDumpWriter.F_VERTEX_LIST;
+
+/**
+ * Saves flow progress as a journal of changes instead of a full dump before every task.
+ *
+ * <p>No dump of the flow data is built by a checkpoint. It walks vertices, edges and report records
+ * of the live graph in place, compares them with the state recorded by the previous checkpoint
+ * by content hashes, and encodes only those that were added or changed. Hashing and encoding
+ * happen while the task waits, as the graph changes once it starts. An encoded entry of up to
+ * {@link #DEFAULT_MAX_BUFFERED_BYTES} is then written to disk by a background thread. A larger
+ * one, like the first entry of a big flow, is streamed to its file directly, so no copy of
+ * the whole graph is held in memory.
+ *
+ * <p>Entries are stored as {@code <sequence>.<task>.json}. An entry marked as {@code reset}
+ * starts from empty data, any other one holds changes against the entry preceding it. When
+ * an entry fails to be written, entries based on it are dropped, and the next checkpoint
+ * starts from empty data. Data saved before a task is restored by replaying the entries
+ * up to the one recorded for that task; a gap in the sequence is reported as an error.
+ */
+public class ProgressJournal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProgressJournal.class);
+
+    /** Name of the journal directory within the progress folder */
+    public static final String DIRECTORY_NAME = "journal";
+
+    /** Size of an encoded entry above which it is written by the checkpoint itself */
+    static final int DEFAULT_MAX_BUFFERED_BYTES = 16 * 1024 * 1024;
+
+    private static final String F_TASK = "task";
+    private static final String F_RESET = "reset";
+    private static final String F_VERTICES = "vertices";
+    private static final String F_REMOVED_VERTICES = "removedVertices";
+    private static final String F_EDGES = "edges";
+    private static final String F_REMOVED_EDGES = "removedEdges";
+    private static final String F_REPORT = "report";
+    private static final String F_KEY = "key";
+    private static final String F_FROM = "from";
+    private static final String F_ITEMS = "items";
+
+    private static final String ENTRY_SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern ENTRY_PATTERN = Pattern.compile("\\d+\\..+\\.json");
+
+    private final boolean enabled;
+    private final Path directory;
+    private final Graph graph;
+    private final int maxBufferedBytes;
+
+    // Hashes of the data saved by previous checkpoints
+    private Map<String, Long> vertexHashes = new HashMap<>();
+    private Map<String, Long> edgeHashes = new HashMap<>();
+    private long[] reportHashes = new long[0];
+    // Sequence number of the next entry, -1 until the journal is started or restored in this flow
+    private int sequence = -1;
+    // Sequence number of the reset entry the next entry is based on, -1 if there is none
+    private int baseSequence = -1;
+    // Sequence number of the last entry that was not written
+    private final AtomicInteger failedSequence = new AtomicInteger(-1);
+    private ExecutorService writer;
+
+    /**
+     * @param enabled Whether progress is saved to the journal rather than to full dumps
+     * @param directory Directory of journal entries
+     * @param graph Graph of the flow, together with its report
+     */
+    public ProgressJournal(boolean enabled, Path directory, Graph graph) {
+        this(enabled, directory, graph, DEFAULT_MAX_BUFFERED_BYTES);
+    }
+
+    ProgressJournal(boolean enabled, Path directory, Graph graph, int maxBufferedBytes) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.graph = graph;
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record changes of flow data made since the previous checkpoint. Returns once the changes
+     * are encoded; an entry that fits in {@link #DEFAULT_MAX_BUFFERED_BYTES} is written in background.
+     *
+     * @param taskName Address of the task about to be started
+     */
+    public synchronized void checkpoint(String taskName) {
+        if (sequence < 0) {
+            deleteEntries();
+            sequence = 0;
+        }
+        int entrySequence = sequence++;
+        // Start from empty data if an entry this one would be based on was not written
+        boolean reset = baseSequence < 0 || failedSequence.get() >= baseSequence;
+        if (reset) {
+            baseSequence = entrySequence;
+            vertexHashes = new HashMap<>();
+            edgeHashes = new HashMap<>();
+            reportHashes = new long[0];
+        }
+
+        Path file = directory.resolve(String.format("%05d.%s%s", entrySequence, taskName, ENTRY_SUFFIX));
+        EntryOutput out = new EntryOutput(file, entrySequence, baseSequence);
+        try {
+            encode(out, taskName, reset);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Exception when saving progress journal entry " + file, e);
+            out.discard();
+            return;
+        }
+        out.commit();
+    }
+
+    /**
+     * Restore flow data saved before the given task, and continue the journal from that point:
+     * entries recorded after it are deleted.
+     *
+     * @param taskName Address of the task
+     * @return Flow data dump, or {@code null} if no entry was recorded for the task
+     * @throws IOException If an entry needed to restore the data is missing or unreadable
+     */
+    public synchronized JsonObject restore(String taskName) throws IOException {
+        List<Path> entries = listEntries(directory);
+        int last = findEntry(entries, taskName);
+        if (last < 0) {
+            return null;
+        }
+        RestoredData data = replay(directory, entries, last);
+        for (int i = last + 1; i < entries.size(); i++) {
+            Files.delete(entries.get(i));
+        }
+        LOG.info("Progress before step '{}' restored from {} journal entries", taskName, last + 1);
+
+        vertexHashes = new HashMap<>();
+        data.vertices.forEach((key, vertex) -> vertexHashes.put(key, JsonHash.hash(vertex)));
+        edgeHashes = new HashMap<>();
+        data.edges.forEach((key, edge) -> edgeHashes.put(key,
+                edgeHash(edge.getString(F_SOURCE), edge.getString(F_TARGET), edge.getJsonObject(F_EDGE))));
+        reportHashes = data.report.stream().mapToLong(JsonHash::hash).toArray();
+        sequence = getSequence(entries.get(last)) + 1;
+        baseSequence = data.baseSequence;
+        failedSequence.set(-1);
+        return data.toDump();
+    }
+
+    /**
+     * Read flow data saved before the given task without modifying the journal.
+     *
+     * @param directory Directory of journal entries
+     * @param taskName Address of the task
+     * @return Flow data dump, or {@code null} if no entry was recorded for the task
+     * @throws IOException If an entry needed to restore the data is missing or unreadable
+     */
+    public static JsonObject read(Path directory, String taskName) throws IOException {
+        List<Path> entries = listEntries(directory);
+        int last = findEntry(entries, taskName);
+        return last < 0 ? null : replay(directory, entries, last).toDump();
+    }
+
+    /** Wait until all entries are written. */
+    public void awaitWrites() {
+        ExecutorService w;
+        synchronized (this) {
+            w = writer;
+        }
+        if (w == null) {
+            return;
+        }
+        try {
+            w.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.error("Failed to wait for progress journal", e);
+        }
+    }
+
+    private ExecutorService getWriter() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "progress-journal-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return writer;
+    }
+
+    /* Entries based on a failed one would not apply, they are dropped as well */
+    private void failed(int entrySequence, Path tempFile) {
+        failedSequence.accumulateAndGet(entrySequence, Math::max);
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            LOG.warn("Failed to delete " + tempFile, e);
+        }
+    }
+
+    private static List<Path> listEntries(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> ENTRY_PATTERN.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingInt(ProgressJournal::getSequence))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /* Index of the last entry recorded for the task, or -1 */
+    private static int findEntry(List<Path> entries, String taskName) {
+        int last = -1;
+        for (int i = 0; i < entries.size(); i++) {
+            if (taskName.equals(getTaskName(entries.get(i)))) {
+                last = i;
+            }
+        }
+        return last;
+    }
+
+    private void deleteEntries() {
+        try {
+            for (Path file : listEntries(directory)) {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            LOG.error("Exception when cleaning progress journal " + directory, e);
+        }
+    }
+
+    private static int getSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(0, name.indexOf('.')));
+    }
+
+    private static String getTaskName(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(name.indexOf('.') + 1, name.length() - ENTRY_SUFFIX.length());
+    }
+
+    /* Keeps an encoded entry in memory for the background writer, or streams it to a temporary
+     * file once it grows beyond the limit. The entry replaces its file only when complete. */
+    private class EntryOutput extends OutputStream {
+
+        private final Path file;
+        private final Path tempFile;
+        private final int entrySequence;
+        private final int entryBase;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream stream;
+
+        EntryOutput(Path file, int entrySequence, int entryBase) {
+            this.file = file;
+            this.tempFile = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+            this.entrySequence = entrySequence;
+            this.entryBase = entryBase;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target(1).write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target(len).write(b, off, len);
+        }
+
+        private OutputStream target(int length) throws IOException {
+            if (stream == null && buffer.size() + length > maxBufferedBytes) {
+                // Entries still held by the writer go to disk first
+                awaitWrites();
+                Files.createDirectories(directory);
+                stream = new BufferedOutputStream(Files.newOutputStream(tempFile));
+                buffer.writeTo(stream);
+                buffer = null;
+            }
+            return stream != null ? stream : buffer;
+        }
+
+        void commit() {
+            if (stream == null) {
+                ByteArrayOutputStream content = buffer;
+                getWriter().execute(() -> store(content));
+            } else {
+                store(null);
+            }
+        }
+
+        void discard() {
+            closeStream();
+            failed(entrySequence, tempFile);
+        }
+
+        /* Runs on the writer thread for buffered entries, all earlier entries are processed by then */
+        private void store(ByteArrayOutputStream content) {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+                if (failedSequence.get() >= entryBase) {
+                    // Based on an entry that was not written
+                    Files.deleteIfExists(tempFile);
+                    return;
+                }
+                if (content != null) {
+                    Files.createDirectories(directory);
+                    try (OutputStream out = Files.newOutputStream(tempFile)) {
+                        content.writeTo(out);
+                    }
+                }
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Exception when saving progress journal entry " + file, e);
+                closeStream();
+                failed(entrySequence, tempFile);
+            }
+        }
+
+        private void closeStream() {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    LOG.warn("Failed to close " + tempFile, e);
+                }
+            }
+        }
+
+    }
+
+    //------------------------------------------------------
+    // Capture
+
+    private void encode(OutputStream out, String taskName, boolean reset) throws IOException {
+        ObjectMapper mapper = DatabindCodec.mapper();
+        // One value is written per vertex, flushing after each of them would defeat buffering
+        ObjectWriter values = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            gen.writeStringField(F_TASK, taskName);
+            gen.writeBooleanField(F_RESET, reset);
+            encodeVertices(gen, values);
+            encodeEdges(gen, values);
+            encodeReport(gen, values);
+            gen.writeEndObject();
+        }
+    }
+
+    private void encodeVertices(JsonGenerator gen, ObjectWriter values) throws IOException {
+        Map<String, Long> current = new HashMap<>(vertexHashes.size() * 2);
+        gen.writeArrayFieldStart(F_VERTICES);
+        for (JsonObject vertex : graph.vertexList()) {
+            if (V_ROOT.equals(vertex.getString(F_ID))) {
+                continue;   // Not dumped
+            }
+            long hash = JsonHash.hash(vertex);
+            String key = vertexKey(vertex, hash);
+            current.put(key, hash);
+            Long previous = vertexHashes.get(key);
+            if (previous == null || previous != hash) {
+                values.writeValue(gen, vertex);
+            }
+        }
+        gen.writeEndArray();
+        writeRemovedKeys(gen, F_REMOVED_VERTICES, vertexHashes, current);
+        vertexHashes = current;
+    }
+
+    private void encodeEdges(JsonGenerator gen, ObjectWriter values) throws IOException {
+        Map<String, Long> current = new HashMap<>(edgeHashes.size() * 2);
+        gen.writeArrayFieldStart(F_EDGES);
+        for (Map<String, JsonObject> e : GraphDumpWriter.selectEdges(graph)) {
+            String source = e.get("S").getString(F_ID);
+            String target = e.get("T").getString(F_ID);
+            JsonObject edge = e.get("E");
+            long hash = edgeHash(source, target, edge);
+            String key = edgeKey(edge, hash, current);
+            current.put(key, hash);
+            Long previous = edgeHashes.get(key);
+            if (previous == null || previous != hash) {
+                gen.writeStartObject();
+                gen.writeStringField(F_KEY, key);
+                gen.writeStringField(F_SOURCE, source);
+                gen.writeStringField(F_TARGET, target);
+                gen.writeFieldName(F_EDGE);
+                values.writeValue(gen, edge);
+                gen.writeEndObject();
+            }
+        }
+        gen.writeEndArray();
+        writeRemovedKeys(gen, F_REMOVED_EDGES, edgeHashes, current);
+        edgeHashes = current;
+    }
+
+    /* The report is mostly appended to. Saved from the first changed record. */
+    private void encodeReport(JsonGenerator gen, ObjectWriter values) throws IOException {
+        JsonArray records = graph.getReport().dumpRecords(false);
+        long[] current = new long[records.size()];
+        int from = -1;
+        for (int i = 0; i < current.length; i++) {
+            current[i] = JsonHash.hash(records.getValue(i));
+            if (from < 0 && (i >= reportHashes.length || reportHashes[i] != current[i])) {
+                from = i;
+            }
+        }
+        if (from < 0) {
+            from = current.length;
+        }
+        boolean changed = from < current.length || current.length != reportHashes.length;
+        reportHashes = current;
+        if (!changed) {
+            return;
+        }
+        gen.writeObjectFieldStart(F_REPORT);
+        gen.writeNumberField(F_FROM, from);
+        gen.writeArrayFieldStart(F_ITEMS);
+        for (int i = from; i < records.size(); i++) {
+            values.writeValue(gen, records.getValue(i));
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private static void writeRemovedKeys(JsonGenerator gen, String fieldName,
+                                         Map<String, Long> previous, Map<String, Long> current) throws IOException {
+        gen.writeArrayFieldStart(fieldName);
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                gen.writeString(key);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private static String vertexKey(JsonObject vertex, long hash) {
+        Object id = vertex.getValue(F_ID);
+        return id != null ? id.toString() : "#" + Long.toHexString(hash);
+    }
+
+    private static long edgeHash(String source, String target, JsonObject edge) {
+        return JsonHash.hash(Arrays.asList(source, target, edge));
+    }
+
+    /* Edges are keyed by their ids. Edges without ids are keyed by content, so a changed one
+     * is recorded as removed and added. */
+    private static String edgeKey(JsonObject edge, long hash, Map<String, Long> taken) {
+        Object id = edge.getValue(F_ID);
+        if (id != null) {
+            return id.toString();
+        }
+        String base = "#" + Long.toHexString(hash);
+        String key = base;
+        // Identical edges between the same vertices
+        for (int n = 1; taken.containsKey(key); n++) {
+            key = base + "#" + n;
+        }
+        return key;
+    }
+
+    //------------------------------------------------------
+    // Restore
+
+    /* Entries are applied from the last reset one. Any other entry must directly follow
+     * the previous one, or the data would silently miss the changes of the lost entry. */
+    private static RestoredData replay(Path directory, List<Path> entries, int last) throws IOException {
+        RestoredData data = new RestoredData();
+        int previous = -1;
+        int missing = -1;
+        for (int i = 0; i <= last; i++) {
+            int entrySequence = getSequence(entries.get(i));
+            JsonObject entry = JsonUtils.readJsonFile(entries.get(i).toString());
+            if (entry.getBoolean(F_RESET, false)) {
+                data.baseSequence = entrySequence;
+                missing = -1;
+            } else if (missing < 0 && (previous < 0 || entrySequence != previous + 1)) {
+                missing = previous + 1;
+            }
+            if (missing < 0) {
+                data.apply(entry);
+            }
+            previous = entrySequence;
+        }
+        if (missing >= 0) {
+            throw new IOException(String.format("Progress journal entry %05d is missing in %s,"
+                    + " data saved before '%s' cannot be restored", missing, directory, getTaskName(entries.get(last))));
+        }
+        return data;
+    }
+
+    private static class RestoredData {
+
+        private final Map<String, JsonObject> vertices = new LinkedHashMap<>();
+        private final Map<String, JsonObject> edges = new LinkedHashMap<>();
+        private final JsonArray report = new JsonArray();
+        // Sequence number of the last applied reset entry
+        private int baseSequence = -1;
+
+        void apply(JsonObject entry) {
+            if (entry.getBoolean(F_RESET, false)) {
+                vertices.clear();
+                edges.clear();
+                report.clear();
+            }
+            for (Object key : entry.getJsonArray(F_REMOVED_VERTICES)) {
+                vertices.remove((String) key);
+            }
+            for (Object v : entry.getJsonArray(F_VERTICES)) {
+                JsonObject vertex = (JsonObject) v;
+                vertices.put(vertexKey(vertex, JsonHash.hash(vertex)), vertex);
+            }
+            for (Object key : entry.getJsonArray(F_REMOVED_EDGES)) {
+                edges.remove((String) key);
+            }
+            for (Object e : entry.getJsonArray(F_EDGES)) {
+                JsonObject edge = (JsonObject) e;
+                edges.put((String) edge.remove(F_KEY), edge);
+            }
+            JsonObject reportDelta = entry.getJsonObject(F_REPORT);
+            if (reportDelta != null) {
+                int from = reportDelta.getInteger(F_FROM);
+                while (report.size() > from) {
+                    report.remove(report.size() - 1);
+                }
+                report.addAll(reportDelta.getJsonArray(F_ITEMS));
+            }
+        }
+
+        JsonObject toDump() {
+            return new JsonObject()
+                    .put(F_GRAPH, new JsonObject()
+                            .put(F_VERTEX_LIST, new JsonArray(new ArrayList<>(vertices.values())))
+                            .put(F_EDGE_LIST, new JsonArray(new ArrayList<>(edges.values()))))
+                    .put(GraphDumpWriter.F_REPORT, report);
+        }
+
+    }
+
+}
@@ -0,0 +1,598 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.snapshot;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import org.qubership.itool.modules.graph.Graph;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.V_ROOT;
+import static org.qubership.itool.modules.snapshot.GraphDumpWriter.*;
+
+/**
+ * Compact binary encoding of flow data dumps, see {@link Snapshots}.
+ *
+ * <p>A snapshot is a tagged tree of JSON values. Strings are written once and then referred
+ * by their index in a string table, which is built by both sides while streaming. That covers
+ * keys, types, groupIds, versions and other repeated values. Arrays of objects near the root,
+ * like vertex, edge and report lists, are written as length-prefixed records.
+ * Numbers are written as zigzag varints or IEEE doubles.
+ *
+ * <p>Both directions stream: a graph is written straight from its vertices and edges, and
+ * a snapshot can be converted to JSON value by value. Only the string table is kept in memory.
+ */
+public final class BinarySnapshot {
+
+    static final int MAGIC = 0x49544753; // "ITGS"
+    static final int VERSION = 1;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_FALSE = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_INTEGER = 3;
+    private static final int TAG_DOUBLE = 4;
+    private static final int TAG_STRING_REF = 5;
+    private static final int TAG_STRING_NEW = 6;
+    private static final int TAG_STRING_RAW = 7;
+    private static final int TAG_OBJECT = 8;
+    private static final int TAG_ARRAY = 9;
+    private static final int TAG_RECORDS = 10;
+    private static final int TAG_BIG_DECIMAL = 11;
+    private static final int TAG_BIG_INTEGER = 12;
+    private static final int TAG_JSON = 13;
+
+    // Longer strings are rarely repeated, they are not put into the string table
+    private static final int MAX_INTERNED_LENGTH = 128;
+    // Arrays of objects at this depth or above are written as records
+    private static final int MAX_RECORDS_DEPTH = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinarySnapshot() {
+    }
+
+    public static void write(OutputStream out, JsonObject dump) throws IOException {
+        Output output = new Output(out);
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        new Writer(output).writeValue(dump, 0);
+        output.flush();
+    }
+
+    /**
+     * Write flow data of the graph, the same as {@link #write(OutputStream, JsonObject)} would
+     * write its dump, without building the dump.
+     */
+    public static void write(OutputStream out, Graph graph) throws IOException {
+        Output output = new Output(out);
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        new Writer(output).writeGraph(graph);
+        output.flush();
+    }
+
+    public static JsonObject read(InputStream in) throws IOException {
+        Object value = new Reader(openInput(in)).readValue();
+        if (!(value instanceof JsonObject)) {
+            throw new IOException("Graph snapshot does not contain an object");
+        }
+        return (JsonObject) value;
+    }
+
+    /**
+     * Convert a snapshot to compact JSON, the same as {@link JsonObject#encode()} of
+     * the snapshot read. Values are converted as they are read.
+     */
+    public static void writeAsJson(InputStream in, OutputStream out) throws IOException {
+        Reader reader = new Reader(openInput(in));
+        ObjectMapper mapper = DatabindCodec.mapper();
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            reader.copyValue(gen, mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        }
+    }
+
+    private static Input openInput(InputStream in) throws IOException {
+        Input input = new Input(in);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a graph snapshot");
+        }
+        int version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported graph snapshot version: " + version);
+        }
+        return input;
+    }
+
+    //------------------------------------------------------
+    // Writing
+
+    private static class Writer {
+
+        private final Map<String, Integer> strings = new HashMap<>();
+        private Output out;
+
+        Writer(Output out) {
+            this.out = out;
+        }
+
+        @SuppressWarnings("unchecked")
+        void writeValue(Object value, int depth) throws IOException {
+            if (value instanceof Map) {
+                value = new JsonObject((Map<String, Object>) value);
+            } else if (value instanceof List) {
+                value = new JsonArray((List<Object>) value);
+            }
+
+            if (value == null) {
+                out.writeByte(TAG_NULL);
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte) {
+                out.writeByte(TAG_INTEGER);
+                long l = ((Number) value).longValue();
+                out.writeVarLong((l << 1) ^ (l >> 63));
+            } else if (value instanceof Double || value instanceof Float) {
+                out.writeByte(TAG_DOUBLE);
+                out.writeLong(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+            } else if (value instanceof String) {
+                writeString((String) value, false);
+            } else if (value instanceof JsonObject) {
+                JsonObject object = (JsonObject) value;
+                out.writeByte(TAG_OBJECT);
+                out.writeVarLong(object.size());
+                for (Map.Entry<String, Object> field : object) {
+                    writeString(field.getKey(), true);
+                    writeValue(field.getValue(), depth + 1);
+                }
+            } else if (value instanceof JsonArray) {
+                writeArray((JsonArray) value, depth);
+            } else if (value instanceof BigDecimal) {
+                out.writeByte(TAG_BIG_DECIMAL);
+                out.writeUtf(value.toString());
+            } else if (value instanceof BigInteger) {
+                out.writeByte(TAG_BIG_INTEGER);
+                out.writeUtf(value.toString());
+            } else {
+                // Instants, binaries, enums: keep their JSON representation
+                out.writeByte(TAG_JSON);
+                out.writeUtf(new JsonArray().add(value).encode());
+            }
+        }
+
+        /* Structure of GraphDumpSupport.dumpToJson(graph, false), elements taken from the graph */
+        void writeGraph(Graph graph) throws IOException {
+            out.writeByte(TAG_OBJECT);
+            out.writeVarLong(2);
+            writeString(F_GRAPH, true);
+            out.writeByte(TAG_OBJECT);
+            out.writeVarLong(2);
+
+            writeString(F_VERTEX_LIST, true);
+            List<JsonObject> vertices = graph.vertexList();
+            Iterable<JsonObject> dumped = () -> vertices.stream()
+                    .filter(v -> !V_ROOT.equals(v.getString(F_ID)))
+                    .iterator();
+            int vertexCount = (int) vertices.stream().filter(v -> !V_ROOT.equals(v.getString(F_ID))).count();
+            writeElements(vertexCount, vertexCount > 0, dumped, 2);
+
+            writeString(F_EDGE_LIST, true);
+            List<Map<String, JsonObject>> edges = GraphDumpWriter.selectEdges(graph);
+            Iterable<JsonObject> edgeRecords = () -> edges.stream()
+                    .map(e -> new JsonObject()
+                            .put(F_SOURCE, e.get("S").getString(F_ID))
+                            .put(F_TARGET, e.get("T").getString(F_ID))
+                            .put(F_EDGE, e.get("E")))
+                    .iterator();
+            writeElements(edges.size(), !edges.isEmpty(), edgeRecords, 2);
+
+            writeString(F_REPORT, true);
+            writeValue(graph.getReport().dumpRecords(false), 1);
+        }
+
+        private void writeArray(JsonArray array, int depth) throws IOException {
+            boolean records = depth <= MAX_RECORDS_DEPTH && !array.isEmpty()
+                    && array.stream().allMatch(e -> e instanceof JsonObject || e instanceof Map);
+            writeElements(array.size(), records, array, depth);
+        }
+
+        private void writeElements(int size, boolean records, Iterable<?> elements, int depth) throws IOException {
+            out.writeByte(records ? TAG_RECORDS : TAG_ARRAY);
+            out.writeVarLong(size);
+            if (!records) {
+                for (Object element : elements) {
+                    writeValue(element, depth + 1);
+                }
+                return;
+            }
+            Output target = out;
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            out = new Output(buffer);
+            try {
+                for (Object element : elements) {
+                    buffer.reset();
+                    writeValue(element, depth + 1);
+                    out.flush();
+                    target.writeVarLong(buffer.size());
+                    target.write(buffer);
+                }
+            } finally {
+                out = target;
+            }
+        }
+
+        private void writeString(String s, boolean key) throws IOException {
+            Integer index = strings.get(s);
+            if (index != null) {
+                out.writeByte(TAG_STRING_REF);
+                out.writeVarLong(index);
+            } else if (key || s.length() <= MAX_INTERNED_LENGTH) {
+                strings.put(s, strings.size());
+                out.writeByte(TAG_STRING_NEW);
+                out.writeUtf(s);
+            } else {
+                out.writeByte(TAG_STRING_RAW);
+                out.writeUtf(s);
+            }
+        }
+
+    }
+
+    /* Unsynchronized buffered output */
+    private static class Output {
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int pos;
+
+        Output(OutputStream out) {
+            this.out = out;
+        }
+
+        void writeByte(int b) throws IOException {
+            if (pos == buffer.length) {
+                flushBuffer();
+            }
+            buffer[pos++] = (byte) b;
+        }
+
+        void writeInt(int value) throws IOException {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                writeByte(value >>> shift);
+            }
+        }
+
+        void writeLong(long value) throws IOException {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (value >>> shift));
+            }
+        }
+
+        void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        void writeUtf(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void write(ByteArrayOutputStream bytes) throws IOException {
+            flushBuffer();
+            bytes.writeTo(out);
+        }
+
+        void write(byte[] bytes, int off, int len) throws IOException {
+            if (len > buffer.length - pos) {
+                flushBuffer();
+                if (len > buffer.length) {
+                    out.write(bytes, off, len);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, off, buffer, pos, len);
+            pos += len;
+        }
+
+        private void flushBuffer() throws IOException {
+            out.write(buffer, 0, pos);
+            pos = 0;
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            out.flush();
+        }
+
+    }
+
+    //------------------------------------------------------
+    // Reading
+
+    private static class Reader {
+
+        private final Input in;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(Input in) {
+            this.in = in;
+        }
+
+        Object readValue() throws IOException {
+            int tag = in.readByte();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_FALSE:
+                    return Boolean.FALSE;
+                case TAG_TRUE:
+                    return Boolean.TRUE;
+                case TAG_INTEGER:
+                    long zigzag = in.readVarLong();
+                    long l = (zigzag >>> 1) ^ -(zigzag & 1);
+                    // As parsed from JSON
+                    return l == (int) l ? (Object) (int) l : (Object) l;
+                case TAG_DOUBLE:
+                    return Double.longBitsToDouble(in.readLong());
+                case TAG_STRING_REF:
+                case TAG_STRING_NEW:
+                case TAG_STRING_RAW:
+                    return readString(tag);
+                case TAG_OBJECT:
+                    int size = in.readSize();
+                    JsonObject object = new JsonObject(new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1)));
+                    for (int i = 0; i < size; i++) {
+                        String key = readString(in.readByte());
+                        object.put(key, readValue());
+                    }
+                    return object;
+                case TAG_ARRAY:
+                    size = in.readSize();
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+                    return new JsonArray(list);
+                case TAG_RECORDS:
+                    size = in.readSize();
+                    List<Object> records = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        long length = in.readVarLong();
+                        long start = in.position();
+                        records.add(readValue());
+                        if (in.position() - start != length) {
+                            throw new IOException("Corrupted graph snapshot: record of " + length
+                                    + " bytes, read " + (in.position() - start));
+                        }
+                    }
+                    return new JsonArray(records);
+                case TAG_BIG_DECIMAL:
+                    return new BigDecimal(in.readUtf());
+                case TAG_BIG_INTEGER:
+                    return new BigInteger(in.readUtf());
+                case TAG_JSON:
+                    return new JsonArray(in.readUtf()).getValue(0);
+                default:
+                    throw new IOException("Corrupted graph snapshot: unknown tag " + tag);
+            }
+        }
+
+        /* The same as writing readValue() with the Vert.x mapper */
+        void copyValue(JsonGenerator gen, ObjectWriter values) throws IOException {
+            int tag = in.readByte();
+            switch (tag) {
+                case TAG_NULL:
+                    gen.writeNull();
+                    break;
+                case TAG_FALSE:
+                    gen.writeBoolean(false);
+                    break;
+                case TAG_TRUE:
+                    gen.writeBoolean(true);
+                    break;
+                case TAG_INTEGER:
+                    long zigzag = in.readVarLong();
+                    gen.writeNumber((zigzag >>> 1) ^ -(zigzag & 1));
+                    break;
+                case TAG_DOUBLE:
+                    gen.writeNumber(Double.longBitsToDouble(in.readLong()));
+                    break;
+                case TAG_STRING_REF:
+                case TAG_STRING_NEW:
+                case TAG_STRING_RAW:
+                    gen.writeString(readString(tag));
+                    break;
+                case TAG_OBJECT:
+                    int size = in.readSize();
+                    gen.writeStartObject();
+                    for (int i = 0; i < size; i++) {
+                        gen.writeFieldName(readString(in.readByte()));
+                        copyValue(gen, values);
+                    }
+                    gen.writeEndObject();
+                    break;
+                case TAG_ARRAY:
+                    size = in.readSize();
+                    gen.writeStartArray();
+                    for (int i = 0; i < size; i++) {
+                        copyValue(gen, values);
+                    }
+                    gen.writeEndArray();
+                    break;
+                case TAG_RECORDS:
+                    size = in.readSize();
+                    gen.writeStartArray();
+                    for (int i = 0; i < size; i++) {
+                        long length = in.readVarLong();
+                        long start = in.position();
+                        copyValue(gen, values);
+                        if (in.position() - start != length) {
+                            throw new IOException("Corrupted graph snapshot: record of " + length
+                                    + " bytes, read " + (in.position() - start));
+                        }
+                    }
+                    gen.writeEndArray();
+                    break;
+                case TAG_BIG_DECIMAL:
+                    gen.writeNumber(new BigDecimal(in.readUtf()));
+                    break;
+                case TAG_BIG_INTEGER:
+                    gen.writeNumber(new BigInteger(in.readUtf()));
+                    break;
+                case TAG_JSON:
+                    values.writeValue(gen, new JsonArray(in.readUtf()).getValue(0));
+                    break;
+                default:
+                    throw new IOException("Corrupted graph snapshot: unknown tag " + tag);
+            }
+        }
+
+        private String readString(int tag) throws IOException {
+            switch (tag) {
+                case TAG_STRING_REF:
+                    long index = in.readVarLong();
+                    if (index >= strings.size()) {
+                        throw new IOException("Corrupted graph snapshot: unknown string " + index);
+                    }
+                    return strings.get((int) index);
+                case TAG_STRING_NEW:
+                    String s = in.readUtf();
+                    strings.add(s);
+                    return s;
+                case TAG_STRING_RAW:
+                    return in.readUtf();
+                default:
+                    throw new IOException("Corrupted graph snapshot: string expected, found tag " + tag);
+            }
+        }
+
+    }
+
+    /* Unsynchronized buffered input that tracks its position */
+    private static class Input {
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int pos;
+        private int limit;
+        private long consumed;
+
+        Input(InputStream in) {
+            this.in = in;
+        }
+
+        long position() {
+            return consumed + pos;
+        }
+
+        int readByte() throws IOException {
+            if (pos == limit && !fill()) {
+                throw new EOFException("Unexpected end of graph snapshot");
+            }
+            return buffer[pos++] & 0xFF;
+        }
+
+        int readInt() throws IOException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        long readLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Corrupted graph snapshot: malformed varint");
+        }
+
+        int readSize() throws IOException {
+            long size = readVarLong();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Corrupted graph snapshot: size " + size);
+            }
+            return (int) size;
+        }
+
+        String readUtf() throws IOException {
+            int length = readSize();
+            if (length <= limit - pos) {
+                String s = new String(buffer, pos, length, StandardCharsets.UTF_8);
+                pos += length;
+                return s;
+            }
+            byte[] bytes = new byte[length];
+            int off = 0;
+            while (off < length) {
+                if (pos == limit && !fill()) {
+                    throw new EOFException("Unexpected end of graph snapshot");
+                }
+                int n = Math.min(length - off, limit - pos);
+                System.arraycopy(buffer, pos, bytes, off, n);
+                pos += n;
+                off += n;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private boolean fill() throws IOException {
+            consumed += limit;
+            pos = 0;
+            limit = 0;
+            int n = in.read(buffer);
+            if (n <= 0) {
+                return false;
+            }
+            limit = n;
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.snapshot;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import org.qubership.itool.modules.graph.Graph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.V_ROOT;
+
+/**
+ * Writes flow data as JSON straight from the graph, without building a dump first.
+ *
+ * <p>The output is the same as of {@link Snapshots#writeJson(OutputStream, JsonObject, boolean)}
+ * applied to {@code GraphDumpSupport.dumpToJson(graph, false)}: vertices and edges are visited
+ * in the order the dump lists them, and each of them is serialized by the Vert.x mapper.
+ */
+public final class GraphDumpWriter {
+
+    public static final String F_GRAPH = "graph";
+    public static final String F_REPORT = "report";
+    public static final String F_VERTEX_LIST = "vertexList";
+    public static final String F_EDGE_LIST = "edgeList";
+    public static final String F_SOURCE = "source";
+    public static final String F_TARGET = "target";
+    public static final String F_EDGE = "edge";
+
+    private GraphDumpWriter() {
+    }
+
+    /**
+     * @param pretty Whether JSON is indented
+     */
+    public static void write(OutputStream out, Graph graph, boolean pretty) throws IOException {
+        ObjectMapper mapper = DatabindCodec.mapper();
+        // One value is written per vertex, flushing after each of them would defeat buffering
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (pretty) {
+                gen.setPrettyPrinter(new DefaultPrettyPrinter());
+            }
+            gen.writeStartObject();
+
+            gen.writeFieldName(F_GRAPH);
+            gen.writeStartObject();
+            gen.writeFieldName(F_VERTEX_LIST);
+            gen.writeStartArray();
+            for (JsonObject vertex : graph.vertexList()) {
+                if (!V_ROOT.equals(vertex.getString(F_ID))) {
+                    writer.writeValue(gen, vertex);
+                }
+            }
+            gen.writeEndArray();
+            gen.writeFieldName(F_EDGE_LIST);
+            gen.writeStartArray();
+            for (Map<String, JsonObject> e : selectEdges(graph)) {
+                gen.writeStartObject();
+                gen.writeStringField(F_SOURCE, e.get("S").getString(F_ID));
+                gen.writeStringField(F_TARGET, e.get("T").getString(F_ID));
+                gen.writeFieldName(F_EDGE);
+                writer.writeValue(gen, e.get("E"));
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+
+            gen.writeFieldName(F_REPORT);
+            gen.writeStartArray();
+            for (Object record : graph.getReport().dumpRecords(false)) {
+                writer.writeValue(gen, record);
+            }
+            gen.writeEndArray();
+
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Select all edges of the graph in the order of a dump: edges from the root first,
+     * then edges of other vertices in the order of {@link Graph#vertexList()}.
+     *
+     * @return Maps of source vertex {@code "S"}, edge {@code "E"} and target vertex {@code "T"}
+     */
+    public static List<Map<String, JsonObject>> selectEdges(Graph graph) {
+        List<Map<String, JsonObject>> edges = new ArrayList<>(graph.traversal().V(V_ROOT).as("S")
+                .outE().as("E")
+                .inV().as("T")
+                .<JsonObject>select("S", "E", "T").toList());
+        for (Map<String, JsonObject> e : graph.traversal().V().as("S")
+                .outE().as("E")
+                .inV().as("T")
+                .<JsonObject>select("S", "E", "T").toList()) {
+            // The root may or may not be listed among vertices
+            if (!V_ROOT.equals(e.get("S").getString(F_ID))) {
+                edges.add(e);
+            }
+        }
+        return edges;
+    }
+
+}
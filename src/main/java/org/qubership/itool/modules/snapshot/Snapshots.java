@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.snapshot;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import org.qubership.itool.modules.graph.Graph;
+import org.qubership.itool.utils.JsonUtils;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads and writes flow data dumps. The format is selected by file extension:
+ * {@value #BINARY_EXTENSION} for {@link BinarySnapshot binary snapshots}, JSON otherwise.
+ *
+ * <p>Both formats are written by streaming the dump to the file, its serialized form
+ * is never held in memory. Dumps of a graph are written by walking the graph itself.
+ * JSON output is byte-to-byte the same as of {@link JsonObject#encode()}
+ * and {@link JsonObject#encodePrettily()}.
+ */
+public final class Snapshots {
+
+    public static final String JSON_EXTENSION = ".json";
+    public static final String BINARY_EXTENSION = ".snapshot";
+
+    private Snapshots() {
+    }
+
+    public static boolean isBinary(Path file) {
+        return file.getFileName().toString().endsWith(BINARY_EXTENSION);
+    }
+
+    public static JsonObject read(Path file) throws IOException {
+        if (!isBinary(file)) {
+            return JsonUtils.readJsonFile(file.toString());
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return BinarySnapshot.read(in);
+        }
+    }
+
+    /**
+     * @param pretty Whether JSON is indented, ignored for binary snapshots
+     */
+    public static void write(Path file, JsonObject dump, boolean pretty) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            if (isBinary(file)) {
+                BinarySnapshot.write(out, dump);
+            } else {
+                writeJson(out, dump, pretty);
+            }
+        }
+    }
+
+    /**
+     * Write flow data of the graph. JSON is streamed from the graph by {@link GraphDumpWriter},
+     * binary snapshots by {@link BinarySnapshot#write(OutputStream, Graph)}.
+     *
+     * @param pretty Whether JSON is indented, ignored for binary snapshots
+     */
+    public static void write(Path file, Graph graph, boolean pretty) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            if (isBinary(file)) {
+                BinarySnapshot.write(out, graph);
+            } else {
+                GraphDumpWriter.write(out, graph, pretty);
+            }
+        }
+    }
+
+    /**
+     * Copy a dump of either format to the stream as JSON, without reading it into memory.
+     * Binary snapshots are converted to compact JSON.
+     */
+    public static void copyAsJson(Path file, OutputStream out) throws IOException {
+        if (!isBinary(file)) {
+            Files.copy(file, out);
+            return;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            BinarySnapshot.writeAsJson(in, out);
+        }
+    }
+
+    /* The same mapper and pretty printer as used by Vert.x encoders */
+    public static void writeJson(OutputStream out, JsonObject json, boolean pretty) throws IOException {
+        ObjectMapper mapper = DatabindCodec.mapper();
+        ObjectWriter writer = pretty ? mapper.writerWithDefaultPrettyPrinter() : mapper.writer();
+        writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, json);
+    }
+
+    /**
+     * Find a dump saved in any format.
+     *
+     * @param folder Folder of the dump
+     * @param baseName File name without extension
+     * @return The most recently modified dump, or the JSON one if there is none
+     */
+    public static Path find(Path folder, String baseName) {
+        Path json = folder.resolve(baseName + JSON_EXTENSION);
+        Path binary = folder.resolve(baseName + BINARY_EXTENSION);
+        if (!Files.isRegularFile(binary)) {
+            return json;
+        }
+        if (!Files.isRegularFile(json)) {
+            return binary;
+        }
+        return json.toFile().lastModified() > binary.toFile().lastModified() ? json : binary;
+    }
+
+}
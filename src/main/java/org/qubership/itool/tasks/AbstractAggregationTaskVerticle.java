@@ -21,6 +21,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 import org.qubership.itool.modules.graph.Graph;
+import org.qubership.itool.modules.profiling.FlowTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,7 +47,10 @@ public abstract class AbstractAggregationTaskVerticle extends FlowTask {
             futures.addAll(domainProcessor.apply(domain));
             List<JsonObject> components = componentExtractor.apply(graph, domain);
             for (JsonObject component : components) {
-                futures.addAll(componentProcessor.apply(component));
+                long startTime = tracer.now();
+                List<Future> componentFutures = componentProcessor.apply(component);
+                tracer.traceFutures(FlowTracer.CATEGORY_COMPONENT, component.getString(Graph.F_ID), startTime, componentFutures);
+                futures.addAll(componentFutures);
             }
         }
         return futures;
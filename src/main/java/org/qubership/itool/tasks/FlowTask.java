@@ -23,9 +23,17 @@ import io.vertx.core.json.JsonObject;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.qubership.itool.modules.dependency.DependencyIndex;
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.modules.gremlin2.graph.GraphTraversal;
 import org.qubership.itool.modules.gremlin2.graph.GraphTraversalSource;
+import org.qubership.itool.modules.profiling.FlowProfiler;
+import org.qubership.itool.modules.profiling.FlowTracer;
+import org.qubership.itool.modules.profiling.TaskEvent;
+import org.qubership.itool.modules.profiling.TaskProfile;
+import org.qubership.itool.modules.profiling.TraversalEvent;
+import org.qubership.itool.modules.progress.ProgressJournal;
+import org.qubership.itool.modules.snapshot.Snapshots;
 import org.qubership.itool.modules.report.GraphReport;
 import org.qubership.itool.utils.ConfigProperties;
 import org.slf4j.Logger;
@@ -36,6 +44,8 @@ import java.io.File;
 import java.time.Duration;
 import java.util.*;
 
+import static org.qubership.itool.cli.config.FlowConstants.P_PROGRESS_FILE_EXTENSION;
+
 public abstract class FlowTask {
 
     protected static final Logger LOG = LoggerFactory.getLogger(FlowTask.class);
@@ -53,14 +63,56 @@ public abstract class FlowTask {
     protected GraphReport report;
     @Resource
     protected Graph graph;
+    // Disabled unless injected, e.g. in tasks created outside of a flow context
+    @Resource
+    protected FlowProfiler profiler = FlowProfiler.DISABLED;
+    @Resource
+    protected FlowTracer tracer = FlowTracer.DISABLED;
+    @Resource
+    protected ProgressJournal progressJournal;
+    @Resource
+    protected DependencyIndex dependencyIndex;
 
     private Long executionStart;
+    private TaskProfile profile;
+    private long traceStart;
+    private TaskEvent taskEvent;
+    private boolean exclusive = true;
 
 
     protected String[] features() {
         return new String[0];
     }
 
+    /**
+     * Shared data this task reads, e.g. "sources", "files" or "details/language".
+     * Names are hierarchical: "details" overlaps with "details/language".
+     * <p>{@code null} means "unknown", and such a task never runs concurrently with any other one.
+     * Tasks declaring their resources must guard modifications of shared vertices
+     * (e.g. {@code synchronized (component)}), since they may be run in parallel.
+     *
+     * @see FlowTaskScheduler
+     */
+    public String[] reads() {
+        return null;
+    }
+
+    /**
+     * Shared data this task creates or modifies. See {@link #reads()}.
+     */
+    public String[] writes() {
+        return null;
+    }
+
+    /* Set by scheduler: whether no other task may run at the same time with this one */
+    void setExclusive(boolean exclusive) {
+        this.exclusive = exclusive;
+    }
+
+    protected boolean isExclusive() {
+        return exclusive;
+    }
+
     protected Logger getLogger() {
         return LOG;
     }
@@ -96,25 +148,31 @@ public abstract class FlowTask {
         String taskAddress = getTaskAddress();
         String[] features = features();
         String fiid = flowContext.getFlowInstanceId();
-        if (flowContext.isBreakRequested() && !Arrays.asList(features).contains("unskippable")) {
+        if (isSkippedOnBreak(flowContext.isBreakRequested(), features)) {
             getLogger().info("Task {} [fiid={}] is skipped", taskAddress, fiid);
             taskCompleted(taskPromise);
             return;
         }
 
-        Set<String> disabledFeatures = new HashSet<>(Arrays.asList(
-                config().getString("disabledFeatures", "").split("\\s*,\\s*")));
-        for (String feature : features) {
-            if (disabledFeatures.contains(feature)) {
-                getLogger().info("Task {} [fiid={}] ignored because feature {} is disabled",
-                        taskAddress, fiid, feature);
-                saveProgressIfRequired()
-                        .onComplete(r -> taskCompleted(taskPromise));
-                return;
-            }
+        String disabledFeature = findDisabledFeature(features);
+        if (disabledFeature != null) {
+            getLogger().info("Task {} [fiid={}] ignored because feature {} is disabled",
+                    taskAddress, fiid, disabledFeature);
+            saveProgressIfRequired()
+                    .onComplete(r -> taskCompleted(taskPromise));
+            return;
         }
 
+        if (dependencyIndex == null) {
+            // Not injected: serve requests with graph traversals
+            dependencyIndex = new DependencyIndex(false, graph);
+        }
+        dependencyIndex.checkGraph();
         executionStart = System.nanoTime();
+        profile = profiler.taskStarted(taskAddress);
+        traceStart = tracer.now();
+        taskEvent = new TaskEvent(taskAddress, !isExclusive());
+        taskEvent.begin();
         getLogger().info("Task started: {} [fiid={}]", taskAddress, fiid);
 
         saveProgressIfRequired()
@@ -134,18 +192,42 @@ public abstract class FlowTask {
         String taskAddress = getTaskAddress();
 
         if (executionStart != null) {
+            profiler.taskFinished(profile);
+            tracer.asyncSpan(FlowTracer.CATEGORY_TASK, taskAddress, traceStart, null);
+            taskEvent.commit();
             getLogger().info("Task {} [fiid={}] finished in {}.", taskAddress,
                     flowContext.getFlowInstanceId(), Duration.ofNanos(System.nanoTime() - executionStart));
         }
 
-        String lastStep = config().getString("lastStep");
-        if (lastStep != null && (TASK_ADDRESS_PREFIX + lastStep).equals(taskAddress)) {
+        if (isLastStep(config().getString("lastStep"))) {
             flowContext.setBreakRequested(true);
         }
 
         taskPromise.tryComplete();
     }
 
+    /* Whether a task with the given features is not run when a break of the flow is requested */
+    protected static boolean isSkippedOnBreak(boolean breakRequested, String[] features) {
+        return breakRequested && !Arrays.asList(features).contains("unskippable");
+    }
+
+    /* The first of the given features disabled in configuration, or null */
+    protected String findDisabledFeature(String[] features) {
+        Set<String> disabledFeatures = new HashSet<>(Arrays.asList(
+                config().getString("disabledFeatures", "").split("\\s*,\\s*")));
+        for (String feature : features) {
+            if (disabledFeatures.contains(feature)) {
+                return feature;
+            }
+        }
+        return null;
+    }
+
+    /* Whether the flow shall stop after this task, given "lastStep" from configuration */
+    protected boolean isLastStep(String lastStep) {
+        return lastStep != null && (TASK_ADDRESS_PREFIX + lastStep).equals(getTaskAddress());
+    }
+
     /**
      * Joins the futures as a composite future, handles exceptions within the futures.
      * @param futureList list of futures to be joined and handled
@@ -167,9 +249,19 @@ public abstract class FlowTask {
         String saveProgress = config().getString(ConfigProperties.SAVE_PROGRESS);
         if (saveProgressForThisTask(saveProgress)) {
             String taskName = getTaskAddress();
+            if (!exclusive) {
+                // The graph may be modified by concurrent tasks while dumping
+                getLogger().info("Progress is not saved before step '{}': it runs concurrently with other tasks", taskName);
+                return Future.succeededFuture();
+            }
             getLogger().info("Save progress before execute step '{}'", taskName);
             return vertx.<Void>executeBlocking(promise -> {
-                        flowContext.dumpDataToFile(new File(PROGRESS_PATH), taskName + ".json");
+                        if (progressJournal != null && progressJournal.isEnabled()) {
+                            // Only changes are encoded, a small entry is written in background
+                            progressJournal.checkpoint(taskName);
+                        } else {
+                            flowContext.dumpDataToFile(new File(PROGRESS_PATH), taskName + getProgressFileExtension());
+                        }
                         promise.complete();
                     })
                     .onFailure(e -> report.internalError("Failed to save the progress for task '"
@@ -179,6 +271,11 @@ public abstract class FlowTask {
         return Future.succeededFuture();
     }
 
+    /* Extension of full dumps in progress folder, it selects their format. See {@link Snapshots} */
+    protected String getProgressFileExtension() {
+        return config().getString(P_PROGRESS_FILE_EXTENSION, Snapshots.JSON_EXTENSION);
+    }
+
     /* @see FlowMainVerticle#getPossibleClassNames() */
     public String getTaskAddress() {
         String address = this.getClass().getSimpleName();
@@ -188,14 +285,17 @@ public abstract class FlowTask {
     }
 
     protected boolean saveProgressForThisTask(String saveProgress) {
+        return saveProgressForTask(saveProgress, getTaskAddress());
+    }
+
+    protected static boolean saveProgressForTask(String saveProgress, String taskAddress) {
         if (StringUtils.isBlank(saveProgress) || saveProgress.equals("false")) {
             return false;
         }
         if (saveProgress.equals("true")) {
             return true;
         }
-        String taskNameShort =  // Assume no one overrides getTaskAddress()
-                getTaskAddress().substring(TASK_ADDRESS_PREFIX.length());
+        String taskNameShort = taskAddress.substring(TASK_ADDRESS_PREFIX.length());
         return Arrays.asList(saveProgress.split("\\s*,\\s*")).contains(taskNameShort);
     }
 
@@ -208,7 +308,7 @@ public abstract class FlowTask {
     }
 
     public static GraphTraversal<JsonObject, JsonObject> V(Graph graph, List<String> vertexIds) {
-        return new GraphTraversalSource(graph).V(vertexIds.toArray(new String[vertexIds.size()]));
+        return V(graph, vertexIds.toArray(new String[vertexIds.size()]));
     }
 
     protected GraphTraversal<JsonObject, JsonObject> V(final List<String> vertexIds) {
@@ -216,6 +316,7 @@ public abstract class FlowTask {
     }
 
     public static GraphTraversal<JsonObject, JsonObject> V(Graph graph, String... vertexIds) {
+        TraversalEvent.emit("V", vertexIds);
         return new GraphTraversalSource(graph).V(vertexIds);
     }
 
@@ -224,7 +325,7 @@ public abstract class FlowTask {
     }
 
     public static GraphTraversal<JsonObject, JsonObject> E(Graph graph, List<String> edgeIds) {
-        return new GraphTraversalSource(graph).E(edgeIds.toArray(new String[edgeIds.size()]));
+        return E(graph, edgeIds.toArray(new String[edgeIds.size()]));
     }
 
     protected GraphTraversal<JsonObject, JsonObject> E(final List<String> edgeIds) {
@@ -232,6 +333,7 @@ public abstract class FlowTask {
     }
 
     public static GraphTraversal<JsonObject, JsonObject> E(Graph graph, String... edgeIds) {
+        TraversalEvent.emit("E", edgeIds);
         return new GraphTraversalSource(graph).E(edgeIds);
     }
 
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.tasks;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a sequence of flow tasks, starting every task as soon as all preceding tasks
+ * it conflicts with are completed.
+ *
+ * <p>Two tasks conflict when any of them did not declare its resources (see {@link FlowTask#reads()}),
+ * or when one of them writes a resource another one reads or writes. The order of conflicting
+ * tasks is the order of the flow sequence. When parallel execution is disabled, all tasks conflict,
+ * and the sequence is run strictly one by one.
+ */
+public class FlowTaskScheduler {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(FlowTaskScheduler.class);
+
+    private final List<FlowTask> tasks;
+    // Indexes of preceding tasks that must be completed before the given one starts
+    private final List<List<Integer>> predecessors;
+
+    public FlowTaskScheduler(List<FlowTask> tasks, boolean parallel) {
+        this.tasks = tasks;
+        this.predecessors = new ArrayList<>(tasks.size());
+
+        List<Set<String>> reads = new ArrayList<>(tasks.size());
+        List<Set<String>> writes = new ArrayList<>(tasks.size());
+        for (FlowTask task : tasks) {
+            reads.add(parallel ? toSet(task.reads()) : null);
+            writes.add(parallel ? toSet(task.writes()) : null);
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            List<Integer> preds = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                if (conflicts(reads.get(j), writes.get(j), reads.get(i), writes.get(i))) {
+                    preds.add(j);
+                }
+            }
+            predecessors.add(preds);
+        }
+
+        markExclusiveTasks();
+    }
+
+    public Future<?> run() {
+        List<Future<?>> taskFutures = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            FlowTask task = tasks.get(i);
+            @SuppressWarnings("rawtypes")
+            List<Future> preds = predecessors.get(i).stream()
+                    .map(taskFutures::get)
+                    .collect(Collectors.toList());
+            Future<?> taskFuture = CompositeFuture.all(preds).compose(r -> task.startInFlow());
+            taskFutures.add(taskFuture);
+        }
+        // Wait for all started tasks, even if some of them failed
+        return CompositeFuture.join(new ArrayList<>(taskFutures));
+    }
+
+    /* A task is exclusive when every other task is either its ancestor or its descendant */
+    private void markExclusiveTasks() {
+        int size = tasks.size();
+        List<BitSet> ancestors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BitSet taskAncestors = new BitSet(size);
+            for (int pred : predecessors.get(i)) {
+                taskAncestors.set(pred);
+                taskAncestors.or(ancestors.get(pred));
+            }
+            ancestors.add(taskAncestors);
+        }
+
+        for (int i = 0; i < size; i++) {
+            boolean exclusive = ancestors.get(i).cardinality() == i;
+            for (int j = i + 1; exclusive && j < size; j++) {
+                exclusive = ancestors.get(j).get(i);
+            }
+            FlowTask task = tasks.get(i);
+            task.setExclusive(exclusive);
+            if (!exclusive) {
+                LOG.info("Task {} may run concurrently, waits for: {}", task.getTaskAddress(),
+                        predecessors.get(i).stream()
+                                .map(pred -> tasks.get(pred).getTaskAddress())
+                                .collect(Collectors.toList()));
+            }
+        }
+    }
+
+    private static Set<String> toSet(String[] resources) {
+        return resources == null ? null : new HashSet<>(Arrays.asList(resources));
+    }
+
+    static boolean conflicts(Set<String> reads1, Set<String> writes1, Set<String> reads2, Set<String> writes2) {
+        if (reads1 == null || writes1 == null || reads2 == null || writes2 == null) {
+            return true;
+        }
+        return overlaps(writes1, reads2) || overlaps(writes1, writes2) || overlaps(writes2, reads1);
+    }
+
+    private static boolean overlaps(Set<String> resources1, Set<String> resources2) {
+        for (String r1 : resources1) {
+            for (String r2 : resources2) {
+                if (r1.equals(r2) || r1.startsWith(r2 + "/") || r2.startsWith(r1 + "/")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
@@ -32,7 +32,7 @@ public class SaveResultVerticle extends FlowTask {
 
     @Override
     protected void taskStart(Promise<?> taskPromise) {
-        flowContext.dumpDataToFile(new File(PROGRESS_PATH), "task.result.json");
+        flowContext.dumpDataToFile(new File(PROGRESS_PATH), "task.result" + getProgressFileExtension());
         taskCompleted(taskPromise);
     }
 
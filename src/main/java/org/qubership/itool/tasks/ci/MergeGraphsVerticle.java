@@ -19,17 +19,25 @@ package org.qubership.itool.tasks.ci;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 
+import org.apache.commons.io.FileUtils;
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.modules.graph.GraphDataConstants;
 import org.qubership.itool.modules.processor.GraphMerger;
 import org.qubership.itool.modules.processor.MergerApi;
+import org.qubership.itool.modules.snapshot.Snapshots;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.qubership.itool.cli.ci.CiConstants;
 import org.qubership.itool.tasks.FlowTask;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 public class MergeGraphsVerticle extends FlowTask {
@@ -49,11 +57,13 @@ public class MergeGraphsVerticle extends FlowTask {
                     .put(MergerApi.P_APP_NAME, config().getString(CiConstants.P_APP_NAME, GraphDataConstants.UNKNOWN))
                     .put(MergerApi.P_APP_VERSION, config().getString(CiConstants.P_APP_VERSION, GraphDataConstants.UNKNOWN));
 
+                Path inputDirectory = Path.of(config().getString(CiConstants.P_INPUT_DIRECTORY));
                 merger.prepareGraphForMerging(graph, targetDesc);
                 merger.walkAndMerge(
-                    Path.of(config().getString(CiConstants.P_INPUT_DIRECTORY)),
+                    inputDirectory,
                     this.graph,
                     targetDesc);
+                mergeSnapshots(merger, inputDirectory, targetDesc);
                 merger.finalizeGraphAfterMerging(graph, targetDesc);
 
             } catch (Exception e) {
@@ -67,6 +77,39 @@ public class MergeGraphsVerticle extends FlowTask {
         });
     }
 
+    /* GraphMerger walks JSON dumps only. Binary snapshots are converted to JSON one by one
+     * in a staging folder, so at most one of them is stored twice. */
+    private void mergeSnapshots(GraphMerger merger, Path inputDirectory, JsonObject targetDesc) throws IOException {
+        if (!Files.isDirectory(inputDirectory)) {
+            return;
+        }
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.walk(inputDirectory)) {
+            snapshots = files.filter(file -> Files.isRegularFile(file) && Snapshots.isBinary(file))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        Path staging = Files.createTempDirectory("merge-snapshots");
+        try {
+            for (Path snapshot : snapshots) {
+                String name = snapshot.getFileName().toString();
+                Path json = staging.resolve(
+                    name.substring(0, name.length() - Snapshots.BINARY_EXTENSION.length()) + Snapshots.JSON_EXTENSION);
+                try (OutputStream out = Files.newOutputStream(json)) {
+                    Snapshots.copyAsJson(snapshot, out);
+                }
+                getLogger().info("Merging binary snapshot {}", snapshot);
+                merger.walkAndMerge(staging, this.graph, targetDesc);
+                Files.delete(json);
+            }
+        } finally {
+            FileUtils.deleteQuietly(staging.toFile());
+        }
+    }
+
     @Override
     protected Logger getLogger() {
         return LOGGER;
@@ -67,7 +67,7 @@ public class SaveSingleResultVerticle extends FlowTask {
                 name = config.getString(P_RUN_NAME);
             }
 
-            dumpFile = "result." + name + ".json" /*+ ".gz"*/; // We may do it!
+            dumpFile = "result." + name + getProgressFileExtension();
 
             if (dumpDir == null) {  // Should not happen, must be already filled from defaults
                 dumpDir = config.getString(P_DEFAULT_OUTPUT_DIRECTORY);
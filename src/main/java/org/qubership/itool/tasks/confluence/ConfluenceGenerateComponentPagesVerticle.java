@@ -38,8 +38,10 @@ import javax.annotation.Resource;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.qubership.itool.modules.gremlin2.P.*;
 import static org.qubership.itool.modules.gremlin2.graph.__.*;
@@ -109,54 +111,46 @@ public class ConfluenceGenerateComponentPagesVerticle extends AbstractConfluence
                     V(componentId).out("module").order().by("id").toList();
             page.addDataModel("artifacts", artifacts);
 
-            // directDependencies ================================
-            GraphTraversal<JsonObject, JsonObject> directTraversal =
-                    V(componentId).out("module")
-                            .outE("dependency")
-                            .has("transitive", neq(true))   // Matches both null (for java) and false (for golang)
-                            .has("scope", neq("test"))
-                            .has("component", componentId)
-                            .inV().dedup();
-
-            List<JsonObject> directDependencies =
-                    directTraversal.clone().order().by("id").toList();
-            page.addDataModel("directDependencies", directDependencies);
-
-            // transitiveDependencies ============================
+            // directDependencies, transitiveDependencies ======
+            List<JsonObject> directDependencies;
             List<JsonObject> transitiveDependencies;
+            List<JsonObject> reachableDependencies;
             if (LanguageUtils.hasLanguage(graph, component, "GoLang")) {
                 // Golang
+                GraphTraversal<JsonObject, JsonObject> directTraversal =
+                        V(componentId).out("module")
+                                .outE("dependency")
+                                .has("transitive", neq(true))
+                                .has("scope", neq("test"))
+                                .has("component", componentId)
+                                .inV().dedup();
+                directDependencies = directTraversal.clone().order().by("id").toList();
                 transitiveDependencies = V(componentId).out("module")
                         .outE("dependency")
                         .has("transitive", eq(true))
                         .has("component", componentId)
                         .inV().dedup()
                         .order().by("id").toList();
-            } else {
-                // Java
-                transitiveDependencies = directTraversal.clone()
-                        .outE("dependency")
-                        .has("scope", neq("test"))
-                        .has("component", componentId)
-                        .inV().dedup()
+                reachableDependencies = directTraversal.clone()
                         .repeat(
                                 outE("dependency")
                                         .has("scope", neq("test"))
                                         .has("component", componentId)
-                                        .inV().dedup()
-                        ).emit().dedup()
-                        .order().by("id").toList();
+                                        .inV().dedup())
+                        .emit().dedup().toList();
+            } else {
+                // Java
+                directDependencies = sortedById(dependencyIndex.getDirectDependencies(componentId));
+                transitiveDependencies = sortedById(dependencyIndex.getTransitiveDependencies(componentId));
+                reachableDependencies = dependencyIndex.getReachableDependencies(componentId);
             }
+            page.addDataModel("directDependencies", directDependencies);
             page.addDataModel("transitiveDependencies", transitiveDependencies);
 
             // groupIdDuplicated ===============================================================================
-            List<Object> groupIdDuplicated = directTraversal.clone()
-                    .repeat(
-                            outE("dependency")
-                                    .has("scope", neq("test"))
-                                    .has("component", componentId)
-                                    .inV().dedup())
-                    .emit().dedup()
+            List<Object> groupIdDuplicated = reachableDependencies.isEmpty()
+                    ? new ArrayList<>()
+                    : V(reachableDependencies.stream().map(d -> d.getString("id")).collect(Collectors.toList()))
                     .values("groupId", "version").dedup()
                     .group().by("groupId").by("version")
                     .unfold().by(both)
@@ -218,6 +212,12 @@ public class ConfluenceGenerateComponentPagesVerticle extends AbstractConfluence
         return confluencePageList;
     }
 
+    private static List<JsonObject> sortedById(List<JsonObject> vertices) {
+        List<JsonObject> result = new ArrayList<>(vertices);
+        result.sort(Comparator.comparing(v -> v.getString("id")));
+        return result;
+    }
+
     private void addOpenApiSpecification(ConfluencePage page, JsonObject component) {
         if (!BACKEND_TYPES.contains(component.getString("type"))) {
             return;
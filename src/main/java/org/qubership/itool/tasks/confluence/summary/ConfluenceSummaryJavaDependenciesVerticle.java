@@ -4,7 +4,6 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.apache.commons.lang3.tuple.Pair;
 import org.qubership.itool.modules.gremlin2.P;
-import org.qubership.itool.modules.gremlin2.graph.GraphTraversal;
 import org.qubership.itool.modules.template.ConfluencePage;
 import org.qubership.itool.tasks.confluence.AbstractConfluenceGenerationPageVerticle;
 import org.qubership.itool.utils.JsonUtils;
@@ -17,8 +16,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static org.qubership.itool.modules.gremlin2.P.neq;
-import static org.qubership.itool.modules.gremlin2.graph.__.outE;
 
 public class ConfluenceSummaryJavaDependenciesVerticle extends AbstractConfluenceGenerationPageVerticle {
     protected Logger LOG = LoggerFactory.getLogger(ConfluenceSummaryJavaDependenciesVerticle.class);
@@ -36,31 +33,9 @@ public class ConfluenceSummaryJavaDependenciesVerticle extends AbstractConfluenc
 
         List<JsonObject> components = V().hasType("domain").out().toList();
         for (JsonObject component : components) {
-            // directDependencies ================================
             String componentId = component.getString("id");
-            GraphTraversal<JsonObject, JsonObject> directTraversal =
-                V(componentId).as("C").out("module")
-                .outE("dependency")
-                    .has("scope", neq("test"))
-                    .has("component", componentId)
-                .inV().dedup();
-            componentDirectDep.add(Pair.of(component, directTraversal.clone().toList()));
-
-            // transitiveDependencies ============================
-            List<JsonObject> transitiveDependencies =
-                 directTraversal.clone()
-                .outE("dependency")
-                    .has("scope", neq("test"))
-                    .has("component", componentId)
-                .inV().dedup()
-                .repeat(
-                     outE("dependency")
-                        .has("scope", neq("test"))
-                        .has("component", componentId)
-                    .inV().dedup()
-                ).emit().dedup()
-                .toList();
-            componentTransitiveDep.add(Pair.of(component, transitiveDependencies));
+            componentDirectDep.add(Pair.of(component, dependencyIndex.getDirectDependencies(componentId)));
+            componentTransitiveDep.add(Pair.of(component, dependencyIndex.getTransitiveDependencies(componentId)));
         }
 
         // key: componentId, value: dependency data
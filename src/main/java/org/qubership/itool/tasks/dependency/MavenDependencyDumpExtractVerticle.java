@@ -25,6 +25,7 @@ import io.vertx.core.impl.cpu.CpuCoreSensor;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.pointer.JsonPointer;
 import org.apache.maven.shared.invoker.*;
+import org.qubership.itool.modules.files.FileIndex;
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.utils.JsonUtils;
 import org.qubership.itool.utils.XmlParser;
@@ -34,6 +35,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
+import javax.annotation.Resource;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
@@ -47,18 +49,37 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static org.qubership.itool.cli.config.FlowConstants.P_CACHE_DIR;
+import static org.qubership.itool.cli.config.FlowConstants.P_MAVEN_DUMP_CACHE;
 
 /**
  * Run maven and collect dependency tree to "output/dependencies/${component.id}_dependency.txt"
  */
 public class MavenDependencyDumpExtractVerticle extends AbstractAggregationTaskVerticle {
     protected Logger LOG = LoggerFactory.getLogger(MavenDependencyDumpExtractVerticle.class);
+    private static final String WORKER_POOL = "maven-dependency-extraction-worker-pool";
 
     public static final String DEFAULT_PATH = "output/dependencies";
+    private static final List<String> MODULE_LOCATIONS = List.of(
+            "/project/profiles/profile/modules/*",
+            "/project/modules/*");
+    private static final List<String> PARENT_LOCATIONS = List.of("/project/parent/artifactId");
+    private static final List<String> PARENT_RELATIVE_PATH_LOCATIONS = List.of("/project/parent/relativePath");
+    private static final String DEFAULT_PARENT_RELATIVE_PATH = "../pom.xml";
     private final XPathFactory xPathfactory = XPathFactory.newInstance();
     private final XPath xpath = xPathfactory.newXPath();
+    private MavenDumpCache dumpCache;
+    private MavenDumpEngine engine;
+    private final Map<String, Duration> timings = new ConcurrentHashMap<>();
+
+    @Resource
+    private FileIndex fileIndex;
 
     @Override
     protected String[] features() {
@@ -69,14 +90,37 @@ public class MavenDependencyDumpExtractVerticle extends AbstractAggregationTaskV
     @Override
     protected void taskStart(Promise<?> taskPromise) {
         int coresCount = CpuCoreSensor.availableProcessors();
-        LOG.debug("Detected {} CPU cores, using all of them", coresCount);
-        WorkerExecutor executor = vertx.createSharedWorkerExecutor("maven-dependency-extraction-worker-pool"
-                , coresCount
+        engine = MavenDumpEngine.create(config(), coresCount);
+        LOG.debug("Detected {} CPU cores, running up to {} maven builds with '{}' engine",
+                coresCount, engine.getConcurrency(), engine.getName());
+        WorkerExecutor executor = vertx.createSharedWorkerExecutor(WORKER_POOL
+                , engine.getConcurrency()
                 , 60
                 , TimeUnit.MINUTES);
+        timings.clear();
+        dumpCache = Boolean.parseBoolean(config().getString(P_MAVEN_DUMP_CACHE))
+                ? new MavenDumpCache(Path.of(config().getString(P_CACHE_DIR, "cache"), "maven"))
+                : null;
         BiFunction<Graph, JsonObject, List<JsonObject>> componentExtractor = AbstractAggregationTaskVerticle::getMavenDependencyComponents;
         List<Future> futures = processGraph(this::aggregateDomainData, c -> processDependencyTree(c, executor), componentExtractor);
-        completeCompositeTask(futures, taskPromise);
+        joinFuturesAndHandleResult(futures)
+                .onComplete(ar -> {
+                    logTimings();
+                    taskCompleted(taskPromise);
+                });
+    }
+
+    private void logTimings() {
+        if (timings.isEmpty()) {
+            return;
+        }
+        Duration total = timings.values().stream().reduce(Duration.ZERO, Duration::plus);
+        LOG.info("Dependency retrieval took {} for {} components, slowest: {}", total, timings.size(),
+                timings.entrySet().stream()
+                        .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                        .limit(10)
+                        .map(e -> e.getKey() + " " + e.getValue())
+                        .collect(Collectors.joining(", ")));
     }
 
     @SuppressWarnings("rawtypes")
@@ -88,31 +132,33 @@ public class MavenDependencyDumpExtractVerticle extends AbstractAggregationTaskV
         }
         String pomPath = component.getString("directoryPath");
         LOG.debug("{}: Scheduling blocking execute of maven dependencies collection, root pom path {}", component.getString("name"), pomPath);
-        Future blockingFuture = Future.future(promise -> executor.executeBlocking(processDependencies(component), false, promise));
+        Future blockingFuture = Future.future(promise -> executor.executeBlocking(tracer.traceBlocking(WORKER_POOL, component.getString(Graph.F_ID), null, processDependencies(component)), false, promise));
         return Collections.singletonList(blockingFuture);
     }
 
     private Handler<Promise<Object>> processDependencies(JsonObject component) {
         return p -> {
             long executionStart = System.nanoTime();
-            createMavenDump(component);
-            LOG.debug("{}: Dependency retrieval finished in {}", component.getString(Graph.F_ID), Duration.ofNanos(System.nanoTime() - executionStart).toString());
+            String source = createMavenDump(component);
+            Duration duration = Duration.ofNanos(System.nanoTime() - executionStart);
+            if (source != null) {
+                timings.put(component.getString(Graph.F_ID), duration);
+                LOG.info("{}: Dependency retrieval by {} finished in {}", component.getString(Graph.F_ID), source, duration);
+            }
             p.complete();
         };
     }
 
-    private void createMavenDump(JsonObject component) {
+    /* Returns the source of the dump: engine name or "cache", or null if there is no dump */
+    private String createMavenDump(JsonObject component) {
         File pomFile = Path.of(component.getString("directoryPath")).resolve("pom.xml").toFile();
         if (!pomFile.exists()) {
             LOG.info("Pom file {} was not found", pomFile.getPath());
-            return;
+            return null;
         }
+        List<Path> pomFiles = new ArrayList<>();
         try {
-            List<String> moduleLocations = new ArrayList<>();
-            moduleLocations.add("/project/profiles/profile/modules/*");
-            moduleLocations.add("/project/modules/*");
-
-            List<String> modules = extractProperties(pomFile, moduleLocations);
+            List<String> modules = extractProperties(pomFile, MODULE_LOCATIONS);
             for (String module : modules) {
                 File modulePomFile = Path.of(component.getString("directoryPath")).resolve(module).resolve("pom.xml").toFile();
                 List<String> artifactIdLocation = new ArrayList<>();
@@ -120,9 +166,12 @@ public class MavenDependencyDumpExtractVerticle extends AbstractAggregationTaskV
                 List<String> artifactIds = extractProperties(modulePomFile, artifactIdLocation);
                 if (artifactIds.contains("frontend-maven-plugin")) {
                     LOG.info("skipping entire component {} because of its module {} uses frontend-maven-plugin", component.getString(Graph.F_ID), module);
-                    return;
+                    return null;
                 }
             }
+            if (dumpCache != null) {
+                collectPomFiles(pomFile.toPath(), pomFiles);
+            }
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -147,14 +196,25 @@ public class MavenDependencyDumpExtractVerticle extends AbstractAggregationTaskV
             goals.add("dependency:tree");
         }
         request.setGoals(goals);
-        Invoker invoker = new DefaultInvoker();
+
+        String cacheKey = dumpCache != null
+                ? dumpCache.computeKey(Path.of(component.getString("directoryPath")), pomFiles, goals)
+                : null;
+        if (cacheKey != null && dumpCache.restore(compId, cacheKey, dependencyDumpFile.toPath())) {
+            LOG.debug("{}: Pom files are not changed, dependency dump restored from cache", compId);
+            return "cache";
+        }
+
         InvocationResult invocationResult;
         try (PrintWriter dependencyTreeWriter = new PrintWriter(new BufferedWriter(new FileWriter(dependencyDumpFile, JsonUtils.UTF_8)))) {
             request.setOutputHandler(str -> writeToFile(str, dependencyTreeWriter));
-            invocationResult = invoker.execute(request);
+            invocationResult = engine.execute(request);
         } catch (Exception e) {
             report.exceptionThrown(component, e);
-            return;
+            return null;
+        } finally {
+            // Build output is written into the component directory
+            fileIndex.invalidate(Path.of(component.getString("directoryPath")));
         }
         if (invocationResult.getExitCode() != 0) {
             report.addMessage("ERROR", component,
@@ -163,8 +223,11 @@ public class MavenDependencyDumpExtractVerticle extends AbstractAggregationTaskV
                     + dependencyDumpFile.getAbsolutePath());
         } else {
             LOG.debug("{}: Extraction finished. Result is stored in {} ", compId, dependencyDumpFile.getAbsolutePath());
+            if (cacheKey != null) {
+                dumpCache.store(compId, cacheKey, dependencyDumpFile.toPath());
+            }
         }
-
+        return engine.getName();
     }
 
     private void writeToFile(String line, PrintWriter dump) {
@@ -177,6 +240,41 @@ public class MavenDependencyDumpExtractVerticle extends AbstractAggregationTaskV
         return Collections.singletonList(future);
     }
 
+    /* Collect the given pom file, pom files of all its modules, recursively, and local parents of all of them */
+    private void collectPomFiles(Path pomFile, List<Path> pomFiles) throws Exception {
+        Path normalized = pomFile.toAbsolutePath().normalize();
+        if (pomFiles.contains(normalized) || !normalized.toFile().isFile()) {
+            return;
+        }
+        pomFiles.add(normalized);
+        for (String module : extractProperties(normalized.toFile(), MODULE_LOCATIONS)) {
+            collectPomFiles(normalized.getParent().resolve(module.trim()).resolve("pom.xml"), pomFiles);
+        }
+        collectParentPomFiles(normalized, pomFiles);
+    }
+
+    /* Collect parents of the given pom file that maven finds by <relativePath>, up to the first parent
+     * that is not on the disk. Modules of the parents are not relevant for the given pom file. */
+    private void collectParentPomFiles(Path pomFile, List<Path> pomFiles) throws Exception {
+        Path current = pomFile;
+        while (!extractProperties(current.toFile(), PARENT_LOCATIONS).isEmpty()) {
+            List<String> relativePaths = extractProperties(current.toFile(), PARENT_RELATIVE_PATH_LOCATIONS);
+            String relativePath = relativePaths.isEmpty() ? DEFAULT_PARENT_RELATIVE_PATH : relativePaths.get(0).trim();
+            if (relativePath.isEmpty()) {   // <relativePath/> disables the lookup
+                return;
+            }
+            Path parent = current.getParent().resolve(relativePath).normalize();
+            if (parent.toFile().isDirectory()) {
+                parent = parent.resolve("pom.xml");
+            }
+            if (pomFiles.contains(parent) || !parent.toFile().isFile()) {
+                return;
+            }
+            pomFiles.add(parent);
+            current = parent;
+        }
+    }
+
     private List<String> extractProperties(File file, List<String> locations) throws Exception {
         Document document = XmlParser.parseXmlFile(String.valueOf(file));
         List<String> properties = new ArrayList<>();
@@ -27,6 +27,7 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 import org.apache.commons.lang3.StringUtils;
+import org.qubership.itool.modules.dependency.DependencyEdges;
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.utils.JsonUtils;
 import org.slf4j.Logger;
@@ -37,9 +38,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.qubership.itool.modules.graph.Graph.F_DIRECTORY;
 import static org.qubership.itool.modules.graph.Graph.F_ID;
@@ -50,6 +52,7 @@ import static org.qubership.itool.modules.graph.Graph.F_ID;
  */
 public class MavenDependencyDumpParseVerticle extends AbstractAggregationTaskVerticle {
     protected Logger LOG = LoggerFactory.getLogger(MavenDependencyDumpParseVerticle.class);
+    private static final String WORKER_POOL = "maven-dependency-import-worker-pool";
 
     public static final String COMPILE = "compile";
     public static final String PROVIDED = "provided";
@@ -65,8 +68,16 @@ public class MavenDependencyDumpParseVerticle extends AbstractAggregationTaskVer
     final static String ARTIFACT_TREE_DEPENDENCY_REGEX = "\\[INFO\\]\\s" + TREE_LEVEL_REGEX + "((\\S+:){4,5}\\S+).*";
     final static String ARTIFACT_EXTRACTION_ERROR_REGEX = "\\[ERROR\\]\\s.*";
     final static String ARTIFACT_TREE_NOT_RECOGNISED_REGEX = "\\[INFO\\]\\s" + TREE_LEVEL_REGEX + ".*";
+    private static final Pattern ARTIFACT_TREE_MODULE_PATTERN = Pattern.compile(ARTIFACT_TREE_MODULE_REGEX);
+    private static final Pattern ARTIFACT_TREE_DEPENDENCY_PATTERN = Pattern.compile(ARTIFACT_TREE_DEPENDENCY_REGEX);
+    private static final Pattern ARTIFACT_EXTRACTION_ERROR_PATTERN = Pattern.compile(ARTIFACT_EXTRACTION_ERROR_REGEX);
+    private static final Pattern ARTIFACT_TREE_NOT_RECOGNISED_PATTERN = Pattern.compile(ARTIFACT_TREE_NOT_RECOGNISED_REGEX);
     public static final String DEFAULT_PATH = "output/dependencies";
 
+    // Edge counts of all components, logged once the task is completed
+    private final AtomicLong addedEdges = new AtomicLong();
+    private final AtomicLong repeatedEdges = new AtomicLong();
+
     @Override
     protected String[] features() {
         return new String[] { "mavenDependencyParse" };
@@ -81,10 +92,12 @@ public class MavenDependencyDumpParseVerticle extends AbstractAggregationTaskVer
     protected void taskStart(Promise<?> taskPromise) {
         Integer coresCount = CpuCoreSensor.availableProcessors();
         LOG.debug("Detected {} CPU cores, using all of them", coresCount);
-        WorkerExecutor executor = vertx.createSharedWorkerExecutor("maven-dependency-import-worker-pool"
+        WorkerExecutor executor = vertx.createSharedWorkerExecutor(WORKER_POOL
                 , coresCount
                 , 60
                 , TimeUnit.SECONDS);
+        addedEdges.set(0);
+        repeatedEdges.set(0);
 
         BiFunction<Graph, JsonObject, List<JsonObject>> componentExtractor = AbstractAggregationTaskVerticle::getMavenDependencyComponents;
         @SuppressWarnings("rawtypes")
@@ -92,6 +105,13 @@ public class MavenDependencyDumpParseVerticle extends AbstractAggregationTaskVer
         completeCompositeTask(futures, taskPromise);
     }
 
+    @Override
+    protected void taskCompleted(Promise<?> taskPromise) {
+        LOG.info("{} dependency edges added, {} parallel edges repeated within components skipped",
+                addedEdges.get(), repeatedEdges.get());
+        super.taskCompleted(taskPromise);
+    }
+
     @SuppressWarnings("rawtypes")
     private List<Future> aggregateDomainData(JsonObject jsonObject) {
         Future future = Future.succeededFuture();
@@ -101,7 +121,7 @@ public class MavenDependencyDumpParseVerticle extends AbstractAggregationTaskVer
     @SuppressWarnings("rawtypes")
     private List<Future> processDependencyTree(JsonObject component, WorkerExecutor executor) {
         LOG.debug("{}: Scheduling blocking execution of maven dependencies import to the graph", component.getString(F_ID));
-        Future blockingFuture = Future.future(promise -> executor.executeBlocking(processDependencies(component), false, promise));
+        Future blockingFuture = Future.future(promise -> executor.executeBlocking(tracer.traceBlocking(WORKER_POOL, component.getString(F_ID), null, processDependencies(component)), false, promise));
         return Collections.singletonList(blockingFuture);
     }
 
@@ -124,41 +144,120 @@ public class MavenDependencyDumpParseVerticle extends AbstractAggregationTaskVer
     // Parse "output/dependencies/${component.id}_dependency.txt" from MavenDependencyDumpExtractVerticle
 
     private void parseDepFromMaven(JsonObject component) {
-        List<JsonObject> rawDependencies = getDependenciesFromDump(component);
-        if (! rawDependencies.isEmpty()) {
-            processDependencies(component, rawDependencies);
+        File pomFile = Path.of(component.getString(F_DIRECTORY)).resolve("pom.xml").toFile();
+        if (!pomFile.exists()) {
+            return;
         }
-    }
 
-    private void processDependencies(JsonObject component, List<JsonObject> rawDependencies) {
-        JsonObject source;
-        Integer lastLevel = 0;
-        JsonObject lastDestination = component;
-        LinkedList<JsonObject> stack = new LinkedList<>();
-        Graph graph = this.graph;
         String compId = component.getString(F_ID);
-        for (JsonObject destination : rawDependencies) {
-            generateId(destination);
-            Integer targetLevel = destination.getInteger("level");
-            String scope = destination.getString("scope");
-
-            stripExcessiveFields(destination);
-            JsonObject dependencyEdge;
-            if (targetLevel.equals(1)) {
-                dependencyEdge = new JsonObject()
-                        .put("type", "module")
-                        .put("component", compId);
-            } else {
-                dependencyEdge = new JsonObject()
-                        .put("type", "dependency")
-                        .put("scope", scope)
-                        .put("component", compId);
+        Path dependencyDumpFile = Path.of(DEFAULT_PATH, compId + "_dependency.txt");
+        if (! dependencyDumpFile.toFile().exists()) {
+            return;
+        }
+
+        // Edges are added as lines are read, the parser keeps only the parents of the current entry.
+        // If the read fails, edges of the part already read stay in the graph, and the failure is reported.
+        DependencyEdges edges = new DependencyEdges(graph, compId);
+        DumpParser parser = new DumpParser(component, LOG, (source, destination, level, scope) ->
+                edges.add(source, destination, level == 1 ? moduleEdge() : dependencyEdge(scope)));
+        try (BufferedReader reader = Files.newBufferedReader(dependencyDumpFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                parser.processLine(line);
+            }
+        } catch (IOException e) {
+            report.exceptionThrown(component, e);
+        }
+        countEdges(edges);
+
+        for (String line : parser.notRecognised) {
+            report.addMessage("ERROR", component, "Dependency tree element not recognized: " + line);
+        }
+
+        if (parser.errors.size() > 0) {
+            LOG.error("{}: Dump extraction failed", compId);
+            report.addMessage("ERROR", component, StringUtils.join(parser.errors, "\n"));
+        }
+
+        LOG.debug("{}: Dump extraction finished. Received {} entries", compId, parser.entries);
+    }
+
+    /* Receives an entry of a dependency:tree dump linked to its parent in the tree.
+     * Level 1 entries are modules of the component. */
+    @FunctionalInterface
+    interface DumpEntryHandler {
+        void accept(JsonObject source, JsonObject destination, int level, String scope);
+    }
+
+    /* Single pass over lines of a dependency:tree dump. An [INFO] line is matched with precompiled patterns
+     * up to three times, and every entry is passed to the handler as soon as it is linked to its parent.
+     * Only the parents of the current entry are kept. */
+    static class DumpParser {
+        private final Logger log;
+        private final String compId;
+        private final Matcher errorMatcher = ARTIFACT_EXTRACTION_ERROR_PATTERN.matcher("");
+        private final Matcher dependencyMatcher = ARTIFACT_TREE_DEPENDENCY_PATTERN.matcher("");
+        private final Matcher moduleMatcher = ARTIFACT_TREE_MODULE_PATTERN.matcher("");
+        private final Matcher notRecognisedMatcher = ARTIFACT_TREE_NOT_RECOGNISED_PATTERN.matcher("");
+
+        private final DumpEntryHandler handler;
+
+        int entries;
+        final List<String> errors = new ArrayList<>();
+        final List<String> notRecognised = new ArrayList<>();
+        private final LinkedList<JsonObject> stack = new LinkedList<>();
+        private JsonObject lastDestination;
+        private int lastLevel = 0;
+
+        DumpParser(JsonObject component, Logger log, DumpEntryHandler handler) {
+            this.log = log;
+            this.handler = handler;
+            this.compId = component.getString(F_ID);
+            this.lastDestination = component;
+        }
+
+        void processLine(String line) {
+            if (line.startsWith("[ERROR]")) {
+                if (errorMatcher.reset(line).matches()) {
+                    errors.add(line.replaceAll("\\p{Cntrl}", ""));
+                }
+                return;
             }
+            if (!line.startsWith("[INFO]")) {
+                return;
+            }
+            if (dependencyMatcher.reset(line).matches()) {
+                String dependencyLevel = dependencyMatcher.group(1);
+                String[] artifact = dependencyMatcher.group(2).split(":");
+                addEntry(toVertex(artifact, artifact.length == 6 ? artifact[3] + ":" + artifact[4] : artifact[3]),
+                        1 + dependencyLevel.length() / 3,
+                        artifact.length == 6 ? artifact[5] : artifact[4]);
+            } else if (moduleMatcher.reset(line).matches()) {
+                String[] artifact = moduleMatcher.group(1).split(":");
+                addEntry(toVertex(artifact, artifact.length == 5 ? artifact[3] + ":" + artifact[4] : artifact[3]),
+                        1,
+                        "compile");
+            } else if (notRecognisedMatcher.reset(line).matches()) {
+                notRecognised.add(line);
+            }
+        }
 
+        private JsonObject toVertex(String[] artifact, String version) {
+            return new JsonObject()
+                    .put(F_ID, artifact[0] + ":" + artifact[1] + ":" + artifact[2] + ":" + version)
+                    .put("artifactId", artifact[1])
+                    .put("groupId", artifact[0])
+                    .put("package", artifact[2])
+                    .put("version", version)
+                    .put("type", "library");
+        }
+
+        private void addEntry(JsonObject destination, int targetLevel, String scope) {
+            JsonObject source;
             if (targetLevel > lastLevel) { // going up
                 source = lastDestination;
                 if (targetLevel - lastLevel > 1) {
-                    LOG.error("{}: Error during parsing the dependency tree: potentially missed entry"
+                    log.error("{}: Error during parsing the dependency tree: potentially missed entry"
                         + " before the line between {} and {}. Levels {}-{}",
                             compId, source.getString(F_ID),
                             destination.getString(F_ID), lastLevel, targetLevel);
@@ -175,97 +274,26 @@ public class MavenDependencyDumpParseVerticle extends AbstractAggregationTaskVer
 
             lastDestination = destination;
             lastLevel = targetLevel;
-            graph.addEdge(source, destination, dependencyEdge);
+            entries++;
+            handler.accept(source, destination, targetLevel, scope);
         }
     }
 
-    private void stripExcessiveFields(JsonObject destination) {
-        destination.remove("scope");
-        destination.remove("level");
-    }
-
-    private void generateId(JsonObject destination) {
-        destination.put(F_ID, new StringBuffer()
-                .append(destination.getString("groupId")).append(":")
-                .append(destination.getString("artifactId")).append(":")
-                .append(destination.getString("package")).append(":")
-                .append(destination.getString("version"))
-                .toString()
-        );
+    /* The component is set by DependencyEdges */
+    private static JsonObject moduleEdge() {
+        return new JsonObject()
+                .put("type", "module");
     }
 
-    private List<JsonObject> getDependenciesFromDump(JsonObject component) {
-        File pomFile = Path.of(component.getString(F_DIRECTORY)).resolve("pom.xml").toFile();
-        if (!pomFile.exists()) {
-            return Collections.emptyList();
-        }
-
-        String compId = component.getString(F_ID);
-        Path dependencyDumpFile = Path.of(DEFAULT_PATH, compId + "_dependency.txt");
-        if (! dependencyDumpFile.toFile().exists()) {
-            return Collections.emptyList();
-        }
-
-        List<JsonObject> result = new ArrayList<>();
-        try (Stream<String> stream = Files.lines(dependencyDumpFile)) {
-            stream.forEach(str -> processArtifact(str, result, component));
-        } catch (IOException e) {
-            report.exceptionThrown(component, e);
-            return Collections.emptyList();
-        }
-
-        List<String> errors = result.stream()
-                .filter(o -> o.containsKey("error"))
-                .map(o -> o.getString("error").replaceAll("\\p{Cntrl}", ""))
-                .collect(Collectors.toList());
-        if (errors.size() > 0) {
-            LOG.error("{}: Dump extraction failed", compId);
-            report.addMessage("ERROR", component, StringUtils.join(errors, "\n"));
-        }
-
-        LOG.debug("{}: Dump extraction finished. Received {} entries", compId, result.size());
-
-        return result.stream()
-                .filter(o -> !o.containsKey("error"))
-                .collect(Collectors.toList());
+    private static JsonObject dependencyEdge(String scope) {
+        return new JsonObject()
+                .put("type", "dependency")
+                .put("scope", scope);
     }
 
-    private void processArtifact(String line, List<JsonObject> result, JsonObject component) {
-        if (line.matches(ARTIFACT_EXTRACTION_ERROR_REGEX)) {
-            result.add(new JsonObject().put("error", line));
-        }
-        if (line.matches(ARTIFACT_TREE_DEPENDENCY_REGEX)) {
-            String dependencyLevel = line.replaceAll(ARTIFACT_TREE_DEPENDENCY_REGEX,"$1");
-            String artifactLine = line.replaceAll(ARTIFACT_TREE_DEPENDENCY_REGEX,"$2");
-            String[] artifact = artifactLine.split(":");
-
-            result.add(new JsonObject()
-                    .put(F_ID, "")  // Let it be the first in file. See generateId()
-                    .put("artifactId", artifact[1])
-                    .put("groupId", artifact[0])
-                    .put("package", artifact[2])
-                    .put("version", artifact.length == 6 ? artifact[3] + ":" + artifact[4] : artifact[3])
-                    .put("scope", artifact.length == 6 ? artifact[5] : artifact[4])
-                    .put("level", 1 + dependencyLevel.length() / 3)
-                    .put("type", "library")
-            );
-        } else if (line.matches(ARTIFACT_TREE_MODULE_REGEX)) {
-            String artifactLine = line.replaceAll(ARTIFACT_TREE_MODULE_REGEX,"$1");
-            String[] artifact = artifactLine.split(":");
-
-            result.add(new JsonObject()
-                    .put(F_ID, "")
-                    .put("artifactId", artifact[1])
-                    .put("groupId", artifact[0])
-                    .put("package", artifact[2])
-                    .put("version", artifact.length == 5 ? artifact[3] + ":" + artifact[4] : artifact[3])
-                    .put("scope", "compile")
-                    .put("level", 1)
-                    .put("type", "library")
-            );
-        } else if (line.matches(ARTIFACT_TREE_NOT_RECOGNISED_REGEX)){
-            report.addMessage("ERROR", component, "Dependency tree element not recognized: " + line);
-        }
+    private void countEdges(DependencyEdges edges) {
+        addedEdges.addAndGet(edges.getAddedCount());
+        repeatedEdges.addAndGet(edges.getRepeatedCount());
     }
 
     //------------------------------------------------------
@@ -278,15 +306,12 @@ public class MavenDependencyDumpParseVerticle extends AbstractAggregationTaskVer
             if (modules == null) {
                 return;
             }
-            String compId = component.getString(F_ID);
+            DependencyEdges edges = new DependencyEdges(graph, component.getString(F_ID));
             for (Object o1: modules) {
                 JsonObject module = (JsonObject) o1;
                 String projectId = module.getString("id");  // *Not* Graph.F_ID
 
-                JsonObject moduleEdge = new JsonObject()
-                        .put("type", "module")
-                        .put("component", compId);
-                graph.addEdge(component, artifactIdToVertex(projectId), moduleEdge);
+                edges.add(component, artifactIdToVertex(projectId), moduleEdge());
 
                 JsonArray deps = module.getJsonArray("dependencies");
                 if (deps == null) {
@@ -296,13 +321,11 @@ public class MavenDependencyDumpParseVerticle extends AbstractAggregationTaskVer
                     JsonObject depEntry = (JsonObject) o2;
                     String artifactFrom = depEntry.getString("from");
                     String artifactTo = depEntry.getString("to");
-                    JsonObject dependencyEdge = new JsonObject()
-                            .put("type", "dependency")
-                            .put("scope", depEntry.getString("scope"))
-                            .put("component", compId);
-                    graph.addEdge(artifactIdToVertex(artifactFrom), artifactIdToVertex(artifactTo), dependencyEdge);
+                    edges.add(artifactIdToVertex(artifactFrom), artifactIdToVertex(artifactTo),
+                            dependencyEdge(depEntry.getString("scope")));
                 }
             }
+            countEdges(edges);
         } catch (Exception e) {
             report.exceptionThrown(component, e);
         }
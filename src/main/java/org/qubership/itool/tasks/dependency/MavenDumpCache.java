@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.tasks.dependency;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Keeps dependency tree dumps of {@link MavenDependencyDumpExtractVerticle} between runs.
+ *
+ * <p>A dump is stored per component together with a hash of the pom files it was built from
+ * and of the maven goals. A stored dump is reused only while the hash stays the same.
+ * Dumps of failed maven runs are not stored.
+ */
+class MavenDumpCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MavenDumpCache.class);
+
+    private static final String FORMAT_VERSION = "1";
+
+    private final Path cacheDir;
+
+    MavenDumpCache(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Compute the key of a dump.
+     *
+     * @param rootDir Component directory
+     * @param pomFiles Root pom, pom files of all its modules and their parents found on the disk
+     * @param goals Maven goals
+     * @return Key, or {@code null} if some pom file cannot be read
+     */
+    String computeKey(Path rootDir, List<Path> pomFiles, List<String> goals) {
+        Path root = rootDir.toAbsolutePath().normalize();
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        update(digest, FORMAT_VERSION);
+        update(digest, String.join(" ", goals));
+        try {
+            for (Path pomFile : pomFiles) {
+                update(digest, root.relativize(pomFile.toAbsolutePath().normalize()).toString());
+                byte[] content = Files.readAllBytes(pomFile);
+                update(digest, Integer.toString(content.length));
+                digest.update(content);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.debug("Failed to compute dump key of {}: {}", rootDir, e.toString());
+            return null;
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * Copy stored dump to the given file.
+     *
+     * @return {@code true} if a dump with the same key was found and copied
+     */
+    boolean restore(String componentId, String key, Path dumpFile) {
+        Path file = getCacheFile(componentId);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!key.equals(reader.readLine())) {
+                LOG.debug("{}: Stored dependency dump is outdated", componentId);
+                return false;
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(dumpFile, StandardCharsets.UTF_8)) {
+                reader.transferTo(writer);
+            }
+            return true;
+        } catch (IOException e) {
+            LOG.warn("{}: Failed to restore dependency dump from {}: {}", componentId, file, e.toString());
+            return false;
+        }
+    }
+
+    void store(String componentId, String key, Path dumpFile) {
+        Path file = getCacheFile(componentId);
+        try {
+            Files.createDirectories(cacheDir);
+            Path tmpFile = Files.createTempFile(cacheDir, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8);
+                 BufferedReader reader = Files.newBufferedReader(dumpFile, StandardCharsets.UTF_8)) {
+                writer.write(key);
+                writer.newLine();
+                reader.transferTo(writer);
+            }
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("{}: Failed to store dependency dump to {}: {}", componentId, file, e.toString());
+        }
+    }
+
+    protected Path getCacheFile(String componentId) {
+        return cacheDir.resolve(DigestUtils.md5Hex(componentId.getBytes(StandardCharsets.UTF_8)) + ".txt");
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+}
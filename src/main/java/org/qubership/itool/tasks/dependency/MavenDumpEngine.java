@@ -0,0 +1,199 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.tasks.dependency;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.shared.invoker.DefaultInvoker;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.apache.maven.shared.invoker.InvocationResult;
+import org.apache.maven.shared.invoker.Invoker;
+import org.apache.maven.shared.invoker.MavenInvocationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Objects;
+import java.util.Properties;
+
+import static org.qubership.itool.cli.config.FlowConstants.P_MAVEN_CONCURRENCY;
+import static org.qubership.itool.cli.config.FlowConstants.P_MAVEN_ENGINE;
+import static org.qubership.itool.cli.config.FlowConstants.P_MAVEN_EXECUTABLE;
+import static org.qubership.itool.cli.config.FlowConstants.P_MAVEN_JVM_MEMORY;
+import static org.qubership.itool.cli.config.FlowConstants.P_MAVEN_MEMORY_BUDGET;
+
+/**
+ * Runs maven builds for {@link MavenDependencyDumpExtractVerticle}.
+ *
+ * <p>Engines:
+ * <ul>
+ *     <li>{@code fork}: a new maven JVM for every component</li>
+ *     <li>{@code daemon}: builds are sent to a pool of warm maven daemons (mvnd). Daemons are started
+ *     on demand up to the number of concurrent builds, and are reused by subsequent builds, so JVM startup,
+ *     class loading and plugin resolution are paid once per daemon rather than once per component.</li>
+ * </ul>
+ *
+ * <p>The number of concurrent builds is {@code mavenConcurrency} (all CPU cores by default), further limited
+ * by {@code mavenMemoryBudget / mavenJvmMemory} when both are set. Memory sizes are in megabytes.
+ * Values that are not positive numbers are ignored. When mvnd is not found, {@code fork} engine is used.
+ */
+abstract class MavenDumpEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MavenDumpEngine.class);
+
+    public static final String FORK = "fork";
+    public static final String DAEMON = "daemon";
+
+    protected final String executable;
+    protected final Integer jvmMemory;
+    private final int concurrency;
+
+    protected MavenDumpEngine(String executable, Integer jvmMemory, int concurrency) {
+        this.executable = executable;
+        this.jvmMemory = jvmMemory;
+        this.concurrency = concurrency;
+    }
+
+    static MavenDumpEngine create(JsonObject config, int availableProcessors) {
+        String executable = StringUtils.trimToNull(config.getString(P_MAVEN_EXECUTABLE));
+        Integer jvmMemory = getPositiveInteger(config, P_MAVEN_JVM_MEMORY);
+        Integer memoryBudget = getPositiveInteger(config, P_MAVEN_MEMORY_BUDGET);
+        Integer concurrency = getPositiveInteger(config, P_MAVEN_CONCURRENCY);
+
+        int maxConcurrency = concurrency != null ? concurrency : availableProcessors;
+        if (memoryBudget != null && jvmMemory != null) {
+            maxConcurrency = Math.min(maxConcurrency, memoryBudget / jvmMemory);
+        }
+        maxConcurrency = Math.max(1, maxConcurrency);
+
+        String engine = config.getString(P_MAVEN_ENGINE, FORK);
+        switch (engine) {
+            case DAEMON:
+                String daemonExecutable = executable != null ? executable : DaemonEngine.findOnPath("mvnd");
+                if (daemonExecutable == null) {
+                    LOG.error("mvnd is not found in PATH, set {} to its location. Using '{}' engine",
+                            P_MAVEN_EXECUTABLE, FORK);
+                    return new ForkEngine(null, jvmMemory, maxConcurrency);
+                }
+                return new DaemonEngine(daemonExecutable, jvmMemory, maxConcurrency);
+            case FORK:
+                return new ForkEngine(executable, jvmMemory, maxConcurrency);
+            default:
+                LOG.error("Unknown maven engine '{}', using '{}'", engine, FORK);
+                return new ForkEngine(executable, jvmMemory, maxConcurrency);
+        }
+    }
+
+    private static Integer getPositiveInteger(JsonObject config, String key) {
+        String value = StringUtils.trimToNull(config.getString(key));
+        if (value == null) {
+            return null;
+        }
+        try {
+            int result = Integer.parseInt(value);
+            if (result <= 0) {
+                LOG.error("Property {} is not a positive number: {}", key, value);
+                return null;
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            LOG.error("Property {} is not a number: {}", key, value);
+            return null;
+        }
+    }
+
+    abstract String getName();
+
+    /**
+     * @return Maximal number of maven builds running at the same time
+     */
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    InvocationResult execute(InvocationRequest request) throws MavenInvocationException {
+        Invoker invoker = new DefaultInvoker();
+        if (executable != null) {
+            invoker.setMavenExecutable(new File(executable));
+        }
+        configure(request);
+        return invoker.execute(request);
+    }
+
+    protected abstract void configure(InvocationRequest request);
+
+    static class ForkEngine extends MavenDumpEngine {
+
+        ForkEngine(String executable, Integer jvmMemory, int concurrency) {
+            super(executable, jvmMemory, concurrency);
+        }
+
+        @Override
+        String getName() {
+            return FORK;
+        }
+
+        @Override
+        protected void configure(InvocationRequest request) {
+            if (jvmMemory != null) {
+                // Appended last, so it overrides -Xmx from the environment
+                String mavenOpts = StringUtils.trimToNull(System.getenv("MAVEN_OPTS"));
+                request.setMavenOpts((mavenOpts != null ? mavenOpts + " " : "") + "-Xmx" + jvmMemory + "m");
+            }
+        }
+    }
+
+    static class DaemonEngine extends MavenDumpEngine {
+
+        /* The executable is required: without it, the invoker would run mvn, and the engine would not be a daemon */
+        DaemonEngine(String executable, Integer jvmMemory, int concurrency) {
+            super(Objects.requireNonNull(executable), jvmMemory, concurrency);
+        }
+
+        @Override
+        String getName() {
+            return DAEMON;
+        }
+
+        @Override
+        protected void configure(InvocationRequest request) {
+            // mvnd builds modules in parallel by default, that would interleave lines of the dump
+            request.setThreads("1");
+            if (jvmMemory != null) {
+                Properties properties = request.getProperties() != null ? request.getProperties() : new Properties();
+                properties.setProperty("mvnd.maxHeapSize", jvmMemory + "m");
+                request.setProperties(properties);
+            }
+        }
+
+        static String findOnPath(String name) {
+            String path = System.getenv("PATH");
+            if (path != null) {
+                for (String dir : path.split(File.pathSeparator)) {
+                    for (String fileName : new String[] { name, name + ".cmd" }) {
+                        File file = new File(dir, fileName);
+                        if (file.isFile() && file.canExecute()) {
+                            return file.getAbsolutePath();
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+}
@@ -18,16 +18,16 @@ package org.qubership.itool.tasks.dependency;
 
 import org.qubership.itool.tasks.FlowTask;
 
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.impl.cpu.CpuCoreSensor;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.pointer.JsonPointer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.qubership.itool.modules.graph.Graph;
-import org.qubership.itool.modules.gremlin2.P;
-import org.qubership.itool.modules.gremlin2.graph.GraphTraversal;
-import org.qubership.itool.modules.gremlin2.graph.__;
 import org.qubership.itool.modules.report.GraphReport;
 import org.qubership.itool.utils.JsonUtils;
 import org.qubership.itool.utils.LanguageUtils;
@@ -35,6 +35,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.qubership.itool.modules.graph.Graph.F_DNS_NAME;
 import static org.qubership.itool.modules.graph.Graph.F_DNS_NAMES;
@@ -60,6 +62,15 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
 
     public static final String INFRA_VERTEX_ID = "Infra";
 
+    private static final String WORKER_POOL = "edges-worker-pool";
+
+    // Vertices under domains by dnsName, in traversal order. Built once per task
+    private Map<String, List<JsonObject>> componentsByDnsName;
+    // Vertices under domains whose dnsNames is a single string, matched by substring
+    private List<JsonObject> componentsWithDnsNamesString;
+    // Names of Infra vertices by type and case-insensitive name. Updated as vertices are added
+    private Map<String, Map<String, String>> thirdpartyNames;
+
     @Override
     protected void taskStart(Promise<?> taskPromise) {
         List<JsonObject> components = new ArrayList<>();
@@ -82,31 +93,40 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
             .<String>values("/C/id", "/F/groupId", "/F/version").dedup()
             .group().by(F_ID).next();
 
-        vertx.executeBlocking(promise -> {
-            for (JsonObject component : components) {
-                String componentId = component.getString(F_ID);
-                getLogger().debug("{}: Set outgoing Edges", componentId);
-                try {
-                    setEdgesToInfraVertexes(component);
-                    processDatabases(component);
-                    processMessagesQueues(component);
-                    processDependencies(component);
-                    LanguageUtils.buildLanguageVerticesWithEdges(graph, component);
-
-                    if (componentFrameworks.containsKey(componentId)) {
-                        List<Map> frameworks = (List<Map>) componentFrameworks.get(componentId);
-                        processDetailsProperty(component, frameworks, "framework", "info");
-                    } else {
-                        processDetailsProperty(component, "framework", "info");
-                    }
-
-                    processDetailsProperty(component, "tmfSpec", "implemented");
-                    processGateways(component, "info");
-
-                } catch (Exception ex) {
-                    this.report.exceptionThrown(component, ex);
+        Integer coresCount = CpuCoreSensor.availableProcessors();
+        WorkerExecutor executor = vertx.createSharedWorkerExecutor(WORKER_POOL
+                , coresCount
+                , 10
+                , TimeUnit.MINUTES);
+
+        vertx.<Map<String, List<JsonObject>>>executeBlocking(promise -> {
+            indexDnsNames();
+            indexThirdpartyNames();
+            promise.complete(getInfraVertexesByDriver());
+        })
+        .compose(infraByDriver -> planChanges(executor, components, (plan, component) -> {
+            String componentId = component.getString(F_ID);
+            getLogger().debug("{}: Set outgoing Edges", componentId);
+            setEdgesToInfraVertexes(plan, component, infraByDriver);
+            plan.add(() -> processDatabases(component));
+            plan.add(() -> processMessagesQueues(component));
+            processDependencies(plan, component);
+            plan.add(() -> LanguageUtils.buildLanguageVerticesWithEdges(graph, component));
+
+            plan.add(() -> {
+                if (componentFrameworks.containsKey(componentId)) {
+                    List<Map> frameworks = (List<Map>) componentFrameworks.get(componentId);
+                    processDetailsProperty(component, frameworks, "framework", "info");
+                } else {
+                    processDetailsProperty(component, "framework", "info");
                 }
-            }
+            });
+
+            plan.add(() -> processDetailsProperty(component, "tmfSpec", "implemented"));
+            plan.add(() -> processGateways(component, "info"));
+        }))
+        .compose(plans -> vertx.<Map<String, List<String>>>executeBlocking(promise -> {
+            applyChanges(plans);
             // format: key=artifactId, value = array[libraryId]
             Map<String, List<String>> librariesArtifacts =
                     V(V_ROOT).out().hasType(V_DOMAIN)
@@ -114,56 +134,96 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
                             .out("module").<String>value("artifactId").as("A")
                             .<String>select("L", "A")
                             .<String, List<String>>group().by("A").by("L").next();
-
-            for (JsonObject component : components) {
-                try {
-                    processLanguageArtifactDependencies(component, librariesArtifacts);
-                } catch (Exception ex) {
-                    this.report.exceptionThrown(component, ex);
-                }
-            }
+            promise.complete(librariesArtifacts);
+        }))
+        .compose(librariesArtifacts -> planChanges(executor, components,
+                (plan, component) -> processLanguageArtifactDependencies(plan, component, librariesArtifacts)))
+        .compose(plans -> vertx.executeBlocking(promise -> {
+            applyChanges(plans);
             promise.complete();
-        }, res -> {
+        }))
+        .onComplete(res -> {
             taskCompleted(taskPromise);
         });
     }
 
-    private void processLanguageArtifactDependencies(JsonObject component, Map<String, List<String>> librariesArtifacts) {
-        if (LanguageUtils.hasLanguage(graph, component, "GoLang")){
-            processGoDependencies(component, librariesArtifacts);
-        } else {
-            processMavenDependencies(component, librariesArtifacts);
+    /* Plan changes for every component in parallel. Planning only reads the graph */
+    private Future<List<ChangePlan>> planChanges(WorkerExecutor executor, List<JsonObject> components,
+            Planner planner) {
+        List<Future> futures = new ArrayList<>(components.size());
+        for (JsonObject component : components) {
+            ChangePlan plan = new ChangePlan(component);
+            futures.add(Future.future(promise -> executor.executeBlocking(
+                tracer.traceBlocking(WORKER_POOL, component.getString(F_ID), null, planned -> {
+                    try {
+                        planner.plan(plan, component);
+                    } catch (Exception ex) {
+                        plan.add(() -> this.report.exceptionThrown(component, ex));
+                    }
+                    planned.complete(plan);
+                }), false, promise)));
         }
+        return joinFuturesAndHandleResult(futures)
+            .otherwiseEmpty()
+            .map(r -> futures.stream()
+                .filter(Future::succeeded)
+                .map(f -> (ChangePlan) f.result())
+                .collect(Collectors.toList()));
     }
 
-    private void setEdgesToInfraVertexes(JsonObject component) {
-        String componentId = component.getString(F_ID);
-        List<JsonObject> dependencies = new ArrayList<>();
-        Graph graph = this.graph;
+    /* Apply planned changes one component after another, in the order of components */
+    private void applyChanges(List<ChangePlan> plans) {
+        for (ChangePlan plan : plans) {
+            plan.apply();
+        }
+    }
 
-        // directDependencies ================================
-        GraphTraversal<JsonObject, JsonObject> directTraversal =
-            V(graph, componentId).as("C").out("module")
-                .outE("dependency")
-                .has("scope", neq("test"))
-                .has("component", eq(select("C").id()))
-                .inV().dedup();
-        dependencies.addAll(directTraversal.clone().toList());
-
-        // transitiveDependencies ============================
-        List<JsonObject> transitiveDependencies =
-            directTraversal.clone()
-                .outE("dependency").has("scope", neq("test")).inV().dedup()
-                .repeat(
-                    outE("dependency")
-                        .has("scope", neq("test"))
-                        .has("component", eq(select("C").id()))
-                        .inV().dedup()
-                ).emit().dedup().toList();
-        dependencies.addAll(transitiveDependencies);
+    /* Changes of the graph planned for a component. They are applied in the order they were added,
+     * changes following a failed one are dropped */
+    private class ChangePlan {
+        private final JsonObject component;
+        private final List<Change> changes = new ArrayList<>();
 
-        List<JsonObject> infraVertexes = V(INFRA_VERTEX_ID).out().toList();
+        ChangePlan(JsonObject component) {
+            this.component = component;
+        }
+
+        void add(Change change) {
+            changes.add(change);
+        }
 
+        void apply() {
+            try {
+                for (Change change : changes) {
+                    change.apply();
+                }
+            } catch (Exception ex) {
+                report.exceptionThrown(component, ex);
+            }
+        }
+    }
+
+    private interface Change {
+        void apply() throws Exception;
+    }
+
+    private interface Planner {
+        void plan(ChangePlan plan, JsonObject component) throws Exception;
+    }
+
+    private void processLanguageArtifactDependencies(ChangePlan plan, JsonObject component,
+            Map<String, List<String>> librariesArtifacts) {
+        if (LanguageUtils.hasLanguage(graph, component, "GoLang")){
+            processGoDependencies(plan, component, librariesArtifacts);
+        } else {
+            processMavenDependencies(plan, component, librariesArtifacts);
+        }
+    }
+
+    /* Infra vertices by "groupId:artifactId" of their drivers. A vertex is listed once per matching driver */
+    private Map<String, List<JsonObject>> getInfraVertexesByDriver() {
+        Map<String, List<JsonObject>> infraByDriver = new HashMap<>();
+        List<JsonObject> infraVertexes = V(INFRA_VERTEX_ID).out().toList();
         for (JsonObject vertex : infraVertexes) {
             JsonArray drivers = vertex.getJsonArray("drivers");
             if (drivers == null || drivers.isEmpty()) {
@@ -173,49 +233,53 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
                 JsonObject driver = (JsonObject) tmp;
                 String driverGroupId = driver.getString("groupId");
                 String driverArtifactId = driver.getString("artifactId");
-
-                for (JsonObject dependency : dependencies) {
-                    String dependencyGroupId = dependency.getString("groupId");
-                    String dependencyArtifactId = dependency.getString("artifactId");
-                    if (driverGroupId != null && driverGroupId.equals(dependencyGroupId)
-                     && driverArtifactId != null && driverArtifactId.equals(dependencyArtifactId))
-                    {
-                        graph.addEdge(component, vertex,
-                            new JsonObject().put("type", "fromDependency")
-                                .put("thirdParty", vertex.getString(F_ID))
-                                .put("component", JsonPointer.from("/details/abbreviation").queryJson(component)));
-                    }
+                if (driverGroupId != null && driverArtifactId != null) {
+                    infraByDriver.computeIfAbsent(driverGroupId + ":" + driverArtifactId, k -> new ArrayList<>())
+                        .add(vertex);
                 }
             }
         }
+        return infraByDriver;
     }
 
-    private void processMavenDependencies(JsonObject component, Map<String, List<String>> librariesArtifacts) {
+    private void setEdgesToInfraVertexes(ChangePlan plan, JsonObject component,
+            Map<String, List<JsonObject>> infraByDriver) {
+        if (infraByDriver.isEmpty()) {
+            return;
+        }
         String componentId = component.getString(F_ID);
+        List<JsonObject> dependencies = new ArrayList<>();
         Graph graph = this.graph;
 
-        // directDependencies ================================
-        GraphTraversal<JsonObject, JsonObject> directTraversal =
-            V(graph, componentId).as("C").out("module")
-                .outE("dependency")
-                .has("scope", neq("test"))
-                .has("component", eq(select("C").id()))
-                .inV().dedup();
-
-        List<String> directDependencies =
-            directTraversal.clone().<String>value("artifactId").toList();
-
-        // transitiveDependencies ============================
-        List<String> transitiveDependencies =
-            directTraversal.clone()
-                .outE("dependency").has("scope", neq("test")).inV().dedup()
-                .repeat(
-                    outE("dependency")
-                        .has("scope", neq("test"))
-                        .has("component", eq(select("C").id()))
-                        .inV().dedup()
-                ).emit().dedup()
-                .<String>value("artifactId").toList();
+        dependencies.addAll(dependencyIndex.getDirectDependencies(componentId));
+        dependencies.addAll(dependencyIndex.getLooseTransitiveDependencies(componentId));
+
+        for (JsonObject dependency : dependencies) {
+            String dependencyGroupId = dependency.getString("groupId");
+            String dependencyArtifactId = dependency.getString("artifactId");
+            if (dependencyGroupId == null || dependencyArtifactId == null) {
+                continue;
+            }
+            List<JsonObject> infraVertexes = infraByDriver.get(dependencyGroupId + ":" + dependencyArtifactId);
+            if (infraVertexes == null) {
+                continue;
+            }
+            for (JsonObject vertex : infraVertexes) {
+                JsonObject edge = new JsonObject().put("type", "fromDependency")
+                    .put("thirdParty", vertex.getString(F_ID))
+                    .put("component", JsonPointer.from("/details/abbreviation").queryJson(component));
+                plan.add(() -> graph.addEdge(component, vertex, edge));
+            }
+        }
+    }
+
+    private void processMavenDependencies(ChangePlan plan, JsonObject component,
+            Map<String, List<String>> librariesArtifacts) {
+        String componentId = component.getString(F_ID);
+        Graph graph = this.graph;
+
+        List<String> directDependencies = artifactIds(dependencyIndex.getDirectDependencies(componentId));
+        List<String> transitiveDependencies = artifactIds(dependencyIndex.getLooseTransitiveDependencies(componentId));
 
         Set<String> refSet = new HashSet<>();
         getLogger().debug("{}: Processing direct maven dependencies", componentId);
@@ -223,19 +287,36 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
         getLogger().debug("{}: Processing transitive maven dependencies", componentId);
         extractDependency(librariesArtifacts, transitiveDependencies, refSet);
 
+        addLibraryEdges(plan, component, refSet);
+    }
+
+    private void addLibraryEdges(ChangePlan plan, JsonObject component, Set<String> refSet) {
+        String componentId = component.getString(F_ID);
+        Graph graph = this.graph;
         for (String libraryId : refSet) {
             if (componentId.equals(libraryId)) {
                 continue;
             }
-            graph.addEdge(
+            plan.add(() -> graph.addEdge(
                 component,
                 graph.getVertex(libraryId),
                 new JsonObject().put("type", "library")
-            );
+            ));
+        }
+    }
+
+    private static List<String> artifactIds(List<JsonObject> artifacts) {
+        List<String> artifactIds = new ArrayList<>(artifacts.size());
+        for (JsonObject artifact : artifacts) {
+            String artifactId = artifact.getString("artifactId");
+            if (artifactId != null) {
+                artifactIds.add(artifactId);
+            }
         }
+        return artifactIds;
     }
 
-    private  void processGoDependencies(JsonObject component, Map<String, List<String>> librariesArtifacts){
+    private  void processGoDependencies(ChangePlan plan, JsonObject component, Map<String, List<String>> librariesArtifacts){
         String componentId = component.getString(F_ID);
         List<String> dependencies = V(componentId).as("C").out("module")
                 .outE("dependency")
@@ -244,17 +325,7 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
         Set<String> refSet = new HashSet<>();
         extractDependency(librariesArtifacts, dependencies, refSet);
 
-        for (String libraryId : refSet) {
-            if (componentId.equals(libraryId)) {
-                continue;
-            }
-            graph.addEdge(
-                    component,
-                    graph.getVertex(libraryId),
-                    new JsonObject().put("type", "library")
-            );
-        }
-
+        addLibraryEdges(plan, component, refSet);
     }
 
     private void extractDependency(Map<String, List<String>> librariesArtifacts, List<String> dependencies, Set<String> refSet) {
@@ -386,16 +457,37 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
         createDatabaseEdge(component, externalCache, "caching", "optional");
     }
 
+    private void indexThirdpartyNames() {
+        thirdpartyNames = new HashMap<>();
+        for (JsonObject item : V(INFRA_VERTEX_ID).out().toList()) {
+            addThirdpartyName(item);
+        }
+    }
+
+    private void addThirdpartyName(JsonObject item) {
+        String type = item.getString(F_TYPE);
+        String thirdpartyName = item.getString("name");
+        if (type != null && thirdpartyName != null) {
+            // The first vertex wins, as in a scan
+            thirdpartyNames.computeIfAbsent(type, k -> new HashMap<>())
+                .putIfAbsent(ignoreCaseKey(thirdpartyName), thirdpartyName);
+        }
+    }
+
+    /* Equal for strings that are equal by String.equalsIgnoreCase() */
+    private static String ignoreCaseKey(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
     private String normalizeThirdpartyName(String value, String vertexType) {
         String name = value.split("\\s+")[0];
-        List<JsonObject> dbList = V(INFRA_VERTEX_ID).out().hasType(vertexType).toList();
-        for (JsonObject item : dbList) {
-            String thirdpartyName = item.getString("name");
-            if (name.equalsIgnoreCase(thirdpartyName)) {
-                return thirdpartyName;
-            }
-        }
-        return value;
+        String thirdpartyName = thirdpartyNames.getOrDefault(vertexType, Collections.emptyMap())
+            .get(ignoreCaseKey(name));
+        return thirdpartyName != null ? thirdpartyName : value;
     }
 
     private void createDatabaseEdge(JsonObject sourceComponent, JsonObject detailsJson, String vertexType, String edgeType) {
@@ -419,6 +511,7 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
             dbVertex.put(F_TYPE, vertexType);
             dbVertex.put("fromInventory", true);
             graph.addVertex(INFRA_VERTEX_ID, dbVertex);
+            addThirdpartyName(dbVertex);
         }
 
         graph.addEdge(sourceComponent, dbVertex, new JsonObject().put("type", edgeType));
@@ -463,7 +556,7 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
         }
     }
 
-    private void processDependencies(JsonObject component) {
+    private void processDependencies(ChangePlan plan, JsonObject component) {
         getLogger().debug("{}: Processing http dependencies", component.getString(F_ID));
         JsonObject dependencies = (JsonObject) JsonPointer.from("/details/dependencies").queryJson(component);
         if (dependencies == null) {
@@ -471,10 +564,10 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
             return;
         }
         COMP_DEPENDENCY_TYPES.forEach((key, value) ->
-            createDependencyEdge(component, (JsonArray) JsonPointer.from(value).queryJson(component), key));
+            createDependencyEdge(plan, component, (JsonArray) JsonPointer.from(value).queryJson(component), key));
     }
 
-    private void createDependencyEdge(JsonObject sourceComponent, JsonArray dependencies, String type) {
+    private void createDependencyEdge(ChangePlan plan, JsonObject sourceComponent, JsonArray dependencies, String type) {
         if (dependencies == null) {
             return;
         }
@@ -485,36 +578,79 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
                 continue;
             }
 
-            List<JsonObject> destinationComponents = V(V_ROOT).out().hasType(V_DOMAIN).out()
-                    .or(
-                            __.<JsonObject>has(F_MOCK_FLAG, P.neq(true)).has(P_DETAILS_DNS_NAMES, P.containing(dependency))
-                            , __.<JsonObject>has(F_MOCK_FLAG, P.eq(true)).has(P_DETAILS_DNS_NAMES, P.eq(dependency)))
-                    .toList();
+            List<JsonObject> destinationComponents = findComponentsByDnsName(dependency);
             JsonObject destinationComponent;
             String edgeType = null;
             if (destinationComponents.isEmpty()) {
-                destinationComponent = createMockByDnsName(dependency);
-                graph.addVertex(destinationComponent);
-                edgeType = getEdgeType(type, sourceComponent, destinationComponent);
-                this.report.referenceNotFound(sourceComponent, edgeType + " http dependency " + dependency);
+                JsonObject mock = createMockByDnsName(dependency);
+                String mockEdgeType = getEdgeType(type, sourceComponent, mock);
+                destinationComponent = mock;
+                edgeType = mockEdgeType;
+                plan.add(() -> {
+                    graph.addVertex(mock);
+                    this.report.referenceNotFound(sourceComponent, mockEdgeType + " http dependency " + dependency);
+                });
             } else if (destinationComponents.size() == 1) {
                 destinationComponent = destinationComponents.get(0);
             } else {
-                destinationComponent = destinationComponents.get(0);
+                JsonObject first = destinationComponents.get(0);
                 JsonObject another = destinationComponents.get(1);
+                destinationComponent = first;
                 // TODO: Perform such check NOT only when dnsName is referenced. See also: RecreateHttpDependenciesTask
-                this.report.addMessage(GraphReport.CONF_ERROR, destinationComponent,
-                        "Vertices '" + destinationComponent.getString(F_ID) + "' and '" + another.getString(F_ID)
-                        + "' share the same dnsName '" + dependency + "'");
+                plan.add(() -> this.report.addMessage(GraphReport.CONF_ERROR, first,
+                        "Vertices '" + first.getString(F_ID) + "' and '" + another.getString(F_ID)
+                        + "' share the same dnsName '" + dependency + "'"));
             }
 
             if (edgeType == null) {
                 edgeType = getEdgeType(type, sourceComponent, destinationComponent);
             }
-            graph.addEdge(sourceComponent, destinationComponent,
-                new JsonObject().put(F_TYPE, edgeType).put("protocol", "http")
-            );
+            JsonObject edge = new JsonObject().put(F_TYPE, edgeType).put("protocol", "http");
+            JsonObject destination = destinationComponent;
+            plan.add(() -> graph.addEdge(sourceComponent, destination, edge));
+        }
+    }
+
+    /* Same matching as: V(V_ROOT).out().hasType(V_DOMAIN).out().or(
+     *      has(F_MOCK_FLAG, neq(true)).has(P_DETAILS_DNS_NAMES, containing(dnsName)),
+     *      has(F_MOCK_FLAG, eq(true)).has(P_DETAILS_DNS_NAMES, eq(dnsName))) */
+    private void indexDnsNames() {
+        componentsByDnsName = new HashMap<>();
+        componentsWithDnsNamesString = new ArrayList<>();
+        for (JsonObject component : V(V_ROOT).out().hasType(V_DOMAIN).out().toList()) {
+            Object dnsNames = DNS_NAMES_PTR.queryJson(component);
+            boolean mock = Boolean.TRUE.equals(component.getValue(F_MOCK_FLAG));
+            if (dnsNames instanceof String) {
+                if (mock) {
+                    componentsByDnsName.computeIfAbsent((String) dnsNames, k -> new ArrayList<>()).add(component);
+                } else {
+                    componentsWithDnsNamesString.add(component);
+                }
+            } else if (dnsNames instanceof JsonArray && !mock) {
+                for (Object dnsName : new LinkedHashSet<>(((JsonArray) dnsNames).getList())) {
+                    if (dnsName instanceof String) {
+                        componentsByDnsName.computeIfAbsent((String) dnsName, k -> new ArrayList<>()).add(component);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<JsonObject> findComponentsByDnsName(String dnsName) {
+        List<JsonObject> found = componentsByDnsName.getOrDefault(dnsName, Collections.emptyList());
+        List<JsonObject> foundByString = componentsWithDnsNamesString.stream()
+            .filter(c -> DNS_NAMES_PTR.queryJson(c).toString().contains(dnsName))
+            .collect(Collectors.toList());
+        if (foundByString.isEmpty()) {
+            return found;
         }
+        // Rare case: restore the traversal order of both kinds of matches
+        Set<JsonObject> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        matches.addAll(found);
+        matches.addAll(foundByString);
+        return V(V_ROOT).out().hasType(V_DOMAIN).out().toList().stream()
+            .filter(matches::contains)
+            .collect(Collectors.toList());
     }
 
     private JsonObject createMockByDnsName(String dnsName) {
@@ -534,6 +670,7 @@ public class SetEdgesBetweenComponentsVerticle extends FlowTask {
 
     // XXX Specific support for "graphql" edge type. It should be reviewed.
     private static final JsonPointer DNS_NAME_PTR = JsonPointer.from(P_DETAILS_DNS_NAME);
+    private static final JsonPointer DNS_NAMES_PTR = JsonPointer.from(P_DETAILS_DNS_NAMES);
 
     private static String getEdgeType(String type, JsonObject sourceComponent, JsonObject destinationComponent) {
         if (   isGqls(destinationComponent)
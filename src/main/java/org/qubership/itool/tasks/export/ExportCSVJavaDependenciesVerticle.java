@@ -20,7 +20,6 @@ import io.vertx.core.json.JsonObject;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.qubership.itool.modules.gremlin2.P;
-import org.qubership.itool.modules.gremlin2.graph.GraphTraversal;
 import org.qubership.itool.utils.FSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,10 +27,6 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.*;
 
-import static org.qubership.itool.modules.gremlin2.P.eq;
-import static org.qubership.itool.modules.gremlin2.P.neq;
-import static org.qubership.itool.modules.gremlin2.graph.__.outE;
-import static org.qubership.itool.modules.gremlin2.graph.__.select;
 
 public class ExportCSVJavaDependenciesVerticle extends AbstractExportVerticle {
     protected Logger LOG = LoggerFactory.getLogger(ExportCSVJavaDependenciesVerticle.class);
@@ -53,26 +48,9 @@ public class ExportCSVJavaDependenciesVerticle extends AbstractExportVerticle {
 
         List<JsonObject> components = V().hasType("domain").out().toList();
         for (JsonObject component : components) {
-            // directDependencies ================================
-            GraphTraversal<JsonObject, JsonObject> directTraversal =
-                V(component.getString("id")).as("C").out("module")
-                    .outE("dependency")
-                    .has("scope", neq("test"))
-                    .has("component", eq(select("C").id()))
-                    .inV().dedup();
-            componentDirectDep.add(Pair.of(component, directTraversal.clone().toList()));
-
-            // transitiveDependencies ============================
-            List<JsonObject> transitiveDependencies =
-                directTraversal.clone()
-                    .outE("dependency").has("scope", neq("test")).inV().dedup()
-                    .repeat(
-                        outE("dependency")
-                            .has("scope", neq("test"))
-                            .has("component", eq(select("C").id()))
-                            .inV().dedup()
-                    ).emit().dedup().toList();
-            componentTransitiveDep.add(Pair.of(component, transitiveDependencies));
+            String componentId = component.getString("id");
+            componentDirectDep.add(Pair.of(component, dependencyIndex.getDirectDependencies(componentId)));
+            componentTransitiveDep.add(Pair.of(component, dependencyIndex.getLooseTransitiveDependencies(componentId)));
         }
 
         Map<String, JavaDependency> map = new HashMap<>();
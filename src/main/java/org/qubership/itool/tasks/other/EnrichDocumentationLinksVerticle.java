@@ -39,10 +39,12 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.qubership.itool.modules.graph.Graph.F_DIRECTORY;
+import static org.qubership.itool.modules.graph.Graph.F_ID;
 import static org.qubership.itool.modules.graph.Graph.V_DOMAIN;
 
 public class EnrichDocumentationLinksVerticle extends AbstractAggregationTaskVerticle {
     protected Logger LOGGER = LoggerFactory.getLogger(EnrichDocumentationLinksVerticle.class);
+    private static final String WORKER_POOL = "enrichment-worker-pool";
 
     @Override
     protected Logger getLogger() {
@@ -60,7 +62,7 @@ public class EnrichDocumentationLinksVerticle extends AbstractAggregationTaskVer
     @Override
     protected void taskStart(Promise<?> taskPromise) throws Exception {
         Integer coresCount = CpuCoreSensor.availableProcessors();
-        WorkerExecutor executor = vertx.createSharedWorkerExecutor("enrichment-worker-pool"
+        WorkerExecutor executor = vertx.createSharedWorkerExecutor(WORKER_POOL
                 , coresCount
                 , 10
                 , TimeUnit.MINUTES);
@@ -71,7 +73,8 @@ public class EnrichDocumentationLinksVerticle extends AbstractAggregationTaskVer
 
         List<Future> blockingFutures = new ArrayList<>();
         for (JsonObject component : components) {
-            blockingFutures.add(executor.executeBlocking(promise -> enrichComponentWithDocs(component, promise)));
+            blockingFutures.add(executor.executeBlocking(tracer.traceBlocking(WORKER_POOL, component.getString(F_ID), null,
+                    promise -> enrichComponentWithDocs(component, promise))));
         }
         completeCompositeTask(blockingFutures, taskPromise);
     }
@@ -23,8 +23,13 @@ import io.vertx.core.WorkerExecutor;
 import io.vertx.core.impl.cpu.CpuCoreSensor;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.pointer.JsonPointer;
 import org.apache.camel.util.AntPathMatcher;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.qubership.itool.modules.files.FileContent;
+import org.qubership.itool.modules.files.FileIndex;
+import org.qubership.itool.modules.profiling.ComponentParseEvent;
+import org.qubership.itool.modules.profiling.FileParseEvent;
 import org.qubership.itool.modules.report.GraphReport;
 
 import java.io.File;
@@ -38,6 +43,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import javax.annotation.Resource;
+
 import static org.qubership.itool.modules.graph.Graph.F_DIRECTORY;
 import static org.qubership.itool.modules.graph.Graph.F_ID;
 import static org.qubership.itool.modules.graph.Graph.V_DOMAIN;
@@ -46,11 +53,15 @@ public abstract class AbstractInclusiveParseFileTask extends FlowTask {
 
     protected static final String LINE_BREAK_REGEX = "[\\n\\r]{1,2}";
     protected static final Pattern LINE_BREAK_PATTERN = Pattern.compile(LINE_BREAK_REGEX);
+    protected static final String WORKER_POOL = "parsing-worker-pool";
+
+    @Resource
+    protected FileIndex fileIndex;
 
     @Override
     protected void taskStart(Promise<?> taskPromise) throws Exception {
         Integer coresCount = CpuCoreSensor.availableProcessors();
-        WorkerExecutor executor = vertx.createSharedWorkerExecutor("parsing-worker-pool"
+        WorkerExecutor executor = vertx.createSharedWorkerExecutor(WORKER_POOL
                 , coresCount
                 , 10
                 , TimeUnit.MINUTES);
@@ -75,31 +86,49 @@ public abstract class AbstractInclusiveParseFileTask extends FlowTask {
      */
     protected abstract String[] getFilePatterns();
 
-    protected abstract void parseSingleFile(JsonObject domain, JsonObject component, String fileName)
+    /*
+     * Parse a single file. The content is read from disk once, and may be shared
+     * with other tasks parsing the same file (see {@link FusedParseFileTask}).
+     */
+    protected abstract void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content)
             throws IOException;
 
+    /*
+     * Aggregate metrics of matched files, by names of fields to store them to. Tasks declaring metrics
+     * do not parse files: the metrics are computed from file attributes while walking the file tree,
+     * and written to the object at {@link #getFileMetricsPointer()} once per component having matched files.
+     * New fields are added in the order of their names.
+     */
+    protected Map<String, FileStatistics.Metric> getFileMetrics() {
+        return null;
+    }
+
+    /* Location of the object in a component to store {@link #getFileMetrics()} to */
+    protected JsonPointer getFileMetricsPointer() {
+        return null;
+    }
+
+    protected boolean isAggregateOnly() {
+        return getFileMetrics() != null;
+    }
+
+    /* Features of this task, for {@link FusedParseFileTask} to check them per member */
+    String[] getFeatures() {
+        return features();
+    }
+
+    /*
+     * Called once all files of the component are parsed by this task. Tasks collecting results
+     * of separate files may store them to the component here.
+     */
+    protected void componentParsed(JsonObject domain, JsonObject component) {
+    }
+
 
     @SuppressWarnings("rawtypes")
     protected List<Future> parseFiles(WorkerExecutor executor, String ... filePatterns) {
 
-        // Pre-parse patterns
-        List<String> simplePatterns = new ArrayList<>();
-        List<Pattern> shallowPatterns = new ArrayList<>();
-        List<String> deepPatterns = new ArrayList<>();
-
-        for (String filePattern: filePatterns) {
-            if (!filePattern.contains("*") && !filePattern.contains("?")) {
-                simplePatterns.add(filePattern);
-            } else if (!filePattern.contains("/")) {
-                Pattern regex = Pattern.compile(
-                        (filePattern.startsWith("*.") ? "^." : "^") // Pattern "*.ext" requires non-empty part before dot
-                                + filePattern.replace(".", "\\.").replace("*", ".*")
-                                + (filePattern.endsWith(".*") ? ".$" : "$")); // Pattern "name.*" requires non-empty extension
-                shallowPatterns.add(regex);
-            } else {
-                deepPatterns.add(filePattern);
-            }
-        }
+        FilePatterns patterns = new FilePatterns(filePatterns);
 
         // Find components
         List<Future> futures = new ArrayList<>();
@@ -111,40 +140,96 @@ public abstract class AbstractInclusiveParseFileTask extends FlowTask {
             getLogger().debug("Queue the parsing of files for {} component", component.getString("id"));
 
             // Async parallel executions: one Future task per component. Scan files, then read needed ones.
-            Future future = executor.executeBlocking(promise -> {
+            JsonObject traceArgs = new JsonObject().put("task", getTaskAddress());
+            Future future = executor.executeBlocking(tracer.traceBlocking(WORKER_POOL, component.getString(F_ID), traceArgs, promise -> {
                 long startTime = System.nanoTime();
-                List<String> pathList = findAllFiles(component, simplePatterns, shallowPatterns, deepPatterns);
-                for (String fileName: pathList) {
-                    try {
-                        parseSingleFile(domain, component, fileName);
-                    } catch (Exception /*| DecodeException*/ e) {
-                        this.report.addMessage(
-                                GraphReport.EXCEPTION, component,
-                                "Parsing of file " + fileName + " failed:\n" + ExceptionUtils.getStackTrace(e));
+                ComponentParseEvent event = new ComponentParseEvent(getTaskAddress(), component.getString(F_ID));
+                event.begin();
+                int filesCount;
+                if (isAggregateOnly()) {
+                    filesCount = aggregateFiles(component, patterns);
+                } else {
+                    List<String> pathList = findAllFiles(component, patterns);
+                    for (String fileName: pathList) {
+                        parseSingleFileSafe(domain, component, fileName, new FileContent(fileName));
                     }
+                    filesCount = pathList.size();
                 }
+                componentParsed(domain, component);
                 long endTime = System.nanoTime();
                 long processingTime = endTime - startTime;
                 getLogger().debug("Processing time for component " + component.getValue("id") + ": " + Duration.ofNanos(processingTime));
+                event.setFiles(filesCount);
+                event.commit();
 
                 promise.complete();
-            }, false);
+            }), false);
             futures.add(future);
         }
 
         return futures;
     }
 
+    protected void parseSingleFileSafe(JsonObject domain, JsonObject component, String fileName, FileContent content) {
+        FileParseEvent event = new FileParseEvent(getTaskAddress(), component.getString(F_ID), fileName);
+        event.begin();
+        try {
+            parseSingleFile(domain, component, fileName, content);
+        } catch (Exception /*| DecodeException*/ e) {
+            this.report.addMessage(
+                    GraphReport.EXCEPTION, component,
+                    "Parsing of file " + fileName + " failed:\n" + ExceptionUtils.getStackTrace(e));
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.setSize(content.size());
+            event.commit();
+        }
+    }
+
+    /* Compute {@link #getFileMetrics()} for files of the component and store them. Returns the number of files. */
+    protected int aggregateFiles(JsonObject component, FilePatterns patterns) {
+        FileStatistics statistics = new FileStatistics();
+        walkFiles(component, patterns.simplePatterns, patterns.shallowPatterns, patterns.deepPatterns, null, statistics);
+        if (statistics.getCount() == 0) {
+            return 0;
+        }
+        JsonPointer pointer = getFileMetricsPointer();
+        synchronized (component) {
+            JsonObject metrics = (JsonObject) pointer.queryJson(component);
+            if (metrics == null) {
+                metrics = new JsonObject();
+            }
+            // Sorted, so that fields are written in the same order whatever map the task returns
+            for (Map.Entry<String, FileStatistics.Metric> metric : new TreeMap<>(getFileMetrics()).entrySet()) {
+                metrics.put(metric.getKey(), statistics.getValue(metric.getValue(), component));
+            }
+            pointer.writeJson(component, metrics, true);
+        }
+        return statistics.getCount();
+    }
+
     protected List<Map<String, JsonObject>> getComponentsWithDomains() {
         return V().hasType(V_DOMAIN).as("D")
                 .out().hasKeys(F_DIRECTORY).as("C")
                 .<JsonObject>select("D", "C").toList();
     }
 
+    protected List<String> findAllFiles(JsonObject component, FilePatterns patterns) {
+        return findAllFiles(component, patterns.simplePatterns, patterns.shallowPatterns, patterns.deepPatterns);
+    }
+
     protected List<String> findAllFiles(JsonObject component,
                                         List<String> simplePatterns, List<Pattern> shallowPatterns, List<String> deepPatterns) {
-
         List<String> result = new ArrayList<>();
+        walkFiles(component, simplePatterns, shallowPatterns, deepPatterns, result, null);
+        getLogger().trace("{}: Found files {}", component.getString(F_ID), result);
+        return result;
+    }
+
+    /* Add matched files either to the result list, or to the statistics */
+    private void walkFiles(JsonObject component, List<String> simplePatterns, List<Pattern> shallowPatterns,
+                           List<String> deepPatterns, List<String> result, FileStatistics statistics) {
         String directoryPath = component.getString(F_DIRECTORY);
 
         JsonArray excludeDirs = component.getJsonArray("excludeDirs");
@@ -156,28 +241,33 @@ public abstract class AbstractInclusiveParseFileTask extends FlowTask {
         for (String filePattern : simplePatterns) {
             if (!isExcluded(topDirExcludes, Path.of(filePattern), Path.of(directoryPath))) {
                 File file = new File(directoryPath, filePattern);
-                if (file.isFile()) {
-                    result.add(file.getPath());
+                BasicFileAttributes attrs = fileIndex.getRegularFileAttributes(file.toPath());
+                if (attrs != null) {
+                    if (statistics != null) {
+                        statistics.add(file.getPath(), attrs.size());
+                    } else {
+                        result.add(file.getPath());
+                    }
                 }
             }
         }
 
         if (shallowPatterns.isEmpty() && deepPatterns.isEmpty()) {
-            return result;
+            return;
         }
 
         Path basePath = FileSystems.getDefault().getPath(directoryPath);
         PathAccumulatorVisitor<Path> visitor = new PathAccumulatorVisitor<>(basePath, shallowPatterns, deepPatterns, topDirExcludes);
+        visitor.statistics = statistics;
         try {
-            Files.walkFileTree(basePath, visitor);
+            fileIndex.walkFileTree(basePath, visitor);
         } catch (UncheckedIOException|IOException e) {
             report.addMessage(GraphReport.EXCEPTION, component,
                     "Critical failure during file walking procedure:\n" + ExceptionUtils.getStackTrace(e));
         }
-        visitor.getPaths().forEach(path -> result.add(path.toString()));
-
-        getLogger().trace("{}: Found files {}", component.getString(F_ID), result);
-        return result;
+        if (result != null) {
+            visitor.getPaths().forEach(path -> result.add(path.toString()));
+        }
     }
 
     protected boolean isExcluded(Collection<Path> topDirExcludes, Path relativePath, Path fileDirectory) {
@@ -190,12 +280,37 @@ public abstract class AbstractInclusiveParseFileTask extends FlowTask {
         return false;
     }
 
+    /* File patterns of a task, pre-parsed by type. See {@link #getFilePatterns()} */
+    protected static class FilePatterns {
+        final List<String> simplePatterns = new ArrayList<>();
+        final List<Pattern> shallowPatterns = new ArrayList<>();
+        final List<String> deepPatterns = new ArrayList<>();
+
+        public FilePatterns(String... filePatterns) {
+            for (String filePattern: filePatterns) {
+                if (!filePattern.contains("*") && !filePattern.contains("?")) {
+                    simplePatterns.add(filePattern);
+                } else if (!filePattern.contains("/")) {
+                    Pattern regex = Pattern.compile(
+                            (filePattern.startsWith("*.") ? "^." : "^") // Pattern "*.ext" requires non-empty part before dot
+                                    + filePattern.replace(".", "\\.").replace("*", ".*")
+                                    + (filePattern.endsWith(".*") ? ".$" : "$")); // Pattern "name.*" requires non-empty extension
+                    shallowPatterns.add(regex);
+                } else {
+                    deepPatterns.add(filePattern);
+                }
+            }
+        }
+    }
+
     class PathAccumulatorVisitor<T extends Path> extends SimpleFileVisitor<T> {
         List<T> paths = new ArrayList<>();
         List<Pattern> shallowPatterns;
         List<String> deepPatterns;
         Collection<Path> topDirExcludes;
         Path basePath;
+        // When set, matched files are counted here instead of being collected
+        FileStatistics statistics;
 
         public PathAccumulatorVisitor(Path basePath, List<Pattern> shallowPatterns, List<String> deepPatterns, Collection<Path> topDirExcludes) {
             this.basePath = basePath;
@@ -208,6 +323,16 @@ public abstract class AbstractInclusiveParseFileTask extends FlowTask {
             return paths;
         }
 
+        private void accept(T file, BasicFileAttributes attrs) {
+            if (statistics != null) {
+                // Attributes replayed from a listing of a previous run may be outdated
+                BasicFileAttributes current = fileIndex.getRegularFileAttributes(file);
+                statistics.add(file.toString(), current != null ? current.size() : attrs.size());
+            } else {
+                paths.add(file);
+            }
+        }
+
         @Override
         public FileVisitResult visitFile(T file, BasicFileAttributes attrs) throws IOException {
             super.visitFile(file, attrs);
@@ -217,7 +342,7 @@ public abstract class AbstractInclusiveParseFileTask extends FlowTask {
 
             for (Pattern regex : shallowPatterns) {
                 if (regex.matcher(file.getFileName().toString()).matches()) {
-                    paths.add(file);
+                    accept(file, attrs);
                     return FileVisitResult.CONTINUE;
                 }
             }
@@ -231,7 +356,7 @@ public abstract class AbstractInclusiveParseFileTask extends FlowTask {
                 // Implementation of ANT path matcher from Camel has no pre-compilation,
                 // yet it is still faster than regexp matched against full path.
                 if (AntPathMatcher.INSTANCE.match(deepPattern, relativePathString)) {
-                    paths.add(file);
+                    accept(file, attrs);
                     return FileVisitResult.CONTINUE;
                 }
             }
@@ -16,6 +16,7 @@
 
 package org.qubership.itool.tasks.parsing;
 
+import org.qubership.itool.modules.files.FileContentStore;
 import org.qubership.itool.tasks.FlowTask;
 
 import io.vertx.core.Promise;
@@ -23,11 +24,16 @@ import io.vertx.core.json.JsonObject;
 
 import java.util.*;
 
+import javax.annotation.Resource;
+
 /**
  * Common subclass for data parsers reading from "file" and "directory" elements of the graph
  */
 public abstract class AbstractParseFileDataTask extends FlowTask {
 
+    @Resource
+    protected FileContentStore fileContentStore;
+
     @Override
     protected void taskStart(Promise<?> taskPromise) throws Exception {
 
@@ -30,7 +30,7 @@ public abstract class AbstractParseYamlFileDataTask extends AbstractParseFileDat
 
     @Override
     protected void processFile(JsonObject domain, JsonObject component, JsonObject file) {
-        JsonArray sections = file.getJsonArray("structured");
+        JsonArray sections = (JsonArray) fileContentStore.getStructured(file);
         String filePath = file.getString("path");
         if (sections == null) {
             report.internalError("File " + filePath + " (" + file.getString("id") + ") contains no data or could not be parsed");
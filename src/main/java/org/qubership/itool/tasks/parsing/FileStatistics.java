@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.tasks.parsing;
+
+import io.vertx.core.json.JsonObject;
+import org.qubership.itool.utils.FSUtils;
+
+/**
+ * Aggregate metrics of files matched by a task, computed from file attributes while walking
+ * the file tree. See {@link AbstractInclusiveParseFileTask#getFileMetrics()}.
+ */
+public class FileStatistics {
+
+    public enum Metric {
+        /** Number of files */
+        COUNT,
+        /** Total size of files in bytes */
+        TOTAL_SIZE,
+        /** Size of the largest file in bytes */
+        LARGEST_SIZE,
+        /** Path to the largest file relative to the component directory */
+        LARGEST_FILE
+    }
+
+    private int count;
+    private long totalSize;
+    private long largestSize = -1;
+    private String largestFile;
+
+    public void add(String fileName, long size) {
+        count++;
+        totalSize += size;
+        if (size > largestSize) {
+            largestSize = size;
+            largestFile = fileName;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public Object getValue(Metric metric, JsonObject component) {
+        switch (metric) {
+            case COUNT:
+                return count;
+            case TOTAL_SIZE:
+                return totalSize;
+            case LARGEST_SIZE:
+                return count == 0 ? null : largestSize;
+            case LARGEST_FILE:
+                return largestFile == null ? null : FSUtils.relativePath(component, largestFile);
+            default:
+                throw new IllegalArgumentException("Unknown metric " + metric);
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.itool.tasks.parsing;
+
+import io.vertx.core.Future;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.JsonObject;
+
+import org.qubership.itool.modules.files.FileContent;
+import org.qubership.itool.modules.profiling.ComponentParseEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+
+/**
+ * Several file parsing tasks run as a single stage. Listed in a flow as {@code task1 + task2 + ...}.
+ *
+ * <p>For every component, each member task parses its own files in turn, and the content of a file
+ * matched by several members is read from disk once. Unlike sequential execution of the members,
+ * all members are done with one component before the next member starts on another one, so members
+ * shall not depend on the results of preceding members for other components.
+ *
+ * <p>Features of members are checked per member, as if they ran in sequence: a member with a disabled
+ * feature is left out, and members following {@code lastStep} or a requested break are left out unless
+ * they are unskippable. Progress is saved before the whole stage, under the name of the first member,
+ * if saving is requested for any member. A flow started from any member restores that progress
+ * and runs the whole stage.
+ */
+public class FusedParseFileTask extends AbstractInclusiveParseFileTask {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(FusedParseFileTask.class);
+
+    private final List<AbstractInclusiveParseFileTask> members;
+
+    public FusedParseFileTask(List<AbstractInclusiveParseFileTask> members) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("No tasks to fuse");
+        }
+        this.members = members;
+    }
+
+    @Override
+    protected Logger getLogger() {
+        return LOG;
+    }
+
+    /* The address of the first member. Progress is saved and restored under its name. */
+    @Override
+    public String getTaskAddress() {
+        return members.get(0).getTaskAddress();
+    }
+
+    /* The stage is skipped as a whole on break only if no member is unskippable. Disabled features
+     * are checked per member, see {@link #selectMembers()} */
+    @Override
+    protected String[] features() {
+        for (AbstractInclusiveParseFileTask member : members) {
+            if (Arrays.asList(member.getFeatures()).contains("unskippable")) {
+                return new String[] { "unskippable" };
+            }
+        }
+        return new String[0];
+    }
+
+    @Override
+    protected boolean isLastStep(String lastStep) {
+        return lastStep != null && members.stream()
+                .anyMatch(member -> (TASK_ADDRESS_PREFIX + lastStep).equals(member.getTaskAddress()));
+    }
+
+    @Override
+    protected boolean saveProgressForThisTask(String saveProgress) {
+        return members.stream()
+                .anyMatch(member -> saveProgressForTask(saveProgress, member.getTaskAddress()));
+    }
+
+    /* Members to run, with the same rules as {@link #startInFlow()} applies to separate tasks */
+    List<AbstractInclusiveParseFileTask> selectMembers() {
+        String lastStep = config().getString("lastStep");
+        boolean breakRequested = flowContext.isBreakRequested();
+        List<AbstractInclusiveParseFileTask> selected = new ArrayList<>();
+        for (AbstractInclusiveParseFileTask member : members) {
+            String[] features = member.getFeatures();
+            if (isSkippedOnBreak(breakRequested, features)) {
+                getLogger().info("Task {} is skipped", member.getTaskAddress());
+                continue;
+            }
+            String disabledFeature = findDisabledFeature(features);
+            if (disabledFeature != null) {
+                getLogger().info("Task {} ignored because feature {} is disabled", member.getTaskAddress(), disabledFeature);
+            } else {
+                selected.add(member);
+            }
+            if (lastStep != null && (TASK_ADDRESS_PREFIX + lastStep).equals(member.getTaskAddress())) {
+                breakRequested = true;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public String toString() {
+        return members.stream()
+                .map(AbstractInclusiveParseFileTask::getTaskAddress)
+                .collect(Collectors.joining(" + ", "FusedParseFileTask[", "]"));
+    }
+
+    @Override
+    public String[] reads() {
+        return union(members.stream().map(AbstractInclusiveParseFileTask::reads).collect(Collectors.toList()));
+    }
+
+    @Override
+    public String[] writes() {
+        return union(members.stream().map(AbstractInclusiveParseFileTask::writes).collect(Collectors.toList()));
+    }
+
+    private static String[] union(List<String[]> resources) {
+        if (resources.contains(null)) {
+            return null;
+        }
+        return resources.stream().flatMap(Arrays::stream).distinct().toArray(String[]::new);
+    }
+
+    @Override
+    protected String[] getFilePatterns() {
+        return new String[0];
+    }
+
+    @Override
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content) {
+        // Not called: files are parsed by members, see parseComponentFiles()
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    protected List<Future> parseFiles(WorkerExecutor executor, String... filePatterns) {
+        List<AbstractInclusiveParseFileTask> activeMembers = selectMembers();
+        if (activeMembers.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<FilePatterns> memberPatterns = activeMembers.stream()
+                .map(member -> new FilePatterns(member.getFilePatterns()))
+                .collect(Collectors.toList());
+
+        List<Future> futures = new ArrayList<>();
+        for (Map<String, JsonObject> componentWithDomain : getComponentsWithDomains()) {
+            JsonObject domain = componentWithDomain.get("D");
+            JsonObject component = componentWithDomain.get("C");
+
+            JsonObject traceArgs = new JsonObject().put("task", toString());
+            Future future = executor.executeBlocking(tracer.traceBlocking(WORKER_POOL, component.getString(F_ID), traceArgs, promise -> {
+                long startTime = System.nanoTime();
+                parseComponentFiles(domain, component, activeMembers, memberPatterns);
+                getLogger().debug("Processing time for component " + component.getValue("id") + ": "
+                        + Duration.ofNanos(System.nanoTime() - startTime));
+                promise.complete();
+            }), false);
+            futures.add(future);
+        }
+        return futures;
+    }
+
+    private void parseComponentFiles(JsonObject domain, JsonObject component,
+                                     List<AbstractInclusiveParseFileTask> members, List<FilePatterns> memberPatterns) {
+        // Files found by each member, and the index of the last member needing each file
+        List<List<String>> memberFiles = new ArrayList<>(members.size());
+        Map<String, Integer> lastUse = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            if (members.get(i).isAggregateOnly()) {
+                memberFiles.add(Collections.emptyList());
+                continue;
+            }
+            List<String> files = members.get(i).findAllFiles(component, memberPatterns.get(i));
+            memberFiles.add(files);
+            for (String fileName : files) {
+                lastUse.put(fileName, i);
+            }
+        }
+
+        Map<String, FileContent> contents = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            AbstractInclusiveParseFileTask member = members.get(i);
+            ComponentParseEvent event = new ComponentParseEvent(member.getTaskAddress(), component.getString(F_ID));
+            event.begin();
+            int filesCount = memberFiles.get(i).size();
+            if (member.isAggregateOnly()) {
+                filesCount = member.aggregateFiles(component, memberPatterns.get(i));
+            }
+            for (String fileName : memberFiles.get(i)) {
+                FileContent content = contents.computeIfAbsent(fileName, FileContent::new);
+                member.parseSingleFileSafe(domain, component, fileName, content);
+            }
+            member.componentParsed(domain, component);
+            event.setFiles(filesCount);
+            event.commit();
+            int memberIdx = i;
+            contents.keySet().removeIf(fileName -> lastUse.get(fileName) == memberIdx);
+        }
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package org.qubership.itool.tasks.parsing.configuration;
 
+import org.qubership.itool.modules.files.FileContent;
 import org.qubership.itool.tasks.parsing.AbstractParseFileTask;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -60,7 +61,8 @@ public class ExtractNestedComponentsVerticle extends AbstractParseFileTask {
     }
 
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject topComponent, String fileName) throws IOException {
+    protected void parseSingleFile(JsonObject domain, JsonObject topComponent, String fileName, FileContent content)
+            throws IOException {
 
         JsonObject inventory = JsonUtils.readJsonFile(fileName);
 
@@ -21,6 +21,9 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import io.vertx.core.json.*;
 
+import org.qubership.itool.modules.files.FileContent;
+import org.qubership.itool.modules.files.FileContentStore;
+import org.qubership.itool.modules.parsing.ParseResultCache;
 import org.qubership.itool.utils.FSUtils;
 import org.qubership.itool.utils.GitUtils;
 import org.qubership.itool.utils.YamlParser;
@@ -29,19 +32,36 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Resource;
 
 import static org.qubership.itool.modules.report.GraphReport.EXCEPTION;
 
 /**
  * Store some config files into the graph as "file" and "directory" elements.
  *
+ * <p>Elements of a component are added to the graph once all its files are parsed. Ids of elements
+ * are derived from the component id and the path, so they do not change between runs.
  */
 public class ParseComponentConfFilesVerticle extends AbstractParseFileTask {
     protected Logger LOGGER = LoggerFactory.getLogger(ParseComponentConfFilesVerticle.class);
 
+    @Resource
+    protected FileContentStore fileContentStore;
+    @Resource
+    protected ParseResultCache parseResultCache;
+
+    // Files parsed by component ids, added to the graph once all files of a component are parsed
+    private final Map<String, List<ParsedFile>> parsedFiles = new ConcurrentHashMap<>();
+
     protected String[] getFilePatterns() {
         return new String[]{
             "Dockerfile",
@@ -58,6 +78,16 @@ public class ParseComponentConfFilesVerticle extends AbstractParseFileTask {
         };
     }
 
+    @Override
+    public String[] reads() {
+        return new String[] { "sources" };
+    }
+
+    @Override
+    public String[] writes() {
+        return new String[] { "files" };
+    }
+
     protected boolean isSpringYamlFile(String fileName) {
         String tail = Path.of(fileName).getFileName().toString();
         return "application.yml".equals(tail) || "application.yaml".equals(tail)
@@ -67,90 +97,134 @@ public class ParseComponentConfFilesVerticle extends AbstractParseFileTask {
 
 
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName)
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content)
             throws IOException
     {
         File parsedFile = new File(fileName);
         if (!parsedFile.isFile())
             return;
-        synchronized (component) {
-            String relativePath = FSUtils.relativePath(component, fileName);
-            File file = new File(relativePath);
-            Path filePath = file.toPath();
-            String path = "";
-            JsonObject sourceVertex = component;
+        String relativePath = FSUtils.relativePath(component, fileName);
+        Path filePath = new File(relativePath).toPath();
+        String name = filePath.getName(filePath.getNameCount() - 1).toString();
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < filePath.getNameCount(); i++) {
+            path.append("/").append(filePath.getName(i));
+        }
 
-            for (int i = 0; i < filePath.getNameCount() - 1; i++) {
-                String name = filePath.getName(i).toString();
+        JsonObject vertex = createVertex(component, name, path.toString(), fileName, "file");
+        // Files of a component are parsed by a single thread
+        parsedFiles.computeIfAbsent(component.getString("id"), k -> new ArrayList<>())
+                .add(new ParsedFile(fileName, filePath, vertex));
+        storeFileContent(component, vertex, fileName, content);
+    }
+
+    /* Add all files of the component to the graph, together with directories containing them */
+    @Override
+    protected void componentParsed(JsonObject domain, JsonObject component) {
+        List<ParsedFile> files = parsedFiles.remove(component.getString("id"));
+        if (files == null) {
+            return;
+        }
+        DirectoryNode root = new DirectoryNode(component);
+        for (ParsedFile file : files) {
+            DirectoryNode directory = root;
+            String path = "";
+            for (int i = 0; i < file.relativePath.getNameCount() - 1; i++) {
+                String name = file.relativePath.getName(i).toString();
                 path = path + "/" + name;
-                sourceVertex = getOrCreateDirectoryVertex(component, sourceVertex, name, path, fileName);
+                DirectoryNode subdir = directory.subdirs.get(name);
+                if (subdir == null) {
+                    subdir = new DirectoryNode(getOrCreateVertex(component, directory.vertex,
+                            createVertex(component, name, path, file.fileName, "directory")));
+                    directory.subdirs.put(name, subdir);
+                }
+                directory = subdir;
             }
-
-            String name = filePath.getName(filePath.getNameCount() - 1).toString();
-            path = path + "/" + name;
-            createVertexNode(component, sourceVertex, name, path, fileName, "file");
+            getOrCreateVertex(component, directory.vertex, file.vertex);
         }
     }
 
-    private JsonObject createVertexNode(JsonObject component, JsonObject sourceVertex, String name, String path,
-                                        String fileName, String type) throws IOException {
+    private JsonObject createVertex(JsonObject component, String name, String path, String fileName, String type) {
         String fileLink = GitUtils.buildRepositoryLink(component, fileName.split(name)[0] + name, config());
         JsonObject vertex = new JsonObject();
-        vertex.put("id", UUID.randomUUID());
+        vertex.put("id", vertexId(component, path));
         vertex.put("type", type);
         vertex.put("path", path.substring(1));
         vertex.put("fileLink", fileLink);
         vertex.put("name", name);
-
-        JsonObject edge = new JsonObject().put("type", type);
-        graph.addEdge(sourceVertex, vertex, edge);
-        getLogger().debug("Config file component added. id: {}, type: {}, name: {}, fileLink: {}",
-                vertex.getString("id"), type, name, fileLink);
-
-        if (type.equals("file")) {
-            storeFileContent(component, vertex, fileName);
-        }
-
         return vertex;
     }
 
-    private JsonObject getOrCreateDirectoryVertex(JsonObject component, JsonObject sourceVertex,
-            String name, String path, String fileName)
-            throws IOException
-    {
-        JsonObject successor = V(sourceVertex.getString("id")).out()
-            .has("type", "directory")
-            .has("name", name).next();
-
-        if (successor != null) {
-            sourceVertex = successor;
-        } else {
-            sourceVertex = createVertexNode(component, sourceVertex, name, path, fileName, "directory");
-        }
+    /* Stable between runs: the same component and path give the same id */
+    private static String vertexId(JsonObject component, String path) {
+        return UUID.nameUUIDFromBytes((component.getString("id") + ":" + path).getBytes(StandardCharsets.UTF_8))
+                .toString();
+    }
 
-        return sourceVertex;
+    /* Vertices of a component are stored before, if the task runs again over the same graph */
+    private JsonObject getOrCreateVertex(JsonObject component, JsonObject sourceVertex, JsonObject vertex) {
+        String type = vertex.getString("type");
+        JsonObject existing = graph.getVertex(vertex.getString("id"));
+        if (existing != null) {
+            if (type.equals("file")) {
+                existing.mergeIn(vertex);
+            }
+            return existing;
+        }
+        JsonObject edge = new JsonObject().put("type", type);
+        graph.addEdge(sourceVertex, vertex, edge);
+        getLogger().debug("{}: Config file component added. id: {}, type: {}, name: {}, fileLink: {}",
+                component.getString("id"), vertex.getString("id"), type, vertex.getString("name"),
+                vertex.getString("fileLink"));
+        return vertex;
     }
 
-    private void storeFileContent(JsonObject component, JsonObject vertex, String fileName) throws IOException {
-        String content = FSUtils.readFileAsIs(fileName);
-        vertex.put("content", content);
+    private void storeFileContent(JsonObject component, JsonObject vertex, String fileName, FileContent fileContent)
+            throws IOException {
+        String content = fileContent.getText();
+        Object structured = null;
         try {
             if (fileName.endsWith(".yaml") || fileName.endsWith(".yml")) {
-                YamlParser yamlParser = new YamlParser();
-                List<Object> structuredJson = yamlParser.parseYamlData(content, fileName);
-                if (isSpringYamlFile(fileName)) {
-                    yamlParser.fixSpringYamlModels(structuredJson);
-                }
-                vertex.put("structured", new JsonArray(structuredJson));
+                boolean springYaml = isSpringYamlFile(fileName);
+                structured = parseResultCache.parse(springYaml ? "spring-yaml" : "yaml", content, c -> {
+                    YamlParser yamlParser = new YamlParser();
+                    List<Object> structuredJson = yamlParser.parseYamlData(c, fileName);
+                    if (springYaml) {
+                        yamlParser.fixSpringYamlModels(structuredJson);
+                    }
+                    return new JsonArray(structuredJson);
+                });
             } else if (fileName.endsWith(".json")) {
-                Object data = Json.CODEC.fromString(content, Object.class);
-                vertex.put("structured", data); // Either JsonObject or JsonArray
+                // Either JsonObject or JsonArray
+                structured = parseResultCache.parse("json", content, c -> Json.CODEC.fromString(c, Object.class));
             }
         } catch (Exception e){
             report.addMessage(EXCEPTION, component,
                     "Exception was thrown while handling '" + fileName
                             + "': " + e.getMessage() + "\nStacktrace:\n" + ExceptionUtils.getStackTrace(e));
         }
+        fileContentStore.store(vertex, content, structured);
+    }
+
+    private static class ParsedFile {
+        final String fileName;
+        final Path relativePath;
+        final JsonObject vertex;
+
+        ParsedFile(String fileName, Path relativePath, JsonObject vertex) {
+            this.fileName = fileName;
+            this.relativePath = relativePath;
+            this.vertex = vertex;
+        }
+    }
+
+    private static class DirectoryNode {
+        final JsonObject vertex;
+        final Map<String, DirectoryNode> subdirs = new HashMap<>();
+
+        DirectoryNode(JsonObject vertex) {
+            this.vertex = vertex;
+        }
     }
 
     @Override
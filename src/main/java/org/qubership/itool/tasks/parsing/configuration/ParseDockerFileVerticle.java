@@ -32,6 +32,16 @@ public class ParseDockerFileVerticle extends AbstractParseFileDataTask {
 
     protected Logger LOGGER = LoggerFactory.getLogger(ParseDockerFileVerticle.class);
 
+    @Override
+    public String[] reads() {
+        return new String[] { "files" };
+    }
+
+    @Override
+    public String[] writes() {
+        return new String[] { "details/dockerfile" };
+    }
+
     @Override
     protected List<Map<String, JsonObject>> getTuples() {
         List<Map<String, JsonObject>> tuples = V()
@@ -45,7 +55,8 @@ public class ParseDockerFileVerticle extends AbstractParseFileDataTask {
 
     @Override
     protected void processFile(JsonObject domain, JsonObject component, JsonObject file) {
-        BufferedReader reader = new BufferedReader(new StringReader(file.getString("content", "")));
+        String content = fileContentStore.getContent(file);
+        BufferedReader reader = new BufferedReader(new StringReader(content != null ? content : ""));
 
         String from = null;
         try {
@@ -57,8 +68,10 @@ public class ParseDockerFileVerticle extends AbstractParseFileDataTask {
             return;
         }
 
-        JsonObject details = JsonUtils.getOrCreateJsonObject(component, "details");
-        details.put("dockerfile", new JsonObject().put("imageRoot", from));
+        synchronized (component) {
+            JsonObject details = JsonUtils.getOrCreateJsonObject(component, "details");
+            details.put("dockerfile", new JsonObject().put("imageRoot", from));
+        }
     }
 
     private String readFrom(BufferedReader reader) throws IOException {
@@ -16,12 +16,12 @@
 
 package org.qubership.itool.tasks.parsing.configuration;
 
+import org.qubership.itool.modules.files.FileContent;
 import org.qubership.itool.modules.parsing.InventoryJsonParser;
 import org.qubership.itool.tasks.parsing.AbstractParseFileTask;
 
 import io.vertx.core.json.JsonObject;
 
-import org.qubership.itool.utils.FSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,12 +36,13 @@ public class ParseInventoryFileVerticle extends AbstractParseFileTask {
     }
 
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName) throws IOException {
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content)
+            throws IOException {
         getLogger().info("Parsing {} from {}", fileName, component.getString("id"));
 
         String inventorySource;
         try {
-            inventorySource = FSUtils.readFileSafe(fileName);
+            inventorySource = content.getTextSafe();
         } catch (IOException e) {
             System.out.println("Failed to read " + fileName);
             return;
@@ -16,13 +16,15 @@
 
 package org.qubership.itool.tasks.parsing.configuration;
 
+import org.qubership.itool.modules.files.FileContent;
 import org.qubership.itool.tasks.parsing.AbstractInclusiveParseFileTask;
+import org.qubership.itool.tasks.parsing.FileStatistics;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.pointer.JsonPointer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
+import java.util.Map;
 
 public class ParseSqlFilesVerticle extends AbstractInclusiveParseFileTask {
     protected Logger LOGGER = LoggerFactory.getLogger(ParseSqlFilesVerticle.class);
@@ -35,17 +37,28 @@ public class ParseSqlFilesVerticle extends AbstractInclusiveParseFileTask {
     }
 
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName) throws IOException {
-        JsonObject existingSqlCountJson = (JsonObject) SQL_COUNT_POINTER.queryJson(component);
-        int currentSqlCount = existingSqlCountJson == null ? 1 : existingSqlCountJson.getInteger("sqlCount") + 1;
+    public String[] reads() {
+        return new String[] { "sources" };
+    }
 
-        if (existingSqlCountJson == null) {
-            existingSqlCountJson = new JsonObject();
-        }
+    @Override
+    public String[] writes() {
+        return new String[] { "details/sqlFilesCount" };
+    }
 
-        existingSqlCountJson.put("sqlCount", currentSqlCount);
-        SQL_COUNT_POINTER.writeJson(component, existingSqlCountJson, true);
+    @Override
+    protected Map<String, FileStatistics.Metric> getFileMetrics() {
+        return Map.of("sqlCount", FileStatistics.Metric.COUNT);
+    }
 
+    @Override
+    protected JsonPointer getFileMetricsPointer() {
+        return SQL_COUNT_POINTER;
+    }
+
+    @Override
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content) {
+        // Not called: files are only counted, see getFileMetrics()
     }
 
     @Override
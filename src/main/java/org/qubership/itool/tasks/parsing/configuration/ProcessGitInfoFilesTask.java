@@ -19,6 +19,7 @@ package org.qubership.itool.tasks.parsing.configuration;
 import java.io.IOException;
 
 import org.apache.commons.lang3.StringUtils;
+import org.qubership.itool.modules.files.FileContent;
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.utils.JsonUtils;
 import org.slf4j.Logger;
@@ -43,7 +44,7 @@ public class ProcessGitInfoFilesTask extends AbstractParseFileTask {
     }
 
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName)
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content)
             throws IOException
     {
         JsonObject gitInfo = JsonUtils.readJsonFile(fileName);
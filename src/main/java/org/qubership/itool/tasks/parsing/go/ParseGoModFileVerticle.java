@@ -16,11 +16,11 @@
 
 package org.qubership.itool.tasks.parsing.go;
 
+import org.qubership.itool.modules.files.FileContent;
 import org.qubership.itool.tasks.parsing.AbstractParseFileTask;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.apache.commons.lang3.StringUtils;
-import org.qubership.itool.utils.FSUtils;
 import org.qubership.itool.utils.JsonUtils;
 import org.qubership.itool.utils.TechNormalizationHelper;
 import org.slf4j.Logger;
@@ -53,8 +53,19 @@ public class ParseGoModFileVerticle extends AbstractParseFileTask {
     }
 
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName) throws IOException {
-        String goModSource = FSUtils.readFileSafe(fileName);
+    public String[] reads() {
+        return new String[] { "sources" };
+    }
+
+    @Override
+    public String[] writes() {
+        return new String[] { "details/language", "libraries" };
+    }
+
+    @Override
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content)
+            throws IOException {
+        String goModSource = content.getTextSafe();
         if (goModSource == null) {
             getLogger().warn("{}: File '{}' is missing contents", component.getString("id"), fileName);
             return;
@@ -85,22 +96,24 @@ public class ParseGoModFileVerticle extends AbstractParseFileTask {
             } else if (GO_VERSION_PATTERN.matcher(line).matches()) {
                 JsonObject detectedVersion = TechNormalizationHelper.normalizeTechAsJson(line);
                 if (detectedVersion != null) {
-                    Object versionsObj = LANGUAGE_PATH_POINTER.queryJson(component);
-                    List<JsonObject> versions = JsonUtils.asList(versionsObj);
-                    if (versions == null) {
-                        versions = new ArrayList<>();
-                    }
+                    synchronized (component) {
+                        Object versionsObj = LANGUAGE_PATH_POINTER.queryJson(component);
+                        List<JsonObject> versions = JsonUtils.asList(versionsObj);
+                        if (versions == null) {
+                            versions = new ArrayList<>();
+                        }
 
-                    AtomicBoolean versionFound = new AtomicBoolean(false);
-                    List<JsonObject> languageVersions = versions.stream()
-                            .map(version -> updateGoVersions(version, detectedVersion.getString(F_VERSION), versionFound))
-                            .collect(Collectors.toList());
-                    if (!versionFound.get()) {
-                        getLogger().debug("{}: New language version was added: {}", component.getString(F_ID), detectedVersion.encode());
-                        languageVersions.add(detectedVersion);
-                    }
+                        AtomicBoolean versionFound = new AtomicBoolean(false);
+                        List<JsonObject> languageVersions = versions.stream()
+                                .map(version -> updateGoVersions(version, detectedVersion.getString(F_VERSION), versionFound))
+                                .collect(Collectors.toList());
+                        if (!versionFound.get()) {
+                            getLogger().debug("{}: New language version was added: {}", component.getString(F_ID), detectedVersion.encode());
+                            languageVersions.add(detectedVersion);
+                        }
 
-                    LANGUAGE_PATH_POINTER.writeJson(component, new JsonArray(languageVersions), true);
+                        LANGUAGE_PATH_POINTER.writeJson(component, new JsonArray(languageVersions), true);
+                    }
                 }
             }
         }
@@ -16,6 +16,7 @@
 
 package org.qubership.itool.tasks.parsing.java;
 
+import org.qubership.itool.modules.files.FileContent;
 import org.qubership.itool.tasks.parsing.AbstractParseFileTask;
 
 import io.vertx.core.json.JsonObject;
@@ -39,8 +40,20 @@ public class ParsePomFileVerticle extends AbstractParseFileTask {
     }
 
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName) {
-        LanguageUtils.updateDetailsLanguagesUsingPomFile(graph, component);
+    public String[] reads() {
+        return new String[] { "sources", "files" };
+    }
+
+    @Override
+    public String[] writes() {
+        return new String[] { "details/language" };
+    }
+
+    @Override
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content) {
+        synchronized (component) {
+            LanguageUtils.updateDetailsLanguagesUsingPomFile(graph, component);
+        }
     }
 
     @Override
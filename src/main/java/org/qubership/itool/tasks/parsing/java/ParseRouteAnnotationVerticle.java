@@ -16,19 +16,21 @@
 
 package org.qubership.itool.tasks.parsing.java;
 
+import org.qubership.itool.modules.files.FileContent;
 import org.qubership.itool.tasks.parsing.AbstractParseFileTask;
 
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.pointer.JsonPointer;
 
-import org.qubership.itool.utils.FSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -39,44 +41,86 @@ public class ParseRouteAnnotationVerticle extends AbstractParseFileTask {
 
     final Pattern GATEWAY_TYPE_PATTERN = Pattern.compile("(PUBLIC|PRIVATE|INTERNAL|FACADE)", Pattern.CASE_INSENSITIVE);
     final String ROUTE_ANNOTATION = "@Route";
+    private final byte[] ROUTE_ANNOTATION_BYTES = ROUTE_ANNOTATION.getBytes(StandardCharsets.US_ASCII);
+
+    // Gateways found in files of components being parsed
+    private final Map<String, Set<String>> foundGateways = new ConcurrentHashMap<>();
 
     @Override
     protected String[] getFilePatterns() {
         return new String[] { "*.java" };
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName) throws IOException {
-        getLogger().trace("{}: Searching for @Route annotation in file '{}'", component.getString("id"), fileName);
+    public String[] reads() {
+        return new String[] { "sources" };
+    }
 
-        JsonPointer pluginsPointer = JsonPointer.from("/details/gateways");
-        Set<String> gatewaysSet = new HashSet<>();
-        JsonArray gateways = (JsonArray) pluginsPointer.queryJson(component);
-        if (gateways != null) {
-            gatewaysSet.addAll(gateways.getList());
-        }
+    @Override
+    public String[] writes() {
+        return new String[] { "details/gateways" };
+    }
+
+    @Override
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content)
+            throws IOException {
+        getLogger().trace("{}: Searching for @Route annotation in file '{}'", component.getString("id"), fileName);
 
-        String fileContents = FSUtils.readFileSafe(fileName);
-        String[] fileLines = fileContents.split(LINE_BREAK_REGEX);
+        // Most files have no annotation: look for it in raw bytes, and decode only the lines starting with it
+        byte[] bytes = content.getBytes();
         String componentId = component.getString("id");
-        for (String fileLine : fileLines) {
-            if (fileLine.startsWith(ROUTE_ANNOTATION)) {
-
-                Matcher matcher = GATEWAY_TYPE_PATTERN.matcher(fileLine);
-                if (matcher.find()) {
-                    String gateway = matcher.group().toLowerCase();
-                    gatewaysSet.add(gateway);
-                    getLogger().debug("{}: Route configuration '{}' is found in file '{}'", componentId, gateway, fileName);
-                    break;
-                }
+        for (int pos = indexOfLineStart(bytes, ROUTE_ANNOTATION_BYTES, 0); pos >= 0;
+                pos = indexOfLineStart(bytes, ROUTE_ANNOTATION_BYTES, pos + ROUTE_ANNOTATION_BYTES.length)) {
+            int end = pos;
+            while (end < bytes.length && bytes[end] != '\n' && bytes[end] != '\r') {
+                end++;
+            }
+            String fileLine = new String(bytes, pos, end - pos, StandardCharsets.UTF_8);
+            Matcher matcher = GATEWAY_TYPE_PATTERN.matcher(fileLine);
+            if (matcher.find()) {
+                String gateway = matcher.group().toLowerCase();
+                foundGateways.computeIfAbsent(componentId, k -> ConcurrentHashMap.newKeySet()).add(gateway);
+                getLogger().debug("{}: Route configuration '{}' is found in file '{}'", componentId, gateway, fileName);
+                break;
             }
         }
-        if (!gatewaysSet.isEmpty()) {
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void componentParsed(JsonObject domain, JsonObject component) {
+        Set<String> gatewaysSet = foundGateways.remove(component.getString("id"));
+        if (gatewaysSet == null) {
+            return;
+        }
+        JsonPointer pluginsPointer = JsonPointer.from("/details/gateways");
+        synchronized (component) {
+            JsonArray gateways = (JsonArray) pluginsPointer.queryJson(component);
+            if (gateways != null) {
+                gatewaysSet.addAll(gateways.getList());
+            }
             pluginsPointer.writeJson(component, new JsonArray(gatewaysSet.stream().collect(Collectors.toList())));
         }
     }
 
+    /* Position of the first occurrence of marker at the beginning of a line, or -1 */
+    static int indexOfLineStart(byte[] bytes, byte[] marker, int from) {
+        int last = bytes.length - marker.length;
+        for (int i = from; i <= last; i++) {
+            if (bytes[i] != marker[0] || (i > 0 && bytes[i - 1] != '\n' && bytes[i - 1] != '\r')) {
+                continue;
+            }
+            int j = 1;
+            while (j < marker.length && bytes[i + j] == marker[j]) {
+                j++;
+            }
+            if (j == marker.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @Override
     protected Logger getLogger() {
         return LOG;
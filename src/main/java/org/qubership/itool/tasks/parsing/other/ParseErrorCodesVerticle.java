@@ -26,7 +26,7 @@ import org.commonmark.node.Paragraph;
 import org.commonmark.node.Text;
 import org.commonmark.parser.Parser;
 import org.qubership.itool.modules.graph.Graph;
-import org.qubership.itool.utils.FSUtils;
+import org.qubership.itool.modules.files.FileContent;
 import org.qubership.itool.utils.GitUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,22 +65,34 @@ public class ParseErrorCodesVerticle extends AbstractParseFileTask {
         };
     }
 
+    @Override
+    public String[] reads() {
+        return new String[] { "sources" };
+    }
+
+    @Override
+    public String[] writes() {
+        return new String[] { "errorCodes" };
+    }
+
     @Override
     protected Logger getLogger() {
         return LOGGER;
     }
 
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName) throws IOException {
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content)
+            throws IOException {
         if (fileName.endsWith("troubleshooting-guide.md")) {
-            parseTroubleshootingGuide(domain, component, fileName);
+            parseTroubleshootingGuide(domain, component, fileName, content);
         } else {
-            parseSingleError(domain, component, fileName);
+            parseSingleError(domain, component, fileName, content);
         }
     }
 
-    private void parseTroubleshootingGuide(JsonObject domain, JsonObject component, String fileName) throws IOException {
-        String data = FSUtils.readFileSafe(fileName);
+    private void parseTroubleshootingGuide(JsonObject domain, JsonObject component, String fileName,
+                                           FileContent content) throws IOException {
+        String data = content.getText();
         Node doc = parser.parse(data);
 
         Node pointer = doc.getFirstChild();
@@ -149,10 +161,11 @@ public class ParseErrorCodesVerticle extends AbstractParseFileTask {
         return content;
     }
 
-    private void parseSingleError(JsonObject domain, JsonObject component, String fileName) throws IOException {
+    private void parseSingleError(JsonObject domain, JsonObject component, String fileName,
+                                  FileContent content) throws IOException {
         String code = Path.of(fileName).getFileName().toString().replaceFirst("\\.md$", "");
 
-        String data = FSUtils.readFileSafe(fileName);
+        String data = content.getText();
         Node doc = parser.parse(data);
         String messageText = null;
         String scenarioText = null;
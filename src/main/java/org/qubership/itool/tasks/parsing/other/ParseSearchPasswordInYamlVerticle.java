@@ -21,39 +21,41 @@ import org.qubership.itool.tasks.parsing.AbstractParseFileTask;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import org.qubership.itool.modules.files.FileContent;
 import org.qubership.itool.utils.FSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
 public class ParseSearchPasswordInYamlVerticle extends AbstractParseFileTask {
     protected Logger LOGGER = LoggerFactory.getLogger(ParseSearchPasswordInYamlVerticle.class);
 
-    private static Pattern pattern = Pattern.compile("^\\s*(?![#\\s])-?.*?(password(?!\\w).*?[=:]" +
-            "\\s*((\\$\\{\\S{3,}\\s*:\\s*\\S{3,}\\})|((?!\\$\\{.*\\})(?!.*\\{\\{.*\\}\\})\\S{3,})|(\\S\\{\\{(?!\\s*\\.Values\\.\\w+).*\\}\\})).*?)$",  CASE_INSENSITIVE);
-
     @Override
     protected String[] getFilePatterns() {
         return new String[] {"*.yml", "*.yaml"};
     }
 
     @Override
-    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName) throws IOException {
-        JsonObject details = component.getJsonObject("details");
-        if (details == null) {
-            return;
-        }
+    public String[] reads() {
+        return new String[] { "sources" };
+    }
 
-        String yamlSource = FSUtils.readFileSafe(fileName);
-        if (yamlSource == null) {
+    @Override
+    public String[] writes() {
+        return new String[] { "details/passwords" };
+    }
+
+    @Override
+    protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content)
+            throws IOException {
+        // Most files do not mention passwords at all, skip them without decoding
+        byte[] bytes = content.getBytesSafe();
+        if (bytes == null || !PasswordLineMatcher.mayContainPassword(bytes)) {
             return;
         }
+        String yamlSource = content.getText();
 
         JsonObject fileEntry = new JsonObject();
         JsonArray passwordsList = new JsonArray();
@@ -61,26 +63,44 @@ public class ParseSearchPasswordInYamlVerticle extends AbstractParseFileTask {
             fileEntry.put("profile", "dev");
         }
         fileEntry.put("passwords", passwordsList);
-        for (String row : yamlSource.split("\n\r|\r\n|\r|\n")) {
+        // Same lines as split("\n\r|\r\n|\r|\n")
+        int length = yamlSource.length();
+        int rowStart = 0;
+        while (rowStart < length) {
+            int rowEnd = rowStart;
+            while (rowEnd < length && yamlSource.charAt(rowEnd) != '\n' && yamlSource.charAt(rowEnd) != '\r') {
+                rowEnd++;
+            }
+            String row = yamlSource.substring(rowStart, rowEnd);
             if (checkPattern(row)) {
                 passwordsList.add(row);
             }
+            rowStart = rowEnd + 1;
+            if (rowStart < length && yamlSource.charAt(rowStart) != yamlSource.charAt(rowEnd)
+                    && (yamlSource.charAt(rowStart) == '\n' || yamlSource.charAt(rowStart) == '\r')) {
+                rowStart++;
+            }
         }
 
         if (!passwordsList.isEmpty()) {
-            LOGGER.info("Plain password in YAML found for " + component.getString("id"));
-            JsonObject passwordsPerFile = details.getJsonObject("passwords");
-            if (null == passwordsPerFile) {
-                passwordsPerFile = new JsonObject();
-                details.put("passwords", passwordsPerFile);
+            synchronized (component) {
+                JsonObject details = component.getJsonObject("details");
+                if (details == null) {
+                    return;
+                }
+                LOGGER.info("Plain password in YAML found for " + component.getString("id"));
+                JsonObject passwordsPerFile = details.getJsonObject("passwords");
+                if (null == passwordsPerFile) {
+                    passwordsPerFile = new JsonObject();
+                    details.put("passwords", passwordsPerFile);
+                }
+                passwordsPerFile.put(FSUtils.relativePath(component, fileName), fileEntry);
             }
-            passwordsPerFile.put(FSUtils.relativePath(component, fileName), fileEntry);
         }
     }
 
     public boolean checkPattern(String row){
-        Matcher matcher = pattern.matcher(row);
-        return  matcher.matches();
+        return PasswordLineMatcher.matches(row);
     }
 
     @Override
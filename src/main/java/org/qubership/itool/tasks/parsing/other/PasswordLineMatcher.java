@@ -0,0 +1,280 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.tasks.parsing.other;
+
+import java.util.regex.Pattern;
+
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+
+/**
+ * Finds lines of YAML files containing plain passwords.
+ *
+ * <p>A line matches if it fully matches {@link #REFERENCE_PATTERN}. The pattern is not used for matching:
+ * with nested lookaheads and lazy quantifiers it backtracks heavily on long lines. Instead, every line is
+ * scanned a fixed number of times, so matching takes linear time. Lines and files without "password"
+ * in any case are rejected without scanning.
+ */
+public final class PasswordLineMatcher {
+
+    /** Definition of lines to find */
+    static final Pattern REFERENCE_PATTERN = Pattern.compile("^\\s*(?![#\\s])-?.*?(password(?!\\w).*?[=:]" +
+            "\\s*((\\$\\{\\S{3,}\\s*:\\s*\\S{3,}\\})|((?!\\$\\{.*\\})(?!.*\\{\\{.*\\}\\})\\S{3,})|(\\S\\{\\{(?!\\s*\\.Values\\.\\w+).*\\}\\})).*?)$",  CASE_INSENSITIVE);
+
+    private static final String PASSWORD = "password";
+    private static final String VALUES = ".values.";
+
+    private PasswordLineMatcher() {
+    }
+
+    /**
+     * Check whether UTF-8 encoded content contains "password" in any case.
+     * Content without it has no matching lines.
+     */
+    public static boolean mayContainPassword(byte[] bytes) {
+        int last = bytes.length - PASSWORD.length();
+        for (int i = 0; i <= last; i++) {
+            if ((bytes[i] | 0x20) == 'p' && regionMatchesIgnoreCase(bytes, i, PASSWORD)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether a line contains a plain password.
+     * Same as full match of the line against {@link #REFERENCE_PATTERN}.
+     */
+    public static boolean matches(String line) {
+        if (!containsPassword(line)) {
+            return false;
+        }
+        return new Scan(line.codePoints().toArray()).matches();
+    }
+
+    private static boolean containsPassword(String line) {
+        int last = line.length() - PASSWORD.length();
+        for (int i = 0; i <= last; i++) {
+            if (regionMatchesIgnoreCase(line, i, PASSWORD)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionMatchesIgnoreCase(String line, int from, String lowerCase) {
+        for (int i = 0; i < lowerCase.length(); i++) {
+            if (!equalsIgnoreCase(line.charAt(from + i), lowerCase.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionMatchesIgnoreCase(byte[] bytes, int from, String lowerCase) {
+        for (int i = 0; i < lowerCase.length(); i++) {
+            if (!equalsIgnoreCase(bytes[from + i], lowerCase.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* Case-insensitive comparison for ASCII only, as done by the pattern without UNICODE_CASE */
+    private static boolean equalsIgnoreCase(int c, char lowerCase) {
+        return c == lowerCase || (lowerCase >= 'a' && lowerCase <= 'z' && c == lowerCase - ('a' - 'A'));
+    }
+
+    /* \s of the pattern */
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /* Characters not matched by '.' of the pattern */
+    private static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /* \w of the pattern */
+    private static boolean isWord(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /*
+     * Matching over code points of a line, as the pattern does. Suffix tables give, for every position,
+     * the extent of the runs the pattern may consume from there, so every alternative of the value part
+     * is checked in constant time for every candidate position.
+     *
+     * The pattern is: leading spaces, first other character is not '#', then "password" not followed by
+     * a word character, then '=' or ':', spaces, and a value which is one of:
+     * A. "${" \S{3,} \s* ':' \s* \S{3,} '}'
+     * B. \S{3,} not starting with "${...}" and not followed by "{{...}}"
+     * C. \S "{{" not followed by \s* ".Values." \w, then anything up to the last "}}"
+     * Except for \s and \S runs, nothing can cross a line terminator, nor can anything after the value.
+     */
+    private static class Scan {
+        private final int[] s;
+        private final int n;
+        private final int lastTerminator;
+        private final int[] nextTerminator;     // First line terminator at or after i, or n
+        private final int[] spaceAt;            // First \s at or after i, or n
+        private final int[] nonSpaceAt;         // First \S at or after i, or n
+        private final int[] lastCloseInRun;     // Last '}' in [i, spaceAt[i]), or -1
+        private final int[] nextClose;          // First '}' at or after i, or n
+        private final int[] nextDoubleOpen;     // First "{{" at or after i, or n
+        private final int[] lastDoubleClose;    // Last "}}" ending before i, or -1
+        private final boolean[] colonInRun;     // ':' followed by the rest of A in [i, spaceAt[i])
+
+        Scan(int[] s) {
+            this.s = s;
+            this.n = s.length;
+            nextTerminator = new int[n + 1];
+            spaceAt = new int[n + 1];
+            nonSpaceAt = new int[n + 1];
+            lastCloseInRun = new int[n + 1];
+            nextClose = new int[n + 1];
+            nextDoubleOpen = new int[n + 1];
+            lastDoubleClose = new int[n + 1];
+            colonInRun = new boolean[n + 1];
+
+            nextTerminator[n] = spaceAt[n] = nonSpaceAt[n] = nextClose[n] = nextDoubleOpen[n] = n;
+            lastCloseInRun[n] = -1;
+            int last = -1;
+            for (int i = n - 1; i >= 0; i--) {
+                int c = s[i];
+                boolean space = isSpace(c);
+                if (isLineTerminator(c) && last < 0) {
+                    last = i;
+                }
+                nextTerminator[i] = isLineTerminator(c) ? i : nextTerminator[i + 1];
+                spaceAt[i] = space ? i : spaceAt[i + 1];
+                nonSpaceAt[i] = space ? nonSpaceAt[i + 1] : i;
+                lastCloseInRun[i] = space ? -1 : lastCloseInRun[i + 1] >= 0 ? lastCloseInRun[i + 1] : c == '}' ? i : -1;
+                nextClose[i] = c == '}' ? i : nextClose[i + 1];
+                nextDoubleOpen[i] = c == '{' && i + 1 < n && s[i + 1] == '{' ? i : nextDoubleOpen[i + 1];
+            }
+            lastTerminator = last;
+
+            lastDoubleClose[0] = -1;
+            for (int i = 1; i <= n; i++) {
+                lastDoubleClose[i] = i >= 2 && s[i - 2] == '}' && s[i - 1] == '}' ? i - 2 : lastDoubleClose[i - 1];
+            }
+
+            // Needs lastTerminator, so it is a separate pass
+            colonInRun[n] = false;
+            for (int i = n - 1; i >= 0; i--) {
+                colonInRun[i] = !isSpace(s[i]) && ((s[i] == ':' && closingPart(i + 1)) || colonInRun[i + 1]);
+            }
+        }
+
+        boolean matches() {
+            int start = nonSpaceAt[0];
+            if (start == n || s[start] == '#') {
+                return false;
+            }
+            int password = -1;
+            for (int i = start; i + PASSWORD.length() <= n; i++) {
+                if (regionMatchesIgnoreCase(i, PASSWORD)
+                        && (i + PASSWORD.length() == n || !isWord(s[i + PASSWORD.length()]))) {
+                    password = i;
+                    break;
+                }
+            }
+            if (password < 0) {
+                return false;
+            }
+            // Nothing before the separator crosses a line terminator
+            int limit = nextTerminator[start];
+            for (int q = password + PASSWORD.length(); q < limit; q++) {
+                if ((s[q] == '=' || s[q] == ':') && value(nonSpaceAt[q + 1])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /* Value starting at r, followed by the end of line */
+        private boolean value(int r) {
+            return r < n && (placeholderWithDefault(r) || plainValue(r) || template(r));
+        }
+
+        /* Alternative A */
+        private boolean placeholderWithDefault(int r) {
+            if (r + 1 >= n || s[r] != '$' || s[r + 1] != '{') {
+                return false;
+            }
+            int from = r + 2;
+            int runEnd = spaceAt[from];
+            if (runEnd < from + 3) {
+                return false;
+            }
+            // ':' inside the first \S run, or right after the spaces following it
+            if (colonInRun[from + 3]) {
+                return true;
+            }
+            int colon = nonSpaceAt[runEnd];
+            return colon < n && s[colon] == ':' && closingPart(colon + 1);
+        }
+
+        /* \s* \S{3,} '}' and the end of line, starting at i */
+        private boolean closingPart(int i) {
+            int c = nonSpaceAt[i];
+            if (c >= n) {
+                return false;
+            }
+            int close = lastCloseInRun[c];
+            return close >= c + 3 && close > lastTerminator;
+        }
+
+        /* Alternative B */
+        private boolean plainValue(int r) {
+            int runEnd = spaceAt[r];
+            if (runEnd < r + 3 || runEnd <= lastTerminator) {
+                return false;
+            }
+            if (s[r] == '$' && s[r + 1] == '{' && nextClose[r + 2] < nextTerminator[r + 2]) {
+                return false;
+            }
+            int lineEnd = nextTerminator[r];
+            int open = nextDoubleOpen[r];
+            return !(open < lineEnd && lastDoubleClose[lineEnd] >= open + 2);
+        }
+
+        /* Alternative C */
+        private boolean template(int r) {
+            if (r + 2 >= n || isSpace(s[r]) || s[r + 1] != '{' || s[r + 2] != '{') {
+                return false;
+            }
+            int from = r + 3;
+            int values = nonSpaceAt[from];
+            if (values + VALUES.length() < n && regionMatchesIgnoreCase(values, VALUES)
+                    && isWord(s[values + VALUES.length()])) {
+                return false;
+            }
+            return nextTerminator[from] == n && lastDoubleClose[n] >= from;
+        }
+
+        private boolean regionMatchesIgnoreCase(int from, String lowerCase) {
+            for (int i = 0; i < lowerCase.length(); i++) {
+                if (!equalsIgnoreCase(s[from + i], lowerCase.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
@@ -24,11 +24,13 @@ import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.qubership.itool.modules.files.FileIndex;
 import org.qubership.itool.utils.ConfigUtils;
 import org.qubership.itool.utils.FSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Resource;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -37,6 +39,9 @@ import java.util.stream.Collectors;
 public class RepositoriesCopyToSuperRepositoryVerticle extends AbstractAggregationTaskVerticle {
     protected Logger LOGGER = LoggerFactory.getLogger(RepositoriesCopyToSuperRepositoryVerticle.class);
 
+    @Resource
+    private FileIndex fileIndex;
+
     @Override
     protected String[] features() {
         return new String[]{"repositoryUpdate", "unskippable"};
@@ -68,7 +73,8 @@ public class RepositoriesCopyToSuperRepositoryVerticle extends AbstractAggregati
                                                         Path.of(entry.getKey()).toString(),
                                                         targetDir,
                                                         true)
-                                        );
+                                        )
+                                        .onComplete(rr -> fileIndex.invalidate(targetPath));
                                 return copiedResultFuture;
                             })
                             .collect(Collectors.toList());
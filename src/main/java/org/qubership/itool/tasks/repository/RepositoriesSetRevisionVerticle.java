@@ -22,6 +22,7 @@ import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.qubership.itool.modules.files.FileIndex;
 import org.qubership.itool.modules.git.GitAdapter;
 import org.qubership.itool.utils.ConfigUtils;
 import org.slf4j.Logger;
@@ -29,6 +30,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import javax.annotation.Resource;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.qubership.itool.utils.ConfigProperties.RELEASE_POINTER;
@@ -40,6 +42,9 @@ public class RepositoriesSetRevisionVerticle extends AbstractAggregationTaskVert
     @Nullable
     private GitAdapter gitAdapter;
 
+    @Resource
+    private FileIndex fileIndex;
+
     @Override
     protected String[] features() {
         return new String[]{"repositoryUpdate"};
@@ -61,7 +66,13 @@ public class RepositoriesSetRevisionVerticle extends AbstractAggregationTaskVert
                 .compose(sr -> gitAdapter.submodulesCheckout(sr,
                         ConfigUtils.getConfigValue(RELEASE_POINTER, config()), components))
                 .onFailure(f -> report.internalError("Failed to update repository (" + ExceptionUtils.getStackTrace(f) + ")"))
-                .onComplete(f -> taskCompleted(taskPromise));
+                .onComplete(f -> {
+                    // Checked out sources differ from the ones indexed before
+                    for (JsonObject component : components) {
+                        fileIndex.invalidate(Path.of(component.getString("directoryPath")));
+                    }
+                    taskCompleted(taskPromise);
+                });
     }
 
     @Override
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.dependency;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.*;
+import org.qubership.itool.modules.graph.Graph;
+import org.qubership.itool.modules.graph.GraphImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.qubership.itool.modules.gremlin2.P.eq;
+import static org.qubership.itool.modules.gremlin2.graph.__.select;
+
+public class DependencyEdgesTest {
+
+    private Graph graph;
+    private JsonObject c1;
+    private JsonObject c2;
+    private JsonObject a;
+    private JsonObject b;
+
+    @BeforeEach
+    public void setup() {
+        this.graph = new GraphImpl();
+        this.c1 = new JsonObject().put("id", "c1").put("type", "microservice");
+        this.c2 = new JsonObject().put("id", "c2").put("type", "microservice");
+        this.a = new JsonObject().put("id", "a").put("type", "library");
+        this.b = new JsonObject().put("id", "b").put("type", "library");
+        graph.addVertexUnderRoot(c1);
+        graph.addVertexUnderRoot(c2);
+        graph.addVertexUnderRoot(a);
+        graph.addVertexUnderRoot(b);
+    }
+
+    @Test
+    public void testRepeatedEdges() {
+        long edgeCount = graph.getEdgeCount();
+        DependencyEdges edges = new DependencyEdges(graph, "c1");
+        edges.add(a, b, edge("compile"));
+        edges.add(a, b, edge("compile"));
+        edges.add(a, b, edge("test"));
+
+        Assertions.assertEquals(edgeCount + 2, graph.getEdgeCount());
+        Assertions.assertEquals(2, edges.getAddedCount());
+        Assertions.assertEquals(1, edges.getRepeatedCount());
+    }
+
+    @Test
+    public void testEdgesOfDifferentComponents() {
+        long edgeCount = graph.getEdgeCount();
+        new DependencyEdges(graph, "c1").add(a, b, edge("compile"));
+        new DependencyEdges(graph, "c2").add(a, b, edge("compile"));
+
+        // Every component keeps its own edge
+        Assertions.assertEquals(edgeCount + 2, graph.getEdgeCount());
+    }
+
+    /* Traversals written for edges with a single "component" attribute see the same trees */
+    @Test
+    public void testComponentTraversal() {
+        DependencyEdges edges1 = new DependencyEdges(graph, "c1");
+        edges1.add(c1, a, new JsonObject().put("type", "module"));
+        edges1.add(a, b, edge("compile"));
+        edges1.add(a, b, edge("compile"));
+        DependencyEdges edges2 = new DependencyEdges(graph, "c2");
+        edges2.add(c2, a, new JsonObject().put("type", "module"));
+
+        Assertions.assertEquals(List.of("b"), graph.traversal().V("c1").out("module")
+                .outE("dependency")
+                .has("component", "c1")
+                .inV().dedup().<String>value("id").toList());
+        Assertions.assertEquals(List.of(), graph.traversal().V("c2").out("module")
+                .outE("dependency")
+                .has("component", "c2")
+                .inV().dedup().<String>value("id").toList());
+        // As in SetEdgesBetweenComponentsVerticle
+        Assertions.assertEquals(List.of("b"), graph.traversal().V("c1").as("C").out("module")
+                .outE("dependency")
+                .has("component", eq(select("C").id()))
+                .inV().dedup().<String>value("id").toList());
+
+        List<Map<String, JsonObject>> found = graph.traversal().V("a").outE("dependency").as("E")
+                .<JsonObject>select("E").toList();
+        Assertions.assertEquals(List.of("c1"), found.stream()
+                .map(e -> e.get("E").getString("component")).collect(Collectors.toList()));
+    }
+
+    private static JsonObject edge(String scope) {
+        return new JsonObject().put("type", "dependency").put("scope", scope);
+    }
+
+}
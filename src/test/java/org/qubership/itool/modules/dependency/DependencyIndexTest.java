@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.dependency;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.*;
+import org.qubership.itool.modules.graph.Graph;
+import org.qubership.itool.modules.graph.GraphImpl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DependencyIndexTest {
+
+    private static final List<String> COMPONENTS = List.of("c1", "c2", "c3");
+
+    private Graph graph;
+
+    @BeforeAll
+    public void setup() {
+        this.graph = new GraphImpl();
+    }
+
+    @BeforeEach
+    public void cleanup() {
+        this.graph.clear();
+        createGraph();
+    }
+
+    /*
+        c1: m1 -> a <-> b -> c          c2: m2 -> a -> e -> f
+            m1 -> t (test) -> d                   a -> g
+            m1 -> n (no scope) -> e -> f
+            a -> d (test)
+            g -> h
+        The edge e -> f is in the trees of both components
+     */
+    private void createGraph() {
+        JsonObject c1 = vertex("c1", "microservice");
+        JsonObject c2 = vertex("c2", "microservice");
+        graph.addVertexUnderRoot(c1);
+        graph.addVertexUnderRoot(c2);
+        graph.addVertexUnderRoot(vertex("c3", "microservice"));
+        JsonObject m1 = vertex("m1", "library");
+        JsonObject m2 = vertex("m2", "library");
+        graph.addVertexUnderRoot(m1);
+        graph.addVertexUnderRoot(m2);
+        for (String id : List.of("a", "b", "c", "d", "e", "f", "g", "h", "t", "n")) {
+            graph.addVertexUnderRoot(vertex(id, "library"));
+        }
+        graph.addEdge(c1, m1, new JsonObject().put("type", "module").put("component", "c1"));
+        graph.addEdge(c2, m2, new JsonObject().put("type", "module").put("component", "c2"));
+
+        dependency("m1", "a", "compile", "c1");
+        dependency("m1", "t", "test", "c1");
+        dependency("m1", "n", null, "c1");
+        dependency("a", "b", "compile", "c1");
+        dependency("b", "a", "runtime", "c1");
+        dependency("b", "c", "compile", "c1");
+        dependency("t", "d", "compile", "c1");
+        dependency("a", "d", "test", "c1");
+        dependency("n", "e", "compile", "c1");
+        dependency("g", "h", "compile", "c1");
+
+        dependency("m2", "a", "compile", "c2");
+        dependency("a", "e", "compile", "c2");
+        dependency("a", "g", "provided", "c2");
+        dependency("e", "f", "compile", "c1", "c2");
+    }
+
+    @Test
+    public void testDirect() {
+        assertEquivalent(DependencyIndex::getDirectDependencies);
+        // Edges without scope are followed, test edges are not
+        Assertions.assertEquals(Set.of("a", "n"), ids(index(true).getDirectDependencies("c1")));
+        Assertions.assertEquals(Set.of("a"), ids(index(true).getDirectDependencies("c2")));
+        Assertions.assertEquals(Set.of(), ids(index(true).getDirectDependencies("c3")));
+    }
+
+    @Test
+    public void testTransitive() {
+        assertEquivalent(DependencyIndex::getTransitiveDependencies);
+        Assertions.assertEquals(Set.of("a", "b", "c", "f"), ids(index(true).getTransitiveDependencies("c1")));
+        Assertions.assertEquals(Set.of("f"), ids(index(true).getTransitiveDependencies("c2")));
+    }
+
+    @Test
+    public void testLooseTransitive() {
+        assertEquivalent(DependencyIndex::getLooseTransitiveDependencies);
+        // First step follows edges of c2 as well
+        Assertions.assertEquals(Set.of("a", "b", "c", "f", "h"), ids(index(true).getLooseTransitiveDependencies("c1")));
+        Assertions.assertEquals(Set.of("f"), ids(index(true).getLooseTransitiveDependencies("c2")));
+    }
+
+    @Test
+    public void testReachable() {
+        assertEquivalent(DependencyIndex::getReachableDependencies);
+        // "e" is reached over an edge without scope
+        Assertions.assertEquals(Set.of("a", "b", "c", "e", "f"), ids(index(true).getReachableDependencies("c1")));
+        Assertions.assertEquals(Set.of("e", "f", "g"), ids(index(true).getReachableDependencies("c2")));
+    }
+
+    @Test
+    public void testInvalidatedOnChange() {
+        DependencyIndex index = index(true);
+        index.checkGraph();
+        Assertions.assertEquals(Set.of("a", "n"), ids(index.getDirectDependencies("c1")));
+
+        dependency("m1", "c", "compile", "c1");
+        index.checkGraph();
+        Assertions.assertEquals(Set.of("a", "n", "c"), ids(index.getDirectDependencies("c1")));
+    }
+
+    /* Indexed sets are the same as computed by graph traversals, without repetitions */
+    private void assertEquivalent(BiFunction<DependencyIndex, String, List<JsonObject>> query) {
+        DependencyIndex indexed = index(true);
+        DependencyIndex traversed = index(false);
+        for (String component : COMPONENTS) {
+            List<JsonObject> expected = query.apply(traversed, component);
+            List<JsonObject> actual = query.apply(indexed, component);
+            Assertions.assertEquals(ids(expected), ids(actual), component);
+            Assertions.assertEquals(expected.size(), actual.size(), component);
+        }
+    }
+
+    private DependencyIndex index(boolean enabled) {
+        return new DependencyIndex(enabled, graph);
+    }
+
+    /* A parallel edge for each of the components */
+    private void dependency(String source, String target, String scope, String... components) {
+        for (String component : components) {
+            JsonObject edge = new JsonObject().put("type", "dependency").put("component", component);
+            if (scope != null) {
+                edge.put("scope", scope);
+            }
+            graph.addEdge(graph.getVertex(source), graph.getVertex(target), edge);
+        }
+    }
+
+    private static JsonObject vertex(String id, String type) {
+        return new JsonObject().put("id", id).put("type", type);
+    }
+
+    private static Set<String> ids(List<JsonObject> vertices) {
+        return vertices.stream().map(v -> v.getString("id")).collect(Collectors.toSet());
+    }
+
+}
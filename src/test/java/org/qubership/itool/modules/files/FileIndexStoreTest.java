@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.files;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileIndexStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path root;
+    private FileIndexStore store;
+
+    @BeforeEach
+    void setup() throws IOException {
+        root = tempDir.resolve("repo").toAbsolutePath().normalize();
+        Files.createDirectories(root.resolve("src/main"));
+        Files.writeString(root.resolve("pom.xml"), "<project/>");
+        Files.writeString(root.resolve("src/main/App.java"), "class App {}");
+        store = new FileIndexStore(tempDir.resolve("cache"));
+    }
+
+    @Test
+    void testStoredListingIsReused() throws IOException {
+        List<String> expected = walk(new FileIndex(true, store));
+        assertNotNull(store.load(root));
+
+        assertEquals(expected, walk(new FileIndex(true, store)));
+    }
+
+    @Test
+    void testModifiedFileIsReadWhenOpened() throws IOException {
+        walk(new FileIndex(true, store));
+
+        // Contents of a file change, but modification time of its directory does not
+        Path dir = root.resolve("src/main");
+        FileTime dirTime = Files.getLastModifiedTime(dir);
+        Files.writeString(dir.resolve("App.java"), "class App { int field; }");
+        Files.setLastModifiedTime(dir, dirTime);
+
+        // Files in unchanged directories are not read again by walks
+        FileIndex fileIndex = new FileIndex(true, store);
+        List<String> events = walk(fileIndex);
+        assertTrue(events.stream().anyMatch(e -> e.startsWith("file src/main/App.java 12 ")), events.toString());
+        assertEquals(24, fileIndex.getRegularFileAttributes(dir.resolve("App.java")).size());
+        assertEquals(10, fileIndex.getRegularFileAttributes(root.resolve("pom.xml")).size());
+        assertNull(fileIndex.getRegularFileAttributes(dir.resolve("Missing.java")));
+    }
+
+    @Test
+    void testModifiedDirectoryIsRead() throws IOException {
+        walk(new FileIndex(true, store));
+
+        Path dir = root.resolve("src/main");
+        FileTime dirTime = Files.getLastModifiedTime(dir);
+        Files.writeString(dir.resolve("Added.java"), "class Added {}");
+        Files.setLastModifiedTime(dir, FileTime.fromMillis(dirTime.toMillis() + 2000));
+
+        List<String> events = walk(new FileIndex(true, store));
+        assertTrue(events.stream().anyMatch(e -> e.startsWith("file src/main/Added.java 14 ")), events.toString());
+        assertEquals(walk(null), events);
+    }
+
+    @Test
+    void testRemovedSubdirectoryIsDetected() throws IOException {
+        Files.createDirectories(root.resolve("src/test"));
+        Files.writeString(root.resolve("src/test/AppTest.java"), "class AppTest {}");
+        walk(new FileIndex(true, store));
+
+        // Replace a directory with a file keeping modification time of the parent
+        Path parent = root.resolve("src");
+        FileTime parentTime = Files.getLastModifiedTime(parent);
+        Files.delete(root.resolve("src/test/AppTest.java"));
+        Files.delete(root.resolve("src/test"));
+        Files.writeString(root.resolve("src/test"), "");
+        Files.setLastModifiedTime(parent, parentTime);
+
+        assertEquals(walk(null), walk(new FileIndex(true, store)));
+    }
+
+    private List<String> walk(FileIndex fileIndex) throws IOException {
+        List<String> events = new ArrayList<>();
+        SimpleFileVisitor<Path> visitor = new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                events.add("dir " + root.relativize(dir));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                events.add("file " + root.relativize(file) + " " + attrs.size()
+                        + " " + attrs.lastModifiedTime().toMillis());
+                return FileVisitResult.CONTINUE;
+            }
+        };
+        if (fileIndex != null) {
+            fileIndex.walkFileTree(root, visitor);
+        } else {
+            Files.walkFileTree(root, visitor);
+        }
+        events.sort(null);
+        return events;
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileIndexTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void testReplayVisitsSameFiles() throws IOException {
+        createTree();
+        FileIndex fileIndex = new FileIndex(true);
+
+        assertEquals(walk(null, root), walk(fileIndex, root));
+        // Second walk replays the recorded listing
+        assertEquals(walk(null, root), walk(fileIndex, root));
+        // Subdirectory of an indexed tree
+        assertEquals(walk(null, root.resolve("src")), walk(fileIndex, root.resolve("src")));
+    }
+
+    @Test
+    void testReplayHonorsVisitResults() throws IOException {
+        createTree();
+        FileIndex fileIndex = new FileIndex(true);
+
+        assertEquals(walkSkipping(null, root), walkSkipping(fileIndex, root));
+        assertEquals(walkSkipping(null, root), walkSkipping(fileIndex, root));
+    }
+
+    @Test
+    void testIsRegularFile() throws IOException {
+        createTree();
+        FileIndex fileIndex = new FileIndex(true);
+
+        assertTrue(fileIndex.isRegularFile(root.resolve("pom.xml")));
+        assertTrue(fileIndex.isRegularFile(root.resolve("src/main/App.java")));
+        assertFalse(fileIndex.isRegularFile(root.resolve("src")));
+        assertFalse(fileIndex.isRegularFile(root.resolve("missing.txt")));
+    }
+
+    @Test
+    void testRegularFileAttributes() throws IOException {
+        createTree();
+        for (FileIndex fileIndex : List.of(new FileIndex(true), new FileIndex(false))) {
+            assertEquals(10, fileIndex.getRegularFileAttributes(root.resolve("pom.xml")).size());
+            assertEquals(0, fileIndex.getRegularFileAttributes(root.resolve("target/App.class")).size());
+            assertNull(fileIndex.getRegularFileAttributes(root.resolve("src")));
+            assertNull(fileIndex.getRegularFileAttributes(root.resolve("missing.txt")));
+        }
+    }
+
+    @Test
+    void testInvalidate() throws IOException {
+        createTree();
+        FileIndex fileIndex = new FileIndex(true);
+        walk(fileIndex, root);
+
+        Files.writeString(root.resolve("src/main/Added.java"), "class Added {}");
+        assertFalse(walk(fileIndex, root).contains("file src/main/Added.java 14"));
+
+        fileIndex.invalidate(root.resolve("src/main"));
+        assertEquals(walk(null, root), walk(fileIndex, root));
+    }
+
+    private void createTree() throws IOException {
+        Files.createDirectories(root.resolve("src/main"));
+        Files.createDirectories(root.resolve("src/test/resources"));
+        Files.createDirectories(root.resolve("target"));
+        Files.createDirectories(root.resolve("empty"));
+        Files.writeString(root.resolve("pom.xml"), "<project/>");
+        Files.writeString(root.resolve("src/main/App.java"), "class App {}");
+        Files.writeString(root.resolve("src/main/application.yaml"), "a: b");
+        Files.writeString(root.resolve("src/test/AppTest.java"), "class AppTest {}");
+        Files.writeString(root.resolve("src/test/resources/test.yaml"), "c: d");
+        Files.writeString(root.resolve("target/App.class"), "");
+    }
+
+    private List<String> walk(FileIndex fileIndex, Path start) throws IOException {
+        List<String> events = new ArrayList<>();
+        walk(fileIndex, start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                events.add("pre " + start.relativize(dir) + " " + attrs.isDirectory());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                events.add("file " + start.relativize(file) + " " + attrs.size());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                events.add("post " + start.relativize(dir));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        events.sort(null);  // Order of entries depends on the file system
+        return events;
+    }
+
+    private List<String> walkSkipping(FileIndex fileIndex, Path start) throws IOException {
+        List<String> events = new ArrayList<>();
+        walk(fileIndex, start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                events.add("pre " + start.relativize(dir));
+                return dir.endsWith("target") ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                events.add("file " + start.relativize(file));
+                return file.endsWith("AppTest.java") ? FileVisitResult.SKIP_SIBLINGS : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                events.add("post " + start.relativize(dir));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return events;
+    }
+
+    private static void walk(FileIndex fileIndex, Path start, FileVisitor<Path> visitor) throws IOException {
+        if (fileIndex != null) {
+            fileIndex.walkFileTree(start, visitor);
+        } else {
+            Files.walkFileTree(start, visitor);
+        }
+    }
+
+}
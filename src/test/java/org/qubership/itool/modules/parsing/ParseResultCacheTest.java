@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.parsing;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParseResultCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private final AtomicInteger parsed = new AtomicInteger();
+
+    @Test
+    void testMissIsDecodedAsHit() throws Exception {
+        JsonObject model = new JsonObject().put("name", "a").put("port", 8080L).put("list", new JsonArray().add(1));
+        Object miss = new ParseResultCache(true, cacheDir).parse("json", "a", c -> parse(model));
+
+        // Another run reads the result stored by the first one
+        Object hit = new ParseResultCache(true, cacheDir).parse("json", "a", c -> parse(model));
+        assertEquals(1, parsed.get());
+        assertNotSame(model, miss);
+        assertEquals(miss, hit);
+        assertEquals(8080, ((JsonObject) miss).getValue("port"));
+        assertEquals(8080, ((JsonObject) hit).getValue("port"));
+    }
+
+    @Test
+    void testSharedInMemory() throws Exception {
+        ParseResultCache cache = new ParseResultCache(true, cacheDir);
+        Object first = cache.parse("json", "a", c -> parse(new JsonObject().put("name", "a")));
+        FileUtils.cleanDirectory(cacheDir.toFile());
+
+        Object second = cache.parse("json", "a", c -> parse(new JsonObject().put("name", "a")));
+        assertEquals(1, parsed.get());
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void testMemoryIsBounded() throws Exception {
+        // Fits one encoded array of 3 chars
+        ParseResultCache cache = new ParseResultCache(true, cacheDir, 4);
+        cache.parse("json", "a", c -> parse(new JsonArray().add(1)));
+        cache.parse("json", "b", c -> parse(new JsonArray().add(2)));
+        FileUtils.cleanDirectory(cacheDir.toFile());
+
+        // "a" was evicted by "b" and is parsed again
+        assertEquals(new JsonArray().add(2), cache.parse("json", "b", c -> parse(new JsonArray().add(2))));
+        assertEquals(new JsonArray().add(1), cache.parse("json", "a", c -> parse(new JsonArray().add(1))));
+        assertEquals(3, parsed.get());
+    }
+
+    @Test
+    void testKindsAreSeparate() throws Exception {
+        ParseResultCache cache = new ParseResultCache(true, cacheDir);
+        cache.parse("yaml", "a", c -> parse(new JsonArray().add("yaml")));
+        Object result = cache.parse("spring-yaml", "a", c -> parse(new JsonArray().add("spring")));
+        assertEquals(new JsonArray().add("spring"), result);
+        assertEquals(2, parsed.get());
+    }
+
+    @Test
+    void testFailuresAreNotKept() throws Exception {
+        ParseResultCache cache = new ParseResultCache(true, cacheDir);
+        assertThrows(IllegalStateException.class, () -> cache.parse("json", "a", c -> {
+            throw new IllegalStateException("Broken");
+        }));
+        assertEquals(new JsonArray(), cache.parse("json", "a", c -> parse(new JsonArray())));
+        assertEquals(1, parsed.get());
+    }
+
+    @Test
+    void testDisabled() throws Exception {
+        ParseResultCache cache = new ParseResultCache(false, cacheDir);
+        cache.parse("json", "a", c -> parse(new JsonArray()));
+        cache.parse("json", "a", c -> parse(new JsonArray()));
+        assertEquals(2, parsed.get());
+        try (var files = Files.list(cacheDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private Object parse(Object model) {
+        parsed.incrementAndGet();
+        return model;
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.profiling;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlowProfilerTest {
+
+    private static final long MS = 1_000_000;
+
+    private FlowProfiler profiler;
+
+    @BeforeEach
+    void setup() {
+        profiler = new FlowProfiler(true);
+        // Only collections reported by the test are counted
+        profiler.close();
+    }
+
+    @AfterEach
+    void tearDown() {
+        profiler.close();
+    }
+
+    @Test
+    void testPausesAreAttributedToRunningTasks() {
+        profiler.gcFinished("G1 Young Generation", 3 * MS);
+        TaskProfile first = profiler.taskStarted("task.first");
+        profiler.gcFinished("G1 Young Generation", 5 * MS);
+        TaskProfile second = profiler.taskStarted("task.second");
+        profiler.gcFinished("G1 Old Generation", 7 * MS);
+        profiler.taskFinished(first);
+        profiler.gcFinished("ZGC Pauses", 11 * MS);
+        profiler.taskFinished(second);
+        profiler.gcFinished("G1 Young Generation", 13 * MS);
+
+        JsonObject firstJson = first.toJson();
+        assertEquals(2, firstJson.getLong("gcCount"));
+        assertEquals(12, firstJson.getLong("gcPauseMs"));
+        assertEquals(7, firstJson.getLong("maxGcPauseMs"));
+        assertTrue(firstJson.getBoolean("concurrent"));
+
+        JsonObject secondJson = second.toJson();
+        assertEquals(2, secondJson.getLong("gcCount"));
+        assertEquals(18, secondJson.getLong("gcPauseMs"));
+        assertEquals(11, secondJson.getLong("maxGcPauseMs"));
+
+        JsonObject flow = profiler.toJson();
+        assertEquals(5, flow.getLong("gcCount"));
+        assertEquals(39, flow.getLong("gcPauseMs"));
+        assertEquals(2, flow.getJsonArray("tasks").size());
+    }
+
+    @Test
+    void testConcurrentCyclesAreNotPauses() {
+        TaskProfile task = profiler.taskStarted("task.single");
+        profiler.gcFinished("G1 Concurrent GC", 100 * MS);
+        profiler.gcFinished("ZGC Cycles", 200 * MS);
+        profiler.gcFinished("Shenandoah Cycles", 300 * MS);
+        profiler.gcFinished("ConcurrentMarkSweep", 400 * MS);
+        profiler.gcFinished("Shenandoah Pauses", 2 * MS);
+        profiler.taskFinished(task);
+
+        JsonObject json = task.toJson();
+        assertEquals(1, json.getLong("gcCount"));
+        assertEquals(2, json.getLong("gcPauseMs"));
+        assertFalse(json.getBoolean("concurrent"));
+    }
+
+    @Test
+    void testUnfinishedTasksAreNotReported() {
+        TaskProfile finished = profiler.taskStarted("task.finished");
+        profiler.taskStarted("task.running");
+        profiler.taskFinished(finished);
+
+        assertTrue(finished.isFinished());
+        assertEquals(1, profiler.toJson().getJsonArray("tasks").size());
+        assertEquals("task.finished", profiler.toJson().getJsonArray("tasks").getJsonObject(0).getString("task"));
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.progress;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.itool.modules.graph.Graph;
+import org.qubership.itool.modules.graph.GraphDumpSupport;
+import org.qubership.itool.modules.graph.GraphImpl;
+import org.qubership.itool.modules.report.GraphReport;
+import org.qubership.itool.modules.report.GraphReportImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ProgressJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Graph graph;
+    private GraphReport report;
+    private ProgressJournal journal;
+
+    @BeforeEach
+    public void setup() {
+        this.graph = new GraphImpl();
+        this.report = new GraphReportImpl();
+        this.graph.setReport(report);
+        this.journal = new ProgressJournal(true, tempDir, graph);
+    }
+
+    @Test
+    public void testRestore() throws IOException {
+        JsonObject vertex1 = new JsonObject().put("id", "1");
+        JsonObject vertex1_1 = new JsonObject().put("id", "1_1");
+        JsonObject vertex2 = new JsonObject().put("id", "2");
+        graph.addVertexUnderRoot(vertex1);
+        graph.addVertexUnderRoot(vertex2);
+        graph.addVertex(vertex1, vertex1_1);
+        report.addRecord(new JsonObject().put("id", 1).put("name", "record 1"));
+        journal.checkpoint("task.first");
+        JsonObject first = GraphDumpSupport.dumpToJson(graph, false);
+
+        graph.addEdge(vertex1, vertex2, new JsonObject().put("type", "edge"));
+        vertex1_1.put("name", "changed");
+        report.addRecord(new JsonObject().put("id", 2).put("name", "record 2"));
+        journal.checkpoint("task.second");
+        JsonObject second = GraphDumpSupport.dumpToJson(graph, false);
+
+        graph.removeVertex(vertex2);
+        journal.checkpoint("task.third");
+        JsonObject third = GraphDumpSupport.dumpToJson(graph, false);
+        journal.awaitWrites();
+
+        assertSameData(first, ProgressJournal.read(tempDir, "task.first"));
+        assertSameData(second, ProgressJournal.read(tempDir, "task.second"));
+        assertSameData(third, ProgressJournal.read(tempDir, "task.third"));
+        Assertions.assertNull(ProgressJournal.read(tempDir, "task.unknown"));
+
+        // Only the changes are recorded after the first entry
+        JsonObject entry = readEntry("00002.task.third.json");
+        Assertions.assertEquals(0, entry.getJsonArray("vertices").size());
+        Assertions.assertEquals(new JsonArray().add("2"), entry.getJsonArray("removedVertices"));
+        Assertions.assertNull(entry.getJsonObject("report"));
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        JsonObject vertex1 = new JsonObject().put("id", "1");
+        JsonObject vertex2 = new JsonObject().put("id", "2");
+        graph.addVertexUnderRoot(vertex1);
+        graph.addVertexUnderRoot(vertex2);
+        journal.checkpoint("task.first");
+        graph.addEdge(vertex1, vertex2, new JsonObject().put("type", "edge"));
+        report.addRecord(new JsonObject().put("id", 1).put("name", "record 1"));
+        journal.checkpoint("task.second");
+        JsonObject second = GraphDumpSupport.dumpToJson(graph, false);
+        graph.addVertexUnderRoot(new JsonObject().put("id", "3"));
+        journal.checkpoint("task.third");
+        journal.awaitWrites();
+
+        // Restore in a new flow and replay the graph from the journal
+        Graph restoredGraph = new GraphImpl();
+        restoredGraph.setReport(new GraphReportImpl());
+        ProgressJournal restoredJournal = new ProgressJournal(true, tempDir, restoredGraph);
+        JsonObject dump = restoredJournal.restore("task.second");
+        assertSameData(second, dump);
+        Assertions.assertFalse(Files.exists(tempDir.resolve("00002.task.third.json")));
+
+        GraphDumpSupport.restoreFromJson(restoredGraph, dump);
+        assertSameData(second, GraphDumpSupport.dumpToJson(restoredGraph, false));
+
+        // The journal continues from the restored state
+        restoredGraph.addVertexUnderRoot(new JsonObject().put("id", "4"));
+        restoredJournal.checkpoint("task.third");
+        JsonObject third = GraphDumpSupport.dumpToJson(restoredGraph, false);
+        restoredJournal.awaitWrites();
+
+        JsonObject entry = readEntry("00002.task.third.json");
+        Assertions.assertFalse(entry.getBoolean("reset"));
+        Assertions.assertEquals(1, entry.getJsonArray("vertices").size());
+        assertSameData(third, ProgressJournal.read(tempDir, "task.third"));
+    }
+
+    @Test
+    public void testNewFlowStartsOver() throws IOException {
+        graph.addVertexUnderRoot(new JsonObject().put("id", "1"));
+        journal.checkpoint("task.first");
+        journal.checkpoint("task.second");
+        journal.awaitWrites();
+
+        ProgressJournal newJournal = new ProgressJournal(true, tempDir, graph);
+        newJournal.checkpoint("task.first");
+        newJournal.awaitWrites();
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Assertions.assertEquals(Set.of("00000.task.first.json"),
+                    files.map(f -> f.getFileName().toString()).collect(Collectors.toSet()));
+        }
+        Assertions.assertTrue(readEntry("00000.task.first.json").getBoolean("reset"));
+    }
+
+    @Test
+    public void testFailedWriteDropsLaterEntries() throws IOException {
+        graph.addVertexUnderRoot(new JsonObject().put("id", "1"));
+        journal.checkpoint("task.first");
+        // The entry cannot be written in place of a directory
+        Files.createDirectories(tempDir.resolve("00001.task.second.json.tmp"));
+        graph.addVertexUnderRoot(new JsonObject().put("id", "2"));
+        journal.checkpoint("task.second");
+        graph.addVertexUnderRoot(new JsonObject().put("id", "3"));
+        journal.checkpoint("task.third");
+        JsonObject third = GraphDumpSupport.dumpToJson(graph, false);
+        journal.awaitWrites();
+
+        Assertions.assertNull(ProgressJournal.read(tempDir, "task.second"));
+        // Either dropped, as it was based on the failed entry, or started over after the failure
+        JsonObject restored = ProgressJournal.read(tempDir, "task.third");
+        if (restored != null) {
+            assertSameData(third, restored);
+        }
+
+        graph.addVertexUnderRoot(new JsonObject().put("id", "4"));
+        journal.checkpoint("task.fourth");
+        JsonObject fourth = GraphDumpSupport.dumpToJson(graph, false);
+        journal.awaitWrites();
+        Assertions.assertTrue(readEntry("00003.task.fourth.json").getBoolean("reset"));
+        assertSameData(fourth, ProgressJournal.read(tempDir, "task.fourth"));
+    }
+
+    @Test
+    public void testGapIsRefused() throws IOException {
+        journal.checkpoint("task.first");
+        graph.addVertexUnderRoot(new JsonObject().put("id", "1"));
+        journal.checkpoint("task.second");
+        journal.checkpoint("task.third");
+        journal.awaitWrites();
+        Files.delete(tempDir.resolve("00001.task.second.json"));
+
+        Assertions.assertNotNull(ProgressJournal.read(tempDir, "task.first"));
+        Assertions.assertThrows(IOException.class, () -> ProgressJournal.read(tempDir, "task.third"));
+        ProgressJournal restoredJournal = new ProgressJournal(true, tempDir, graph);
+        Assertions.assertThrows(IOException.class, () -> restoredJournal.restore("task.third"));
+    }
+
+    @Test
+    public void testLargeEntriesAreWrittenDirectly() throws IOException {
+        ProgressJournal unbuffered = new ProgressJournal(true, tempDir, graph, 0);
+        JsonObject vertex1 = new JsonObject().put("id", "1");
+        graph.addVertexUnderRoot(vertex1);
+        report.addRecord(new JsonObject().put("id", 1).put("name", "record 1"));
+        unbuffered.checkpoint("task.first");
+        JsonObject first = GraphDumpSupport.dumpToJson(graph, false);
+        // Written before the checkpoint returns
+        Assertions.assertTrue(Files.exists(tempDir.resolve("00000.task.first.json")));
+
+        vertex1.put("name", "changed");
+        unbuffered.checkpoint("task.second");
+        JsonObject second = GraphDumpSupport.dumpToJson(graph, false);
+
+        assertSameData(first, ProgressJournal.read(tempDir, "task.first"));
+        assertSameData(second, ProgressJournal.read(tempDir, "task.second"));
+    }
+
+    private JsonObject readEntry(String name) throws IOException {
+        return new JsonObject(Files.readString(tempDir.resolve(name)));
+    }
+
+    /* Dumps hold the same vertices, edges and report records, in any order of vertices and edges */
+    private void assertSameData(JsonObject expected, JsonObject actual) {
+        Assertions.assertNotNull(actual);
+        JsonObject expectedGraph = expected.getJsonObject("graph");
+        JsonObject actualGraph = actual.getJsonObject("graph");
+        Assertions.assertEquals(asSet(expectedGraph.getJsonArray("vertexList")),
+                asSet(actualGraph.getJsonArray("vertexList")));
+        Assertions.assertEquals(asSet(expectedGraph.getJsonArray("edgeList")),
+                asSet(actualGraph.getJsonArray("edgeList")));
+        Assertions.assertEquals(expected.getJsonArray("report"), actual.getJsonArray("report"));
+    }
+
+    private static Set<Object> asSet(JsonArray array) {
+        return new HashSet<>(array.getList());
+    }
+
+}
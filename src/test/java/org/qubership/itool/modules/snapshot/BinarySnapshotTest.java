@@ -0,0 +1,209 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.snapshot;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.itool.modules.graph.Graph;
+import org.qubership.itool.modules.graph.GraphDumpSupport;
+import org.qubership.itool.modules.graph.GraphImpl;
+import org.qubership.itool.modules.report.GraphReport;
+import org.qubership.itool.modules.report.GraphReportImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+public class BinarySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Graph graph;
+    private GraphReport report;
+
+    @BeforeEach
+    public void setup() {
+        this.graph = new GraphImpl();
+        this.report = new GraphReportImpl();
+        this.graph.setReport(report);
+    }
+
+    @Test
+    public void testGraphRoundTrip() throws IOException {
+        JsonObject vertex1 = new JsonObject().put("id", "1").put("type", "domain");
+        JsonObject vertex1_1 = new JsonObject().put("id", "1_1").put("type", "microservice")
+                .put("details", new JsonObject()
+                        .put("language", new JsonArray().add(new JsonObject().put("name", "java").put("version", "11")))
+                        .put("dependencies", new JsonArray().add("org.example:lib:1.0").add("org.example:lib:1.0")));
+        JsonObject vertex2 = new JsonObject().put("id", "2").put("type", "microservice");
+
+        this.graph.addVertexUnderRoot(vertex1);
+        this.graph.addVertexUnderRoot(vertex2);
+        this.graph.addVertex(vertex1, vertex1_1);
+        this.graph.addEdge(vertex1, vertex2, new JsonObject().put("type", "edge"));
+        this.graph.addEdge(vertex1_1, vertex2, new JsonObject().put("type", "dependency").put("scope", "test"));
+        this.report.addRecord(new JsonObject().put("id", 1).put("name", "record 1"));
+
+        JsonObject dump = GraphDumpSupport.dumpToJson(graph, false);
+        Path file = tempDir.resolve("task.result" + Snapshots.BINARY_EXTENSION);
+        Snapshots.write(file, dump, false);
+        Assertions.assertTrue(Snapshots.isBinary(file));
+
+        JsonObject restored = Snapshots.read(file);
+        assertSameAsJson(dump, restored);
+
+        // Restored snapshot is a valid dump
+        Graph restoredGraph = GraphDumpSupport.restoreFromJson(restored);
+        Assertions.assertEquals(graph.getVertexCount(), restoredGraph.getVertexCount());
+        Assertions.assertEquals(graph.getEdgeCount(), restoredGraph.getEdgeCount());
+        assertSameAsJson(dump, GraphDumpSupport.dumpToJson(restoredGraph, false));
+    }
+
+    @Test
+    public void testGraphWrittenFromGraph() throws IOException {
+        JsonObject vertex1 = new JsonObject().put("id", "1");
+        JsonObject vertex2 = new JsonObject().put("id", "2");
+        this.graph.addVertexUnderRoot(vertex1);
+        this.graph.addVertexUnderRoot(vertex2);
+        this.graph.addEdge(vertex1, vertex2, new JsonObject().put("type", "edge"));
+
+        this.report.addRecord(new JsonObject().put("id", 1).put("name", "record 1"));
+
+        Path file = tempDir.resolve("task.result" + Snapshots.BINARY_EXTENSION);
+        Snapshots.write(file, graph, false);
+        JsonObject dump = GraphDumpSupport.dumpToJson(graph, false);
+        assertSameAsJson(dump, Snapshots.read(file));
+
+        // Streamed from the graph, the same as written from its dump
+        ByteArrayOutputStream fromDump = new ByteArrayOutputStream();
+        BinarySnapshot.write(fromDump, dump);
+        Assertions.assertArrayEquals(fromDump.toByteArray(), Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testCopyAsJson() throws IOException {
+        JsonObject vertex1 = new JsonObject().put("id", "1").put("count", 3_000_000_000L).put("ratio", 0.5);
+        JsonObject vertex2 = new JsonObject().put("id", "2").put("instant", Instant.ofEpochSecond(1700000000L));
+        this.graph.addVertexUnderRoot(vertex1);
+        this.graph.addVertexUnderRoot(vertex2);
+        this.graph.addEdge(vertex1, vertex2, new JsonObject().put("type", "edge"));
+
+        Path file = tempDir.resolve("task.result" + Snapshots.BINARY_EXTENSION);
+        Snapshots.write(file, graph, false);
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        Snapshots.copyAsJson(file, json);
+        Assertions.assertEquals(Snapshots.read(file).encode(), json.toString(StandardCharsets.UTF_8));
+
+        // JSON dumps are copied as they are
+        Path jsonFile = tempDir.resolve("task.result" + Snapshots.JSON_EXTENSION);
+        Snapshots.write(jsonFile, graph, true);
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        Snapshots.copyAsJson(jsonFile, copy);
+        Assertions.assertArrayEquals(Files.readAllBytes(jsonFile), copy.toByteArray());
+    }
+
+    @Test
+    public void testValues() throws IOException {
+        StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            longString.append("long value ");
+        }
+        JsonObject dump = new JsonObject()
+                .put("string", "Üñíçødé \"quoted\"\n")
+                .put("repeated", new JsonArray().add("value").add("value").add("string"))
+                .put("long", longString.toString())
+                .put("longRepeated", longString.toString())
+                .put("int", 42)
+                .put("negative", -42)
+                .put("maxLong", Long.MAX_VALUE)
+                .put("minLong", Long.MIN_VALUE)
+                .put("double", 0.1)
+                .put("bigInteger", new BigInteger("123456789012345678901234567890"))
+                .put("true", true)
+                .put("false", false)
+                .put("null", null)
+                .put("instant", Instant.ofEpochSecond(1700000000L))
+                .put("binary", new byte[] { 1, 2, 3 })
+                .put("emptyObject", new JsonObject())
+                .put("emptyArray", new JsonArray())
+                .put("records", new JsonArray()
+                        .add(new JsonObject().put("id", "1").put("records", new JsonArray().add(new JsonObject())))
+                        .add(new JsonObject().put("id", "2")))
+                .put("mixed", new JsonArray().add(new JsonObject()).add(1).addNull());
+
+        JsonObject restored = roundTrip(dump);
+        assertSameAsJson(dump, restored);
+        Assertions.assertEquals(Long.MAX_VALUE, restored.getLong("maxLong"));
+    }
+
+    @Test
+    public void testBigDecimal() throws IOException {
+        // Kept exact, unlike JSON parsed into doubles
+        BigDecimal value = new BigDecimal("12345678901234567890.123456789");
+        Assertions.assertEquals(value, roundTrip(new JsonObject().put("value", value)).getValue("value"));
+    }
+
+    @Test
+    public void testNotSnapshot() {
+        byte[] json = new JsonObject().put("graph", new JsonObject()).encode().getBytes();
+        Assertions.assertThrows(IOException.class, () -> BinarySnapshot.read(new ByteArrayInputStream(json)));
+    }
+
+    @Test
+    public void testTruncatedSnapshot() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinarySnapshot.write(out, new JsonObject().put("vertexList", new JsonArray()
+                .add(new JsonObject().put("id", "1"))
+                .add(new JsonObject().put("id", "2"))));
+        byte[] bytes = out.toByteArray();
+        byte[] truncated = new byte[bytes.length - 3];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        Assertions.assertThrows(IOException.class, () -> BinarySnapshot.read(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    public void testJsonFilesAreReadAsBefore() throws IOException {
+        JsonObject dump = new JsonObject().put("graph", new JsonObject().put("vertexList", new JsonArray()));
+        Path file = tempDir.resolve("task.result" + Snapshots.JSON_EXTENSION);
+        Snapshots.write(file, dump, true);
+        Assertions.assertEquals(dump.encodePrettily(), Files.readString(file));
+        Assertions.assertEquals(dump, Snapshots.read(file));
+    }
+
+    private static JsonObject roundTrip(JsonObject dump) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinarySnapshot.write(out, dump);
+        return BinarySnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    /* Snapshots are read the same as their JSON form, with the same order of fields */
+    private static void assertSameAsJson(JsonObject expected, JsonObject actual) {
+        JsonObject parsed = new JsonObject(expected.encode());
+        Assertions.assertEquals(parsed, actual);
+        Assertions.assertEquals(parsed.encode(), actual.encode());
+    }
+
+}
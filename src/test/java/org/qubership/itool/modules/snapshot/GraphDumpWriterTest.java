@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.snapshot;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.itool.modules.graph.Graph;
+import org.qubership.itool.modules.graph.GraphDumpSupport;
+import org.qubership.itool.modules.graph.GraphImpl;
+import org.qubership.itool.modules.report.GraphReport;
+import org.qubership.itool.modules.report.GraphReportImpl;
+import org.qubership.itool.utils.JsonUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GraphDumpWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Graph graph;
+    private GraphReport report;
+
+    @BeforeAll
+    public void setup() {
+        this.graph = new GraphImpl();
+        this.report = new GraphReportImpl();
+        this.graph.setReport(report);
+    }
+
+    @BeforeEach
+    public void cleanup() {
+        this.graph.clear();
+        this.report.clear();
+    }
+
+    @Test
+    public void testEmptyGraph() throws IOException {
+        assertSameOutput(false);
+        assertSameOutput(true);
+    }
+
+    @Test
+    public void testGraph() throws IOException {
+        JsonObject vertex1 = new JsonObject().put("id", "1").put("type", "domain");
+        JsonObject vertex1_1 = new JsonObject().put("id", "1_1")
+                .put("name", "Üñíçødé \"quoted\"\n")
+                .put("count", 42)
+                .put("ratio", 0.5)
+                .put("missing", null)
+                .put("created", Instant.ofEpochSecond(1700000000L))
+                .put("content", new byte[] { 1, 2, 3 })
+                .put("details", new JsonObject().put("list", new JsonArray().add(1).add("two").add(new JsonArray())))
+                .put("empty", new JsonObject());
+        JsonObject vertex2 = new JsonObject().put("id", "2");
+
+        this.graph.addVertexUnderRoot(vertex1);
+        this.graph.addVertexUnderRoot(vertex2);
+        this.graph.addVertex(vertex1, vertex1_1);
+        this.graph.addEdge(vertex1, vertex2, new JsonObject().put("type", "edge"));
+        this.graph.addEdge(vertex1_1, vertex2, new JsonObject().put("type", "dependency").put("scope", "test"));
+        this.graph.addEdge(vertex2, vertex1, new JsonObject().put("type", "dependency"));
+        this.report.addRecord(new JsonObject().put("id", 1).put("name", "record 1"));
+        this.report.addRecord(new JsonObject().put("id", 2).put("name", "record 2"));
+
+        assertSameOutput(false);
+        assertSameOutput(true);
+    }
+
+    /* Streamed output is byte-identical to the dump built by GraphDumpSupport and saved
+     * by JsonUtils, as progress files were written before */
+    private void assertSameOutput(boolean pretty) throws IOException {
+        Path file = tempDir.resolve(pretty ? "pretty.json" : "compact.json");
+        JsonUtils.saveJson(file, GraphDumpSupport.dumpToJson(graph, false), pretty);
+        byte[] expected = Files.readAllBytes(file);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        GraphDumpWriter.write(actual, graph, pretty);
+        Assertions.assertArrayEquals(expected, actual.toByteArray());
+
+        // The same for the dump written by Snapshots
+        Path written = tempDir.resolve(pretty ? "written.pretty.json" : "written.compact.json");
+        Snapshots.write(written, graph, pretty);
+        Assertions.assertArrayEquals(expected, Files.readAllBytes(written));
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.tasks;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlowTaskSchedulerTest {
+
+    @Test
+    void testHierarchicalOverlap() {
+        assertTrue(FlowTaskScheduler.conflicts(Set.of(), Set.of("details"), Set.of("details/language"), Set.of()));
+        assertTrue(FlowTaskScheduler.conflicts(Set.of("details/language"), Set.of(), Set.of(), Set.of("details")));
+        assertTrue(FlowTaskScheduler.conflicts(Set.of(), Set.of("details/language"), Set.of(), Set.of("details/language")));
+        assertFalse(FlowTaskScheduler.conflicts(Set.of(), Set.of("details/language"), Set.of("details/languages"), Set.of()));
+        assertFalse(FlowTaskScheduler.conflicts(Set.of(), Set.of("details/language"), Set.of(), Set.of("details/passwords")));
+        // Readers of the same data do not conflict
+        assertFalse(FlowTaskScheduler.conflicts(Set.of("sources"), Set.of(), Set.of("sources"), Set.of()));
+    }
+
+    @Test
+    void testNullIsBarrier() {
+        assertTrue(FlowTaskScheduler.conflicts(null, Set.of(), Set.of(), Set.of()));
+        assertTrue(FlowTaskScheduler.conflicts(Set.of(), null, Set.of(), Set.of()));
+        assertTrue(FlowTaskScheduler.conflicts(Set.of(), Set.of(), null, Set.of()));
+        assertTrue(FlowTaskScheduler.conflicts(Set.of(), Set.of(), Set.of(), null));
+
+        TestTask a = new TestTask("a", new String[] { "sources" }, new String[] { "details/a" });
+        TestTask barrier = new TestTask("barrier", null, null);
+        TestTask b = new TestTask("b", new String[] { "sources" }, new String[] { "details/b" });
+        new FlowTaskScheduler(List.of(a, barrier, b), true).run();
+
+        assertTrue(a.started);
+        assertFalse(barrier.started);
+        assertFalse(b.started);
+        a.complete();
+        assertTrue(barrier.started);
+        assertFalse(b.started);
+        barrier.complete();
+        assertTrue(b.started);
+    }
+
+    @Test
+    void testConcurrentStart() {
+        TestTask a = new TestTask("a", new String[] { "sources" }, new String[] { "details/a" });
+        TestTask b = new TestTask("b", new String[] { "sources" }, new String[] { "details/b" });
+        TestTask c = new TestTask("c", new String[] { "details" }, new String[0]);
+        Future<?> result = new FlowTaskScheduler(List.of(a, b, c), true).run();
+
+        assertTrue(a.started);
+        assertTrue(b.started);
+        assertFalse(c.started);
+        b.complete();
+        assertFalse(c.started);
+        a.complete();
+        assertTrue(c.started);
+        assertFalse(result.isComplete());
+        c.complete();
+        assertTrue(result.succeeded());
+    }
+
+    @Test
+    void testExclusivity() {
+        TestTask first = new TestTask("first", null, null);
+        TestTask a = new TestTask("a", new String[] { "sources" }, new String[] { "details/a" });
+        TestTask b = new TestTask("b", new String[] { "sources" }, new String[] { "details/b" });
+        TestTask join = new TestTask("join", new String[] { "details" }, new String[] { "result" });
+        TestTask last = new TestTask("last", new String[] { "result" }, new String[] { "report" });
+        new FlowTaskScheduler(List.of(first, a, b, join, last), true);
+
+        assertTrue(first.isExclusive());
+        assertFalse(a.isExclusive());
+        assertFalse(b.isExclusive());
+        // Every other task is either its ancestor or its descendant
+        assertTrue(join.isExclusive());
+        assertTrue(last.isExclusive());
+    }
+
+    @Test
+    void testSequentialWhenNotParallel() {
+        TestTask a = new TestTask("a", new String[] { "sources" }, new String[] { "details/a" });
+        TestTask b = new TestTask("b", new String[] { "sources" }, new String[] { "details/b" });
+        new FlowTaskScheduler(List.of(a, b), false).run();
+
+        assertTrue(a.isExclusive());
+        assertTrue(b.isExclusive());
+        assertTrue(a.started);
+        assertFalse(b.started);
+        a.complete();
+        assertTrue(b.started);
+    }
+
+    @Test
+    void testFailedTaskDoesNotStartDependants() {
+        TestTask a = new TestTask("a", new String[0], new String[] { "details" });
+        TestTask b = new TestTask("b", new String[] { "details" }, new String[0]);
+        TestTask c = new TestTask("c", new String[] { "sources" }, new String[0]);
+        Future<?> result = new FlowTaskScheduler(List.of(a, b, c), true).run();
+
+        assertTrue(c.started);
+        a.promise.fail("failure");
+        assertFalse(b.started);
+        c.complete();
+        assertTrue(result.failed());
+        assertEquals("failure", result.cause().getMessage());
+    }
+
+    private static class TestTask extends FlowTask {
+        private final String name;
+        private final String[] reads;
+        private final String[] writes;
+        private final Promise<Void> promise = Promise.promise();
+        private boolean started;
+
+        TestTask(String name, String[] reads, String[] writes) {
+            this.name = name;
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        @Override
+        public String[] reads() {
+            return reads;
+        }
+
+        @Override
+        public String[] writes() {
+            return writes;
+        }
+
+        @Override
+        public Future<?> startInFlow() {
+            started = true;
+            return promise.future();
+        }
+
+        @Override
+        public String getTaskAddress() {
+            return TASK_ADDRESS_PREFIX + name;
+        }
+
+        @Override
+        protected void taskStart(Promise<?> taskPromise) {
+            throw new UnsupportedOperationException();
+        }
+
+        void complete() {
+            promise.complete();
+        }
+    }
+
+}
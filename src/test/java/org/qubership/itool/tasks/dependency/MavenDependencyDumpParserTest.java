@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.tasks.dependency;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.qubership.itool.tasks.dependency.MavenDependencyDumpParseVerticle.DumpParser;
+import org.qubership.itool.utils.FSUtils;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+
+class MavenDependencyDumpParserTest {
+
+    private static JsonObject component;
+    private static DumpParser parser;
+    private static final List<Entry> entries = new ArrayList<>();
+
+    @BeforeAll
+    public static void parseSample() throws IOException {
+        component = new JsonObject().put(F_ID, "sample");
+        parser = new DumpParser(component, LoggerFactory.getLogger(MavenDependencyDumpParserTest.class),
+                (source, destination, level, scope) -> entries.add(new Entry(source, destination, level, scope)));
+        for (String line : readSample()) {
+            parser.processLine(line);
+        }
+    }
+
+    @Test
+    public void testModules() {
+        List<Entry> modules = entries.stream()
+                .filter(e -> e.level == 1)
+                .collect(Collectors.toList());
+        assertEquals(2, modules.size());
+        for (Entry module : modules) {
+            assertSame(component, module.source);
+            assertEquals("compile", module.scope);
+        }
+        assertEquals("org.sample:sample-api:jar:1.0.0", modules.get(0).destination.getString(F_ID));
+        assertEquals("org.sample:sample-impl:jar:1.0.0", modules.get(1).destination.getString(F_ID));
+    }
+
+    @Test
+    public void testTree() {
+        assertEquals(List.of(
+                "sample -> org.sample:sample-api:jar:1.0.0 (1, compile)",
+                "org.sample:sample-api:jar:1.0.0 -> org.slf4j:slf4j-api:jar:1.7.36 (2, compile)",
+                "org.sample:sample-api:jar:1.0.0 -> com.fasterxml.jackson.core:jackson-databind:jar:2.11.4 (2, compile)",
+                "com.fasterxml.jackson.core:jackson-databind:jar:2.11.4 -> com.fasterxml.jackson.core:jackson-annotations:jar:2.11.4 (3, compile)",
+                "com.fasterxml.jackson.core:jackson-databind:jar:2.11.4 -> com.fasterxml.jackson.core:jackson-core:jar:2.11.4 (3, compile)",
+                "sample -> org.sample:sample-impl:jar:1.0.0 (1, compile)",
+                "org.sample:sample-impl:jar:1.0.0 -> org.sample:sample-api:jar:1.0.0 (2, compile)",
+                "org.sample:sample-api:jar:1.0.0 -> org.slf4j:slf4j-api:jar:1.7.36 (3, compile)",
+                "org.sample:sample-impl:jar:1.0.0 -> io.netty:netty-transport-native-epoll:jar:linux-x86_64:4.1.65.Final (2, runtime)",
+                "org.sample:sample-impl:jar:1.0.0 -> org.junit.jupiter:junit-jupiter:jar:5.7.2 (2, test)"
+            ),
+            entries.stream()
+                .map(e -> e.source.getString(F_ID) + " -> " + e.destination.getString(F_ID)
+                        + " (" + e.level + ", " + e.scope + ")")
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testClassifier() {
+        JsonObject epoll = entries.get(8).destination;
+        assertEquals("netty-transport-native-epoll", epoll.getString("artifactId"));
+        assertEquals("io.netty", epoll.getString("groupId"));
+        assertEquals("jar", epoll.getString("package"));
+        assertEquals("linux-x86_64:4.1.65.Final", epoll.getString("version"));
+        assertEquals("library", epoll.getString("type"));
+    }
+
+    @Test
+    public void testErrors() {
+        assertEquals(List.of("[ERROR] Failed to execute goal on project sample-broken"), parser.errors);
+        assertEquals(List.of("[INFO]    \\- ???"), parser.notRecognised);
+        assertTrue(entries.stream().noneMatch(e -> e.destination.getString(F_ID).contains("???")));
+    }
+
+    @Test
+    public void testEntryCount() {
+        assertEquals(entries.size(), parser.entries);
+    }
+
+    private static List<String> readSample() throws IOException {
+        try (InputStream inputStream = FSUtils.openUrlStream(MavenDependencyDumpParserTest.class, "classpath:/dependency/sample_dependency.txt")) {
+            if (inputStream == null) {
+                throw new IOException("Unable to open the URL stream");
+            }
+            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            return bufferedReader.lines().collect(Collectors.toList());
+        }
+    }
+
+    /* Entry passed to the handler */
+    private static class Entry {
+        final JsonObject source;
+        final JsonObject destination;
+        final int level;
+        final String scope;
+
+        Entry(JsonObject source, JsonObject destination, int level, String scope) {
+            this.source = source;
+            this.destination = destination;
+            this.level = level;
+            this.scope = scope;
+        }
+    }
+
+}
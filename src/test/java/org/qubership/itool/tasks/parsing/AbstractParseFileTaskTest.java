@@ -19,6 +19,7 @@ package org.qubership.itool.tasks.parsing;
 import org.junit.jupiter.api.Disabled;
 import org.qubership.itool.context.FlowContext;
 import org.qubership.itool.context.FlowContextImpl;
+import org.qubership.itool.modules.files.FileContent;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -160,7 +161,8 @@ class AbstractParseFileTaskTest {
         }
 
         @Override
-        protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName) throws IOException {
+        protected void parseSingleFile(JsonObject domain, JsonObject component, String fileName, FileContent content)
+                throws IOException {
             // triggering the checkpoint
             checkpoint.flag();
         }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.tasks.parsing.other;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares {@link PasswordLineMatcher} with full matching against its reference pattern, as
+ * {@link ParseSearchPasswordInYamlVerticle} matched lines before. Prints the best time per line
+ * of several rounds for both.
+ *
+ * <p>Excluded from the build, run with {@code mvn test -Dgroups=benchmark -Dsurefire.excludedGroups=none}.
+ */
+@Tag("benchmark")
+class PasswordLineMatcherBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    @Test
+    public void benchmarkSamples() throws IOException {
+        compare("Sample lines", PasswordLineMatcherTest.readSamples(), ROUNDS);
+    }
+
+    /* Mostly lines without passwords, as in usual configuration files */
+    @Test
+    public void benchmarkYamlLines() {
+        Random random = new Random(42);
+        String[] keys = { "name", "image", "replicas", "url", "password", "dbPassword", "user", "port" };
+        String[] values = { "app", "{{ .Values.password }}", "${DB_PASSWORD:secret}", "secret123", "8080",
+                "https://example.com/path", "\"quoted value\"", "" };
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            lines.add("  ".repeat(random.nextInt(4)) + keys[random.nextInt(keys.length)] + ": "
+                    + values[random.nextInt(values.length)]);
+        }
+        compare("Generated YAML lines", lines, ROUNDS);
+    }
+
+    /* The reference pattern backtracks over every separator of these lines: they are kept short,
+     * so that it completes in seconds */
+    @Test
+    public void benchmarkPathologicalLines() {
+        for (int repeat : new int[] { 100, 300, 1_000 }) {
+            List<String> lines = List.of(
+                    "password" + "=${{".repeat(repeat),
+                    "password" + ":ab ".repeat(repeat) + "\u0085",
+                    "password: ${" + "ab:".repeat(repeat),
+                    "password password ".repeat(repeat) + ":",
+                    "- key: password" + "=".repeat(repeat) + "{{");
+            compare("Pathological lines, " + repeat + " repeats", lines, 3);
+        }
+    }
+
+    private static void compare(String name, List<String> lines, int rounds) {
+        for (String line : lines) {
+            assertEquals(PasswordLineMatcher.REFERENCE_PATTERN.matcher(line).matches(),
+                    PasswordLineMatcher.matches(line), line);
+        }
+        double reference = measure(lines, rounds, line -> PasswordLineMatcher.REFERENCE_PATTERN.matcher(line).matches());
+        double matcher = measure(lines, rounds, PasswordLineMatcher::matches);
+        System.out.printf("%s (%d): reference pattern %.1f ns/line, matcher %.1f ns/line, %.1fx%n",
+                name, lines.size(), reference, matcher, reference / matcher);
+    }
+
+    private static double measure(List<String> lines, int rounds, Predicate<String> matcher) {
+        long best = Long.MAX_VALUE;
+        int found = 0;
+        for (int round = -Math.min(rounds, WARMUP_ROUNDS); round < rounds; round++) {
+            long start = System.nanoTime();
+            for (String line : lines) {
+                if (matcher.test(line)) {
+                    found++;
+                }
+            }
+            long time = System.nanoTime() - start;
+            if (round >= 0) {
+                best = Math.min(best, time);
+            }
+        }
+        // Keeps the results in use
+        if (found < 0) {
+            System.out.println(found);
+        }
+        return (double) best / lines.size();
+    }
+
+}
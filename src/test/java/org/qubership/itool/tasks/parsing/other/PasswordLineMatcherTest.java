@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.tasks.parsing.other;
+
+import org.junit.jupiter.api.Test;
+import org.qubership.itool.utils.FSUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordLineMatcherTest {
+
+    private static final String[] TOKENS = {
+            "password", "PassWord", "passwordx", "password_", " ", "  ", "\t", "=", ":", "${", "}", "{{", "}}",
+            "{", "$", "a", "bc", "xyz", ".Values.", ".values.x", " .Values.v", "#", "-", "\n", "\r",
+            "\u0085", "\u2028", "\uD83D\uDE00", "\u017F", "\u212A", "_"
+    };
+
+    @Test
+    public void testSameAsReferencePatternOnSamples() throws IOException {
+        for (String line : readSamples()) {
+            assertEquals(PasswordLineMatcher.REFERENCE_PATTERN.matcher(line).matches(),
+                    PasswordLineMatcher.matches(line), line);
+        }
+    }
+
+    @Test
+    public void testSameAsReferencePatternOnGeneratedLines() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder line = new StringBuilder();
+            if (random.nextBoolean()) {
+                line.append(random.nextBoolean() ? "password" : "  pASSword");
+            }
+            int length = random.nextInt(16);
+            for (int j = 0; j < length; j++) {
+                line.append(TOKENS[random.nextInt(TOKENS.length)]);
+            }
+            String generated = line.toString();
+            assertEquals(PasswordLineMatcher.REFERENCE_PATTERN.matcher(generated).matches(),
+                    PasswordLineMatcher.matches(generated), generated);
+        }
+    }
+
+    @Test
+    public void testMayContainPassword() {
+        assertTrue(PasswordLineMatcher.mayContainPassword("a:\n  PassWord: x".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(PasswordLineMatcher.mayContainPassword("a:\n  passwd: x".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(PasswordLineMatcher.mayContainPassword("pa\u017Fsword: x".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static List<String> readSamples() throws IOException {
+        try (InputStream inputStream = FSUtils.openUrlStream(PasswordLineMatcherTest.class, "classpath:/parsing/other/possiblePasswords.txt")) {
+            if (inputStream == null) {
+                throw new IOException("Unable to open the URL stream");
+            }
+            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            return bufferedReader.lines().collect(Collectors.toList());
+        }
+    }
+
+}